@@ -0,0 +1,122 @@
+/*
+ *
+ *  *
+ *  * Copyright 2025 HCL America, Inc.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *  * /
+ *
+ */
+
+package com.hcl.appscan.slackapp.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hcl.appscan.slackapp.model.FullScanDetails;
+import com.hcl.appscan.slackapp.model.ReportButtonValue;
+import com.hcl.appscan.slackapp.util.JsonCodec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the previous JSON handling with {@link JsonCodec}:
+ * <ul>
+ *     <li>report button values: a new ObjectMapper per click against the shared array reader, and
+ *     string concatenation against the escaped array writer,</li>
+ *     <li>scan details: readTree plus treeToValue against decoding the body stream straight into the model.</li>
+ * </ul>
+ * Run with `mvn -Pbenchmark test-compile exec:exec -Dbenchmark.args="CodecBenchmark -prof gc"` to also see
+ * allocation per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CodecBenchmark {
+    private static final String SCAN_ID = "d4a3b2c1-e8f9-1234-abcd-5f6e7d8c9b0a";
+    private static final String SCAN_NAME = "Nightly DAST scan of payments-api (release 2025.08)";
+
+    // Copies of the constants, so the concatenation is not folded into a constant at compile time
+    private String scanId;
+    private String scanName;
+    private ObjectMapper objectMapper;
+    private JsonCodec codec;
+    private String legacyButton;
+    private String arrayButton;
+    private byte[] scanDetails;
+
+    @Setup
+    public void setUp() {
+        scanId = SCAN_ID;
+        scanName = SCAN_NAME;
+        objectMapper = new ObjectMapper().findAndRegisterModules();
+        codec = new JsonCodec(objectMapper);
+        legacyButton = "{\"scanId\":\"" + SCAN_ID + "\",\"scanName\":\"" + SCAN_NAME + "\"}";
+        arrayButton = codec.encodeReportButton(new ReportButtonValue(SCAN_ID, SCAN_NAME, null));
+        scanDetails = ("{\"Items\":[{\"Id\":\"" + SCAN_ID + "\",\"Name\":\"" + SCAN_NAME + "\",\"AppName\":\"payments-api\","
+                + "\"Technology\":\"DynamicAnalyzer\",\"CreatedAt\":\"2025-08-01T10:00:00Z\","
+                + "\"CreatedBy\":{\"FirstName\":\"Jane\",\"LastName\":\"Doe\",\"UserName\":\"jdoe\",\"Email\":\"jane.doe@example.com\"},"
+                + "\"LatestExecution\":{\"Status\":\"Ready\",\"NIssuesFound\":42,\"NCriticalIssues\":1,\"NHighIssues\":5,"
+                + "\"NMediumIssues\":12,\"NLowIssues\":20,\"NInfoIssues\":4,\"ScanEndTime\":\"2025-08-01T11:30:00Z\"},"
+                + "\"IsPersonal\":false,\"Description\":\"\",\"LastModified\":\"2025-08-01T11:30:00Z\"}],\"Count\":1}")
+                .getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    @SuppressWarnings("unchecked")
+    public Map<String, String> buttonDecodeNewMapper() throws IOException {
+        return new ObjectMapper().readValue(legacyButton, Map.class);
+    }
+
+    @Benchmark
+    public ReportButtonValue buttonDecodeCodec() throws IOException {
+        return codec.decodeReportButton(arrayButton);
+    }
+
+    @Benchmark
+    public String buttonEncodeConcat() {
+        return "{\"scanId\":\"" + scanId + "\",\"scanName\":\"" + scanName + "\"}";
+    }
+
+    @Benchmark
+    public String buttonEncodeCodec() {
+        return codec.encodeReportButton(new ReportButtonValue(scanId, scanName, null));
+    }
+
+    @Benchmark
+    public FullScanDetails scanDetailsTree() throws IOException {
+        JsonNode items = objectMapper.readTree(new String(scanDetails, StandardCharsets.UTF_8)).path("Items");
+        return objectMapper.treeToValue(items.get(0), FullScanDetails.class);
+    }
+
+    @Benchmark
+    public FullScanDetails scanDetailsCodec() throws IOException {
+        return codec.readItems(new ByteArrayInputStream(scanDetails), FullScanDetails.class).get(0);
+    }
+}
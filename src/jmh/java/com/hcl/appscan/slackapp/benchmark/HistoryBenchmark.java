@@ -0,0 +1,150 @@
+/*
+ *
+ *  *
+ *  * Copyright 2025 HCL America, Inc.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *  * /
+ *
+ */
+
+package com.hcl.appscan.slackapp.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hcl.appscan.slackapp.model.LatestExecution;
+import com.hcl.appscan.slackapp.service.ScanHistoryService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link ScanHistoryService} with a full history for every application: recording a completed
+ * scan, computing the delta against the previous execution (as notifications do), the latest delta (as
+ * summaries do), formatting it, and writing the snapshot file.
+ * Run with `mvn -Pbenchmark test-compile exec:exec -Dbenchmark.args="HistoryBenchmark -prof gc"` to also see
+ * allocation per operation; `-p apps=...` and `-p depth=...` change the history size.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HistoryBenchmark {
+    // More scan IDs than the history depth, so the ring buffers keep wrapping
+    private static final int SCANS_PER_APP = 64;
+
+    @Param("10000")
+    private int apps;
+
+    @Param("10")
+    private int depth;
+
+    private ScanHistoryService history;
+    private ScanHistoryService snapshotHistory;
+    private Path snapshotFile;
+    private String[] appNames;
+    private String[] scanIds;
+    private LatestExecution[] executions;
+    private long counter;
+
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+        appNames = new String[apps];
+        for (int i = 0; i < apps; i++) {
+            appNames[i] = "app-" + i;
+        }
+        scanIds = new String[SCANS_PER_APP];
+        executions = new LatestExecution[SCANS_PER_APP];
+        for (int i = 0; i < SCANS_PER_APP; i++) {
+            scanIds[i] = UUID.randomUUID().toString();
+            executions[i] = objectMapper.convertValue(Map.of(
+                    "Status", "Ready", "NCriticalIssues", i % 3, "NHighIssues", i % 7, "NMediumIssues", i % 11,
+                    "NLowIssues", i % 13, "NInfoIssues", i % 17), LatestExecution.class);
+        }
+
+        snapshotFile = Files.createTempFile("history-benchmark", ".json");
+        history = new ScanHistoryService(depth, "", objectMapper);
+        snapshotHistory = new ScanHistoryService(depth, snapshotFile.toString(), objectMapper);
+        for (int scan = 0; scan < depth; scan++) {
+            for (int app = 0; app < apps; app++) {
+                history.record(appNames[app], scanIds[scan], executions[scan]);
+                snapshotHistory.record(appNames[app], scanIds[scan], executions[scan]);
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(snapshotFile);
+    }
+
+    @Benchmark
+    public ScanHistoryService record() {
+        // Walks all applications before moving to the next scan, so the same scan is never recorded twice in a row
+        long n = counter++;
+        int scan = (int) ((n / apps) % SCANS_PER_APP);
+        history.record(appNames[(int) (n % apps)], scanIds[scan], executions[scan]);
+        return history;
+    }
+
+    @Benchmark
+    public Optional<int[]> delta() {
+        long n = counter++;
+        int scan = (int) ((n / apps) % depth);
+        return history.getDelta(appNames[(int) (n % apps)], scanIds[scan], executions[scan]);
+    }
+
+    @Benchmark
+    public Optional<int[]> latestDelta() {
+        return history.getLatestDelta(appNames[(int) (counter++ % apps)]);
+    }
+
+    @Benchmark
+    public String latestDeltaFormatted() {
+        return history.getLatestDelta(appNames[(int) (counter++ % apps)])
+                .map(ScanHistoryService::formatDelta)
+                .orElse("");
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Measurement(iterations = 10)
+    public ScanHistoryService snapshot() {
+        // A snapshot is only written when something changed since the last one
+        long n = counter++;
+        snapshotHistory.record(appNames[(int) (n % apps)], scanIds[(int) ((n / apps) % SCANS_PER_APP)], executions[0]);
+        snapshotHistory.saveSnapshot();
+        return snapshotHistory;
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ *
+ *  *
+ *  * Copyright 2025 HCL America, Inc.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *  * /
+ *
+ */
+
+package com.hcl.appscan.slackapp.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.hcl.appscan.slackapp.model.AppRef;
+import com.hcl.appscan.slackapp.model.AppScanAppListResponse;
+import com.hcl.appscan.slackapp.model.ItemsResponse;
+import com.hcl.appscan.slackapp.model.ScanListResponse;
+import com.hcl.appscan.slackapp.model.ScanStatus;
+import com.hcl.appscan.slackapp.service.AppScanService;
+import com.hcl.appscan.slackapp.standin.AppScanStandInServer;
+import okhttp3.HttpUrl;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Compares bytes transferred and JSON parse time of one poll cycle with full entities against the
+ * projected queries and lean models the poller uses, using the AppScan stand-in.
+ * <p>
+ * Three variants are measured per application: full `/Apps` and `/Scans` entities mapped into
+ * `AppScanApp` and `FullScanDetails` (the previous poller), the same two calls with `$select`/`$expand`
+ * mapped into `AppRef` and `ScanStatus`, and the steady state where the application ID is already cached
+ * and only the scan status is fetched. Parse time excludes network time. Tuned through
+ * `benchmark.apps` (1000) and `benchmark.rounds` (5, the first round is a warm-up).
+ * </p>
+ */
+public final class PayloadBenchmark {
+    private static final Logger logger = LoggerFactory.getLogger(PayloadBenchmark.class);
+
+    private PayloadBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int appCount = Integer.getInteger("benchmark.apps", 1_000);
+        int rounds = Math.max(2, Integer.getInteger("benchmark.rounds", 5));
+        ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+        ObjectReader fullApps = objectMapper.readerFor(AppScanAppListResponse.class);
+        ObjectReader fullScans = objectMapper.readerFor(ScanListResponse.class);
+        ObjectReader appRefs = objectMapper.readerFor(new TypeReference<ItemsResponse<AppRef>>() { });
+        ObjectReader scanStatuses = objectMapper.readerFor(new TypeReference<ItemsResponse<ScanStatus>>() { });
+        OkHttpClient httpClient = new OkHttpClient();
+
+        try (AppScanStandInServer appScan = new AppScanStandInServer(appCount, 60_000, 0, 0, 0)) {
+            String api = appScan.start(0) + "/api/v4";
+            List<String> appNames = appScan.getAppNames();
+            Totals full = new Totals();
+            Totals projected = new Totals();
+            Totals cached = new Totals();
+
+            for (int round = 0; round < rounds; round++) {
+                boolean warmUp = round == 0;
+                for (String appName : appNames) {
+                    String appFilter = "Name eq '" + appName + "'";
+                    byte[] app = fetch(httpClient, HttpUrl.parse(api + "/Apps").newBuilder()
+                            .addQueryParameter("$filter", appFilter).build());
+                    AppScanAppListResponse fullApp = parse(full, warmUp, app, fullApps);
+                    byte[] scans = fetch(httpClient, scansUrl(api, fullApp.getItems().get(0).getId()).build());
+                    parse(full, warmUp, scans, fullScans);
+
+                    byte[] leanApp = fetch(httpClient, HttpUrl.parse(api + "/Apps").newBuilder()
+                            .addQueryParameter("$filter", appFilter)
+                            .addQueryParameter("$select", AppScanService.APP_REF_FIELDS).build());
+                    ItemsResponse<AppRef> appRef = parse(projected, warmUp, leanApp, appRefs);
+                    byte[] leanScans = fetch(httpClient, scansUrl(api, appRef.getItems().get(0).getId())
+                            .addQueryParameter("$select", AppScanService.SCAN_STATUS_FIELDS)
+                            .addQueryParameter("$expand", AppScanService.SCAN_STATUS_EXPAND).build());
+                    parse(projected, warmUp, leanScans, scanStatuses);
+                    parse(cached, warmUp, leanScans, scanStatuses);
+                }
+            }
+
+            int measured = rounds - 1;
+            logger.info("==== Payload benchmark: {} applications, {} measured rounds ====", appCount, measured);
+            full.print("full entities", measured, full);
+            projected.print("projected", measured, full);
+            cached.print("projected, cached app IDs", measured, full);
+        }
+    }
+
+    private static HttpUrl.Builder scansUrl(String api, String appId) {
+        return HttpUrl.parse(api + "/Scans").newBuilder()
+                .addQueryParameter("$top", "1")
+                .addQueryParameter("$filter", "AppId eq " + appId + " and IsPersonal eq false")
+                .addQueryParameter("$orderby", "CreatedAt desc");
+    }
+
+    private static byte[] fetch(OkHttpClient httpClient, HttpUrl url) throws IOException {
+        try (Response response = httpClient.newCall(new Request.Builder().url(url).build()).execute()) {
+            if (!response.isSuccessful() || response.body() == null) {
+                throw new IOException("Stand-in request failed: " + response);
+            }
+            return response.body().bytes();
+        }
+    }
+
+    private static <T> T parse(Totals totals, boolean warmUp, byte[] body, ObjectReader reader) throws IOException {
+        long start = System.nanoTime();
+        T value = reader.readValue(body);
+        if (!warmUp) {
+            totals.bytes += body.length;
+            totals.parseNanos += System.nanoTime() - start;
+        }
+        return value;
+    }
+
+    private static final class Totals {
+        private long bytes;
+        private long parseNanos;
+
+        void print(String name, int rounds, Totals baseline) {
+            logger.info(String.format("%-28s %9.1f KB/cycle (%5.1f%%)  parse %7.2f ms/cycle (%5.1f%%)", name,
+                    bytes / 1024.0 / rounds, 100.0 * bytes / baseline.bytes,
+                    parseNanos / 1e6 / rounds, 100.0 * parseNanos / baseline.parseNanos));
+        }
+    }
+}
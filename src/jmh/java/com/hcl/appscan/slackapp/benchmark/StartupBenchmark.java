@@ -0,0 +1,158 @@
+/*
+ *
+ *  *
+ *  * Copyright 2025 HCL America, Inc.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *  * /
+ *
+ */
+
+package com.hcl.appscan.slackapp.benchmark;
+
+import com.hcl.appscan.slackapp.AppScanSlackAppApplication;
+import com.hcl.appscan.slackapp.metrics.StartupTimingRecorder;
+import com.hcl.appscan.slackapp.standin.AppScanStandInServer;
+import com.hcl.appscan.slackapp.standin.SlackStandInServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compares startup time with and without the `fast-start` profile, using the AppScan and Slack stand-ins.
+ * <p>
+ * Startup milestones are measured from JVM start, so every run boots the application in a fresh JVM
+ * (with the benchmark's own JVM options) and reports the `StartupTimingRecorder` milestones for context
+ * ready and the first successful poll cycle. Socket Mode is disabled, since there is no Socket Mode
+ * stand-in. The class data sharing archive and AOT steps of the fast-start build need the packaged jar
+ * and are not covered. Tuned through `benchmark.apps` (100) and `benchmark.runs` (5, per profile).
+ * </p>
+ */
+public final class StartupBenchmark {
+    private static final Logger logger = LoggerFactory.getLogger(StartupBenchmark.class);
+    private static final String PROBE = "probe";
+    private static final String RESULT_MARKER = "startup-probe:";
+    private static final String CHANNEL = "#startup";
+    private static final long PROBE_TIMEOUT_MS = 120_000;
+
+    private StartupBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length > 0 && PROBE.equals(args[0])) {
+            probe(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+        int appCount = Integer.getInteger("benchmark.apps", 100);
+        int runs = Math.max(1, Integer.getInteger("benchmark.runs", 5));
+
+        try (AppScanStandInServer appScan = new AppScanStandInServer(appCount, 60_000, 0, 0, 0);
+             SlackStandInServer slack = new SlackStandInServer(0, 0, 0)) {
+            String appScanUrl = appScan.start(0);
+            slack.addChannel(CHANNEL);
+            String slackUrl = slack.start(0);
+
+            StringBuilder mapping = new StringBuilder();
+            for (String appName : appScan.getAppNames()) {
+                mapping.append(appName).append(':').append(CHANNEL).append(';');
+            }
+            File historyFile = File.createTempFile("startup-history", ".json");
+            historyFile.deleteOnExit();
+
+            Map<String, String> properties = new LinkedHashMap<>();
+            properties.put("appscan.api.baseurl", appScanUrl);
+            properties.put("appscan.api.key", "startup");
+            properties.put("appscan.api.secret", "startup");
+            properties.put("slack.bot.token", "xoxb-startup");
+            properties.put("slack.app.token", "xapp-startup");
+            properties.put("slack.socket.mode.enabled", "false");
+            properties.put("slack.api.url", slackUrl + "/api/");
+            properties.put("appscan.app.channel.mapping", mapping.toString());
+            properties.put("appscan.history.snapshot.file", historyFile.getAbsolutePath());
+
+            List<String> report = new ArrayList<>();
+            for (String profile : List.of("default", "fast-start")) {
+                long[] contextReady = new long[runs];
+                long[] firstPoll = new long[runs];
+                for (int run = 0; run < runs; run++) {
+                    // Each run starts without a snapshot, as after a fresh deployment
+                    historyFile.delete();
+                    long[] result = runProbe(profile, properties);
+                    contextReady[run] = result[0];
+                    firstPoll[run] = result[1];
+                    logger.info("{} run {}: context ready {} ms, first successful poll {} ms",
+                            profile, run + 1, result[0], result[1]);
+                }
+                report.add(String.format("%s: context ready median %d ms (min %d), first successful poll median %d ms (min %d)",
+                        profile, median(contextReady), min(contextReady), median(firstPoll), min(firstPoll)));
+            }
+
+            logger.info("==== Startup report ({} apps, {} runs per profile) ====", appCount, runs);
+            report.forEach(logger::info);
+        }
+    }
+
+    // Returns the context ready and first successful poll milestones of one child JVM
+    private static long[] runProbe(String profile, Map<String, String> properties) throws Exception {
+        List<String> args = new ArrayList<>();
+        args.add(PROBE);
+        if (!"default".equals(profile)) {
+            args.add("--spring.profiles.active=" + profile);
+        }
+        long[][] result = new long[1][];
+        int exitCode = ChildJvm.run(StartupBenchmark.class, properties, args, line -> {
+            int marker = line.indexOf(RESULT_MARKER);
+            if (marker >= 0) {
+                String[] values = line.substring(marker + RESULT_MARKER.length()).trim().split(" ");
+                result[0] = new long[] {Long.parseLong(values[0]), Long.parseLong(values[1])};
+            }
+        });
+        if (result[0] == null) {
+            throw new IllegalStateException("Startup probe for profile " + profile + " exited with " + exitCode + " without a result");
+        }
+        return result[0];
+    }
+
+    // Runs in the child JVM: boots the application, waits for the first successful poll and reports the milestones
+    private static void probe(String[] args) throws InterruptedException {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(AppScanSlackAppApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(args)) {
+            StartupTimingRecorder recorder = context.getBean(StartupTimingRecorder.class);
+            long deadline = System.currentTimeMillis() + PROBE_TIMEOUT_MS;
+            while (recorder.getFirstSuccessfulPollMs() < 0 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            logger.info("{} {} {}", RESULT_MARKER, recorder.getContextReadyMs(), recorder.getFirstSuccessfulPollMs());
+        }
+    }
+
+    private static long median(long[] values) {
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+
+    private static long min(long[] values) {
+        return Arrays.stream(values).min().orElse(0);
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ *
+ *  *
+ *  * Copyright 2025 HCL America, Inc.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *  * /
+ *
+ */
+
+package com.hcl.appscan.slackapp.benchmark;
+
+import com.hcl.appscan.slackapp.standin.LoadTestHarness;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compares platform and virtual threads for the I/O executor by running the load test harness twice,
+ * once with `appscan.threads.virtual=false` and once with `true`, each in a fresh JVM so heap and thread
+ * peaks are not shared between the runs.
+ * <p>
+ * The harness reports poll-cycle throughput, command latency, heap and the peak number of platform
+ * threads for each mode. Stand-in latency defaults to 50 ms here (`loadtest.latency.ms`), since the two
+ * modes only differ when calls block; every other `loadtest.*` option is passed on to both runs.
+ * Virtual threads need a Java 21+ runtime, otherwise the second run falls back to platform threads.
+ * </p>
+ */
+public final class ThreadModeBenchmark {
+    private static final Logger logger = LoggerFactory.getLogger(ThreadModeBenchmark.class);
+
+    private ThreadModeBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (Runtime.version().feature() < 21) {
+            logger.warn("Running on Java {}; the virtual thread run will use platform threads. Use a Java 21+ runtime.",
+                    Runtime.version().feature());
+        }
+        String latencyMs = System.getProperty("loadtest.latency.ms", "50");
+
+        List<String> report = new ArrayList<>();
+        for (String virtualThreads : List.of("false", "true")) {
+            String mode = Boolean.parseBoolean(virtualThreads) ? "virtual threads" : "platform threads";
+            logger.info("Running load test with {}", mode);
+            List<String> lines = new ArrayList<>();
+            // Column where the harness's log messages start, known once the report header is seen; -1 outside the report
+            int[] messageColumn = {-1};
+            int exitCode = ChildJvm.run(LoadTestHarness.class,
+                    Map.of("appscan.threads.virtual", virtualThreads, "loadtest.latency.ms", latencyMs),
+                    List.of(args),
+                    line -> {
+                        if (line.contains(LoadTestHarness.REPORT_FOOTER)) {
+                            messageColumn[0] = -1;
+                        } else if (messageColumn[0] >= 0) {
+                            lines.add(line.length() > messageColumn[0] ? line.substring(messageColumn[0]) : line);
+                        } else if (line.contains(LoadTestHarness.REPORT_HEADER)) {
+                            messageColumn[0] = line.indexOf(LoadTestHarness.REPORT_HEADER);
+                        }
+                    });
+            if (exitCode != 0 || lines.isEmpty()) {
+                throw new IllegalStateException("Load test with " + mode + " exited with " + exitCode + " without a report");
+            }
+            report.add("-- " + mode + " --");
+            report.addAll(lines);
+        }
+
+        logger.info("==== Thread mode report (stand-in latency {} ms) ====", latencyMs);
+        report.forEach(logger::info);
+    }
+}
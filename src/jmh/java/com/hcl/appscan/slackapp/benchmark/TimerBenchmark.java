@@ -0,0 +1,194 @@
+/*
+ *
+ *  *
+ *  * Copyright 2025 HCL America, Inc.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *  * /
+ *
+ */
+
+package com.hcl.appscan.slackapp.benchmark;
+
+import com.hcl.appscan.slackapp.scheduler.HashedWheelTimer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Compares the {@link HashedWheelTimer} with a {@link ScheduledThreadPoolExecutor} for the bot's timer
+ * workload: many timeouts with delays of seconds, about half of which are cancelled before they fire
+ * (retries that succeed, report checks that are no longer needed).
+ * <p>
+ * For each scheduler the benchmark schedules `benchmark.timers` (100000) timers spread over
+ * `benchmark.window.ms` (5000), cancels every second one, and waits for the rest to fire. It reports the
+ * time to schedule and to cancel, the heap growth while the timers are pending, and the p50/p99/max
+ * lateness of the timers that fired. Both schedulers hand expired tasks to the same executor. Tuned
+ * further through `benchmark.tick.ms` (10) and `benchmark.rounds` (3, the first round is a warm-up).
+ * </p>
+ */
+public final class TimerBenchmark {
+    private static final Logger logger = LoggerFactory.getLogger(TimerBenchmark.class);
+
+    private TimerBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int timerCount = Integer.getInteger("benchmark.timers", 100_000);
+        long windowMs = Long.getLong("benchmark.window.ms", 5_000);
+        long tickMs = Long.getLong("benchmark.tick.ms", 10);
+        int rounds = Math.max(2, Integer.getInteger("benchmark.rounds", 3));
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            logger.info("==== Timer benchmark: {} timers over {} ms, half cancelled, {} measured rounds ====",
+                    timerCount, windowMs, rounds - 1);
+            for (int round = 0; round < rounds; round++) {
+                boolean warmUp = round == 0;
+                HashedWheelTimer wheelTimer = new HashedWheelTimer(executor, tickMs, TimeUnit.MILLISECONDS, 512, 64);
+                Result wheel = run(timerCount, windowMs, executor, new WheelScheduler(wheelTimer));
+                wheelTimer.stop();
+
+                ScheduledThreadPoolExecutor pool = new ScheduledThreadPoolExecutor(1);
+                pool.setRemoveOnCancelPolicy(true);
+                Result scheduled = run(timerCount, windowMs, executor, new PoolScheduler(pool));
+                pool.shutdownNow();
+
+                if (!warmUp) {
+                    wheel.print("hashed wheel (" + tickMs + " ms tick)");
+                    scheduled.print("ScheduledThreadPoolExecutor");
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static Result run(int timerCount, long windowMs, ExecutorService executor, Scheduler scheduler) throws InterruptedException {
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        long heapBefore = runtime.totalMemory() - runtime.freeMemory();
+        int firing = timerCount - timerCount / 2;
+        long[] lateness = new long[firing];
+        AtomicInteger fired = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(firing);
+        Object[] handles = new Object[timerCount];
+
+        long start = System.nanoTime();
+        for (int i = 0; i < timerCount; i++) {
+            long delayMs = windowMs * i / timerCount + 1;
+            long due = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(delayMs);
+            handles[i] = scheduler.schedule(() -> {
+                int slot = fired.getAndIncrement();
+                if (slot < lateness.length) {
+                    lateness[slot] = System.nanoTime() - due;
+                }
+                done.countDown();
+            }, delayMs);
+        }
+        long scheduleNanos = System.nanoTime() - start;
+        long heapPending = runtime.totalMemory() - runtime.freeMemory() - heapBefore;
+
+        start = System.nanoTime();
+        for (int i = 1; i < timerCount; i += 2) {
+            scheduler.cancel(handles[i]);
+        }
+        long cancelNanos = System.nanoTime() - start;
+
+        done.await(windowMs * 4 + 10_000, TimeUnit.MILLISECONDS);
+        long[] sorted = Arrays.copyOf(lateness, Math.min(fired.get(), lateness.length));
+        Arrays.sort(sorted);
+        return new Result(scheduleNanos, cancelNanos, heapPending, sorted, fired.get(), firing);
+    }
+
+    private interface Scheduler {
+        Object schedule(Runnable task, long delayMs);
+
+        void cancel(Object handle);
+    }
+
+    private static final class WheelScheduler implements Scheduler {
+        private final HashedWheelTimer timer;
+
+        WheelScheduler(HashedWheelTimer timer) {
+            this.timer = timer;
+        }
+
+        @Override
+        public Object schedule(Runnable task, long delayMs) {
+            return timer.newTimeout(task, delayMs, TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public void cancel(Object handle) {
+            ((HashedWheelTimer.Timeout) handle).cancel();
+        }
+    }
+
+    private static final class PoolScheduler implements Scheduler {
+        private final ScheduledThreadPoolExecutor pool;
+
+        PoolScheduler(ScheduledThreadPoolExecutor pool) {
+            this.pool = pool;
+        }
+
+        @Override
+        public Object schedule(Runnable task, long delayMs) {
+            return pool.schedule(task, delayMs, TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public void cancel(Object handle) {
+            ((ScheduledFuture<?>) handle).cancel(false);
+        }
+    }
+
+    private static final class Result {
+        private final long scheduleNanos;
+        private final long cancelNanos;
+        private final long heapBytes;
+        private final long[] lateness;
+        private final int fired;
+        private final int expected;
+
+        Result(long scheduleNanos, long cancelNanos, long heapBytes, long[] lateness, int fired, int expected) {
+            this.scheduleNanos = scheduleNanos;
+            this.cancelNanos = cancelNanos;
+            this.heapBytes = heapBytes;
+            this.lateness = lateness;
+            this.fired = fired;
+            this.expected = expected;
+        }
+
+        void print(String name) {
+            logger.info(String.format("%-30s schedule %7.1f ms  cancel %6.1f ms  heap %7.1f MB  late p50 %6.2f ms  p99 %6.2f ms  max %6.2f ms  fired %d/%d",
+                    name, scheduleNanos / 1e6, cancelNanos / 1e6, heapBytes / 1024.0 / 1024.0,
+                    percentile(0.50), percentile(0.99), percentile(1.0), fired, expected));
+        }
+
+        private double percentile(double p) {
+            if (lateness.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.min(lateness.length - 1, Math.ceil(p * lateness.length) - 1);
+            return lateness[Math.max(0, index)] / 1e6;
+        }
+    }
+}
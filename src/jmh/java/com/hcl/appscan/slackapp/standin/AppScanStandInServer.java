@@ -0,0 +1,278 @@
+/*
+ *
+ *  *
+ *  * Copyright 2025 HCL America, Inc.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *  * /
+ *
+ */
+
+package com.hcl.appscan.slackapp.standin;
+
+import com.sun.net.httpserver.HttpExchange;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Embeddable stand-in for the AppScan REST API with a synthetic portfolio of applications.
+ * <p>
+ * Emulates the endpoints and OData options the bot uses: `Account/ApiKeyLogin`, `Apps` (`$filter` by name,
+ * `$top`, `$skip`), `Scans` (`$filter` by application, ID or creator, `$top`, `$orderby`) and the
+ * `Reports` create/status/download flow. Every application starts a new scan once per scan cycle;
+ * the scan is `Running` for the first half of the cycle and `Ready` for the second half, so a poller
+ * sees a steady stream of completed scans. Application start offsets are spread over the cycle.
+ * </p>
+ * <p>
+ * Entities carry roughly the set of fields the real API returns, and `$select` plus a single
+ * `$expand=Nav($select=...)` are honoured, so payload sizes of full and projected queries can be compared.
+ * </p>
+ */
+public class AppScanStandInServer extends StandInServer {
+    private static final String API = "/api/v4";
+    private static final Pattern NAME_FILTER = Pattern.compile("Name eq '(.*)'");
+    private static final Pattern APP_ID_FILTER = Pattern.compile("AppId eq ([0-9a-fA-F-]+).*");
+    private static final Pattern ID_FILTER = Pattern.compile("Id eq ([0-9a-zA-Z-]+).*");
+    private static final Pattern EXPAND = Pattern.compile("(\\w+)(?:\\(\\$select=([^)]*)\\))?");
+    private static final Pattern UPDATED_FILTER = Pattern.compile("LastUpdated gt (\\S+)");
+    private static final Instant APPS_LAST_UPDATED = Instant.parse("2025-06-01T00:00:00Z");
+    private static final Pattern USER_FILTER = Pattern.compile("CreatedBy/UserName eq '(.*)'");
+    private static final byte[] REPORT_PDF = "%PDF-1.4\n% AppScan stand-in report\n%%EOF\n".getBytes(StandardCharsets.US_ASCII);
+
+    private final List<String> appNames = new ArrayList<>();
+    private final Map<String, Integer> appIndexByName = new HashMap<>();
+    private final Map<String, Integer> appIndexById = new HashMap<>();
+    // Scan ID -> {application index, cycle} of every scan handed out, so scans can be fetched by ID later
+    private final Map<String, long[]> scansById = new ConcurrentHashMap<>();
+    private final long scanCycleMs;
+    private final AtomicLong reportIds = new AtomicLong();
+
+    public AppScanStandInServer(int appCount, long scanCycleMs, long latencyMs, double errorRate, double throttleRate) {
+        super(latencyMs, errorRate, throttleRate);
+        this.scanCycleMs = scanCycleMs;
+        for (int i = 0; i < appCount; i++) {
+            String name = String.format("loadtest-app-%05d", i);
+            appNames.add(name);
+            appIndexByName.put(name, i);
+            appIndexById.put(appId(i), i);
+        }
+    }
+
+    public List<String> getAppNames() {
+        return appNames;
+    }
+
+    @Override
+    protected void handle(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        Map<String, String> query = parseParams(exchange.getRequestURI().getRawQuery());
+        if (path.equals(API + "/Account/ApiKeyLogin")) {
+            sendJson(exchange, 200, Map.of("Token", "standin-token", "Expire", Instant.now().plusSeconds(3600).toString()));
+        } else if (path.equals(API + "/Apps")) {
+            sendJson(exchange, 200, Map.of("Items", project(findApps(query), query)));
+        } else if (path.equals(API + "/Scans")) {
+            sendJson(exchange, 200, Map.of("Items", project(findScans(query), query)));
+        } else if (path.startsWith(API + "/Reports/Security/Scan/")) {
+            sendJson(exchange, 200, Map.of("Id", "report-" + reportIds.incrementAndGet()));
+        } else if (path.equals(API + "/Reports")) {
+            Matcher matcher = ID_FILTER.matcher(query.getOrDefault("$filter", ""));
+            String reportId = matcher.matches() ? matcher.group(1) : "unknown";
+            sendJson(exchange, 200, Map.of("Items", List.of(Map.of(
+                    "Id", reportId,
+                    "Status", "Ready",
+                    "DownloadLink", getBaseUrl() + API + "/Reports/" + reportId + "/Download"))));
+        } else if (path.startsWith(API + "/Reports/") && path.endsWith("/Download")) {
+            send(exchange, 200, "application/pdf", REPORT_PDF);
+        } else {
+            sendJson(exchange, 404, Map.of("Message", "Not found: " + path));
+        }
+    }
+
+    private List<Map<String, Object>> findApps(Map<String, String> query) {
+        Matcher byName = NAME_FILTER.matcher(query.getOrDefault("$filter", ""));
+        if (byName.matches()) {
+            Integer index = appIndexByName.get(byName.group(1).replace("''", "'"));
+            return index == null ? List.of() : List.of(app(index));
+        }
+        Matcher updatedSince = UPDATED_FILTER.matcher(query.getOrDefault("$filter", ""));
+        if (updatedSince.matches() && !APPS_LAST_UPDATED.isAfter(Instant.parse(updatedSince.group(1)))) {
+            // Synthetic applications never change after creation
+            return List.of();
+        }
+        int skip = Integer.parseInt(query.getOrDefault("$skip", "0"));
+        int top = Integer.parseInt(query.getOrDefault("$top", "100"));
+        List<Map<String, Object>> apps = new ArrayList<>();
+        for (int i = skip; i < Math.min(appNames.size(), skip + top); i++) {
+            apps.add(app(i));
+        }
+        return apps;
+    }
+
+    private List<Map<String, Object>> findScans(Map<String, String> query) {
+        String filter = query.getOrDefault("$filter", "");
+        long now = System.currentTimeMillis();
+        Matcher byApp = APP_ID_FILTER.matcher(filter);
+        if (byApp.matches()) {
+            Integer index = appIndexById.get(byApp.group(1));
+            return index == null ? List.of() : List.of(scan(index, now));
+        }
+        Matcher byId = ID_FILTER.matcher(filter);
+        if (byId.matches()) {
+            long[] scan = scansById.get(byId.group(1));
+            return scan == null ? List.of() : List.of(scan((int) scan[0], scan[1], now));
+        }
+        if (USER_FILTER.matcher(filter).matches()) {
+            int top = Integer.parseInt(query.getOrDefault("$top", "10"));
+            List<Map<String, Object>> scans = new ArrayList<>();
+            for (int i = 0; i < Math.min(top, appNames.size()); i++) {
+                scans.add(scan(i, now));
+            }
+            return scans;
+        }
+        return List.of();
+    }
+
+    // Applies $select and $expand to each entity; without $select the full entity is returned
+    private static List<Map<String, Object>> project(List<Map<String, Object>> entities, Map<String, String> query) {
+        String select = query.get("$select");
+        if (select == null || select.isBlank()) {
+            return entities;
+        }
+        List<String> fields = List.of(select.split(","));
+        Matcher expand = EXPAND.matcher(query.getOrDefault("$expand", ""));
+        boolean hasExpand = expand.matches();
+        List<Map<String, Object>> projected = new ArrayList<>(entities.size());
+        for (Map<String, Object> entity : entities) {
+            Map<String, Object> item = new LinkedHashMap<>();
+            for (String field : fields) {
+                if (entity.containsKey(field.trim())) {
+                    item.put(field.trim(), entity.get(field.trim()));
+                }
+            }
+            if (hasExpand && entity.get(expand.group(1)) instanceof Map<?, ?> nested) {
+                Map<String, Object> expanded = new LinkedHashMap<>();
+                nested.forEach((key, value) -> {
+                    if (expand.group(2) == null || List.of(expand.group(2).split(",")).contains(key)) {
+                        expanded.put((String) key, value);
+                    }
+                });
+                item.put(expand.group(1), expanded);
+            }
+            projected.add(item);
+        }
+        return projected;
+    }
+
+    private Map<String, Object> app(int index) {
+        Map<String, Object> app = new LinkedHashMap<>();
+        app.put("Id", appId(index));
+        app.put("Name", appNames.get(index));
+        app.put("RiskRating", index % 4 == 0 ? "High" : index % 4 == 1 ? "Medium" : index % 4 == 2 ? "Low" : "None");
+        app.put("CriticalIssues", index % 3);
+        app.put("HighIssues", index % 7);
+        app.put("MediumIssues", index % 11);
+        app.put("LowIssues", index % 13);
+        app.put("TotalIssues", index % 3 + index % 7 + index % 11 + index % 13);
+        app.put("BusinessImpact", "Medium");
+        app.put("CreatedBy", "loadtest");
+        app.put("DateCreated", "2025-01-01T00:00:00Z");
+        app.put("LastUpdated", APPS_LAST_UPDATED.toString());
+        app.put("Description", "Synthetic application " + index + " generated by the AppScan stand-in");
+        app.put("AssetGroupId", "00000000-0000-0000-0000-000000000001");
+        app.put("AssetGroupName", "Default Asset Group");
+        app.put("NewIssues", index % 5);
+        app.put("OpenIssues", index % 9);
+        app.put("IssuesInProgress", index % 2);
+        app.put("OverallCompliance", "Passed");
+        app.put("TestingStatus", "Tested");
+        app.put("TotalScans", 12);
+        app.put("LastScanExecution", Map.of(
+                "Id", UUID.nameUUIDFromBytes(("exec" + index).getBytes(StandardCharsets.UTF_8)).toString(),
+                "Status", "Ready",
+                "Progress", 100,
+                "ExecutionDurationSec", 1800,
+                "CreatedAt", Instant.now().minus(Duration.ofDays(index % 60)).toString(),
+                "ScanEndTime", Instant.now().minus(Duration.ofDays(index % 60)).plusSeconds(1800).toString(),
+                "UserMessage", ""));
+        return app;
+    }
+
+    // The latest scan of an application, which changes once per scan cycle
+    private Map<String, Object> scan(int index, long now) {
+        long offset = index * scanCycleMs / Math.max(1, appNames.size());
+        return scan(index, (now + offset) / scanCycleMs, now);
+    }
+
+    private Map<String, Object> scan(int index, long cycle, long now) {
+        long offset = index * scanCycleMs / Math.max(1, appNames.size());
+        long cycleStart = cycle * scanCycleMs - offset;
+        boolean ready = now >= cycleStart + scanCycleMs / 2;
+        int seed = (int) ((index * 31L + cycle) % 17);
+
+        Map<String, Object> execution = new LinkedHashMap<>();
+        execution.put("Id", UUID.nameUUIDFromBytes(("exec" + index + "#" + cycle).getBytes(StandardCharsets.UTF_8)).toString());
+        execution.put("Status", ready ? "Ready" : "Running");
+        execution.put("ExecutionProgress", ready ? "Completed" : "Running");
+        execution.put("Progress", ready ? 100 : 50);
+        execution.put("CreatedAt", Instant.ofEpochMilli(cycleStart).toString());
+        execution.put("ScanStartTime", Instant.ofEpochMilli(cycleStart).toString());
+        execution.put("UserMessage", "");
+        execution.put("NNewAppIssues", seed % 2);
+        execution.put("NOpenIssues", seed);
+        execution.put("NCriticalIssues", seed % 3);
+        execution.put("NHighIssues", seed % 5);
+        execution.put("NMediumIssues", seed % 7);
+        execution.put("NLowIssues", seed);
+        execution.put("NInfoIssues", seed % 4);
+        execution.put("NIssuesFound", seed % 3 + seed % 5 + seed % 7 + seed + seed % 4);
+        if (ready) {
+            execution.put("ScanEndTime", Instant.ofEpochMilli(cycleStart + scanCycleMs / 2).toString());
+        }
+
+        Map<String, Object> scan = new LinkedHashMap<>();
+        String scanId = UUID.nameUUIDFromBytes((index + "#" + cycle).getBytes(StandardCharsets.UTF_8)).toString();
+        scansById.putIfAbsent(scanId, new long[]{index, cycle});
+        scan.put("Id", scanId);
+        scan.put("Name", appNames.get(index) + " scan " + cycle);
+        scan.put("AppName", appNames.get(index));
+        scan.put("AppId", appId(index));
+        scan.put("Technology", "DynamicAnalyzer");
+        scan.put("Description", "Nightly scan of " + appNames.get(index));
+        scan.put("IsPersonal", false);
+        scan.put("LastModified", Instant.ofEpochMilli(cycleStart).toString());
+        scan.put("AssetGroupId", "00000000-0000-0000-0000-000000000001");
+        scan.put("ExecutionsCount", (int) (cycle % 100));
+        scan.put("Tags", List.of());
+        scan.put("CreatedAt", Instant.ofEpochMilli(cycleStart).toString());
+        scan.put("CreatedBy", Map.of("FirstName", "Load", "LastName", "Test", "UserName", "loadtest", "Email", "loadtest@example.com"));
+        scan.put("LatestExecution", execution);
+        return scan;
+    }
+
+    private String appId(int index) {
+        return UUID.nameUUIDFromBytes(appNames.get(index).getBytes(StandardCharsets.UTF_8)).toString();
+    }
+}
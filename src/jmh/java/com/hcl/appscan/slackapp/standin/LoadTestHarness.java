@@ -0,0 +1,219 @@
+/*
+ *
+ *  *
+ *  * Copyright 2025 HCL America, Inc.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *  * /
+ *
+ */
+
+package com.hcl.appscan.slackapp.standin;
+
+import com.hcl.appscan.slackapp.AppScanSlackAppApplication;
+import com.hcl.appscan.slackapp.scheduler.ScanCompletionPoller;
+import com.hcl.appscan.slackapp.service.AppScanService;
+import com.hcl.appscan.slackapp.service.NotificationService;
+import com.slack.api.bolt.App;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs the bot against local AppScan and Slack stand-ins and reports throughput, latency and heap usage.
+ * <p>
+ * The harness starts both stand-ins on free ports, boots the application with socket mode disabled and
+ * every AppScan application mapped to a channel, then drives two workloads:
+ * <ul>
+ *     <li>Poll cycles: each cycle is timed end to end and reported as applications per second.</li>
+ *     <li>Command storm: concurrent application summaries (AppScan lookup, Block Kit build and
+ *     `chat.postMessage`), reported as p50/p99 latency.</li>
+ * </ul>
+ * Tuned through system properties: `loadtest.apps` (10000), `loadtest.cycles` (3), `loadtest.commands` (2000),
+ * `loadtest.command.concurrency` (64), `loadtest.latency.ms` (0), `loadtest.error.rate` (0) and
+ * `loadtest.throttle.rate` (0). Any other application property can be overridden with `-D` as usual.
+ * </p>
+ */
+public final class LoadTestHarness {
+    private static final Logger logger = LoggerFactory.getLogger(LoadTestHarness.class);
+    /** Logged before and after the report, which is logged one line per entry in between. */
+    public static final String REPORT_HEADER = "==== Load test report ====";
+    public static final String REPORT_FOOTER = "==== End of load test report ====";
+    private static final String CHANNEL = "#loadtest";
+
+    private LoadTestHarness() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int appCount = Integer.getInteger("loadtest.apps", 10_000);
+        int cycles = Integer.getInteger("loadtest.cycles", 3);
+        int commands = Integer.getInteger("loadtest.commands", 2_000);
+        int concurrency = Integer.getInteger("loadtest.command.concurrency", 64);
+        long latencyMs = Long.getLong("loadtest.latency.ms", 0L);
+        double errorRate = Double.parseDouble(System.getProperty("loadtest.error.rate", "0"));
+        double throttleRate = Double.parseDouble(System.getProperty("loadtest.throttle.rate", "0"));
+
+        // Short scan cycle, so every poll cycle finds a fresh batch of completed scans
+        try (AppScanStandInServer appScan = new AppScanStandInServer(appCount, 20_000, latencyMs, errorRate, throttleRate);
+             SlackStandInServer slack = new SlackStandInServer(latencyMs, errorRate, throttleRate)) {
+            String appScanUrl = appScan.start(0);
+            slack.addChannel(CHANNEL);
+            String slackUrl = slack.start(0);
+
+            StringBuilder mapping = new StringBuilder();
+            for (String appName : appScan.getAppNames()) {
+                mapping.append(appName).append(':').append(CHANNEL).append(';');
+            }
+            File historyFile = File.createTempFile("loadtest-history", ".json");
+            historyFile.delete();
+            historyFile.deleteOnExit();
+
+            setDefault("appscan.api.baseurl", appScanUrl);
+            setDefault("appscan.api.key", "loadtest");
+            setDefault("appscan.api.secret", "loadtest");
+            setDefault("slack.bot.token", "xoxb-loadtest");
+            setDefault("slack.app.token", "xapp-loadtest");
+            setDefault("slack.socket.mode.enabled", "false");
+            setDefault("slack.api.url", slackUrl + "/api/");
+            setDefault("appscan.app.channel.mapping", mapping.toString());
+            setDefault("appscan.history.snapshot.file", historyFile.getAbsolutePath());
+            // High enough not to be the bottleneck, while still exercising 429 handling
+            setDefault("appscan.api.rate.limit.rps", "5000");
+            setDefault("appscan.api.rate.limit.burst", "5000");
+            // Poll cycles and index refreshes are driven by the harness, not the scheduler
+            setDefault("appscan.poller.rate.ms", String.valueOf(Long.MAX_VALUE / 2));
+            setDefault("appscan.app.index.refresh.ms", String.valueOf(Long.MAX_VALUE / 2));
+
+            logger.info("Stand-ins: AppScan {} ({} apps), Slack {}", appScanUrl, appCount, slackUrl);
+            try (ConfigurableApplicationContext context = new SpringApplicationBuilder(AppScanSlackAppApplication.class)
+                    .web(WebApplicationType.NONE)
+                    .run(args)) {
+                ScanCompletionPoller poller = context.getBean(ScanCompletionPoller.class);
+                List<String> report = new ArrayList<>();
+
+                // The scheduler starts one cycle at startup; wait for it (or run an untimed warm-up cycle)
+                // so the timed cycles neither overlap it nor get skipped because of it
+                poller.runPollCycle().get();
+                for (int cycle = 1; cycle <= cycles; cycle++) {
+                    long start = System.nanoTime();
+                    poller.runPollCycle().get();
+                    long elapsedMs = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+                    report.add(String.format("poll cycle %d: %d apps in %d ms (%.0f apps/s)",
+                            cycle, appCount, elapsedMs, appCount * 1000.0 / elapsedMs));
+                }
+
+                report.add(runCommandStorm(context, appScan.getAppNames(), commands, concurrency));
+                report.add(String.format("heap: used %d MB, peak %d MB", usedHeapMb(), peakHeapMb()));
+                // Virtual threads are not counted, so this shows how many carrier and pool threads the workload needed
+                report.add(String.format("threads: appscan.threads.virtual=%s, peak platform threads %d",
+                        context.getEnvironment().getProperty("appscan.threads.virtual", "false"),
+                        ManagementFactory.getThreadMXBean().getPeakThreadCount()));
+                report.add(String.format("AppScan stand-in: %d requests, %d throttled, %d failed",
+                        appScan.getRequestCount(), appScan.getThrottledCount(), appScan.getFailedCount()));
+                report.add(String.format("Slack stand-in: %d requests, %d throttled, %d failed, calls %s",
+                        slack.getRequestCount(), slack.getThrottledCount(), slack.getFailedCount(), slack.getCallsByMethod()));
+
+                logger.info(REPORT_HEADER);
+                report.forEach(logger::info);
+                logger.info(REPORT_FOOTER);
+            }
+        }
+    }
+
+    // Summaries are built through the same service calls as `/appscan summary`, minus the signed Bolt request
+    private static String runCommandStorm(ConfigurableApplicationContext context, List<String> appNames,
+                                          int commands, int concurrency) throws InterruptedException {
+        AppScanService appScanService = context.getBean(AppScanService.class);
+        NotificationService notificationService = context.getBean(NotificationService.class);
+        App slackApp = context.getBean(App.class);
+        Semaphore permits = new Semaphore(concurrency);
+        ConcurrentLinkedQueue<Long> latencies = new ConcurrentLinkedQueue<>();
+        AtomicInteger failures = new AtomicInteger();
+        List<CompletableFuture<Void>> inFlight = new ArrayList<>(commands);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < commands; i++) {
+            permits.acquire();
+            String appName = appNames.get(i % appNames.size());
+            long commandStart = System.nanoTime();
+            inFlight.add(appScanService.getApplicationDetailsByName(appName)
+                    .thenAccept(app -> {
+                        try {
+                            slackApp.client().chatPostMessage(r -> r
+                                    .channel(CHANNEL)
+                                    .text("Summary for " + appName)
+                                    .blocks(notificationService.buildApplicationSummaryBlocks(app)));
+                        } catch (Exception e) {
+                            throw new IllegalStateException(e);
+                        }
+                    })
+                    .handle((ignored, error) -> {
+                        if (error != null) {
+                            failures.incrementAndGet();
+                        }
+                        latencies.add((System.nanoTime() - commandStart) / 1_000);
+                        permits.release();
+                        return null;
+                    }));
+        }
+        CompletableFuture.allOf(inFlight.toArray(new CompletableFuture[0])).join();
+        long elapsedMs = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+
+        long[] sorted = latencies.stream().mapToLong(Long::longValue).toArray();
+        Arrays.sort(sorted);
+        return String.format("command storm: %d commands at concurrency %d in %d ms (%.0f/s), p50 %.1f ms, p99 %.1f ms, %d failed",
+                commands, concurrency, elapsedMs, commands * 1000.0 / elapsedMs,
+                percentile(sorted, 0.50) / 1000.0, percentile(sorted, 0.99) / 1000.0, failures.get());
+    }
+
+    private static long percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        return sorted[Math.min(sorted.length - 1, (int) Math.ceil(quantile * sorted.length) - 1)];
+    }
+
+    private static long usedHeapMb() {
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed() / (1024 * 1024);
+    }
+
+    private static long peakHeapMb() {
+        long peak = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                peak += pool.getPeakUsage().getUsed();
+            }
+        }
+        return peak / (1024 * 1024);
+    }
+
+    private static void setDefault(String key, String value) {
+        if (System.getProperty(key) == null) {
+            System.setProperty(key, value);
+        }
+    }
+}
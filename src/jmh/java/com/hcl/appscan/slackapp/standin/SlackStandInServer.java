@@ -0,0 +1,114 @@
+/*
+ *
+ *  *
+ *  * Copyright 2025 HCL America, Inc.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *  * /
+ *
+ */
+
+package com.hcl.appscan.slackapp.standin;
+
+import com.sun.net.httpserver.HttpExchange;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Embeddable stand-in for the Slack Web API. Point the bot at it with `slack.api.url=<base URL>/api/`.
+ * <p>
+ * Accepts any `/api/<method>` call and answers `ok: true`, with the fields the bot reads for
+ * `chat.postMessage`, `chat.update` and the files upload v2 flow. Channels registered with
+ * {@link #addChannel(String)} are listed by `conversations.list`, one page per `limit`, and
+ * `conversations.open` returns a stable DM channel per user. Calls are counted per method.
+ * </p>
+ */
+public class SlackStandInServer extends StandInServer {
+    private final Map<String, AtomicLong> callsByMethod = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private final List<String> channelNames = new CopyOnWriteArrayList<>();
+
+    public SlackStandInServer(long latencyMs, double errorRate, double throttleRate) {
+        super(latencyMs, errorRate, throttleRate);
+    }
+
+    /**
+     * Adds a channel to the workspace listed by `conversations.list`. Its ID is derived from the position.
+     */
+    public void addChannel(String name) {
+        channelNames.add(name.startsWith("#") ? name.substring(1) : name);
+    }
+
+    public Map<String, Long> getCallsByMethod() {
+        Map<String, Long> calls = new LinkedHashMap<>();
+        callsByMethod.forEach((method, count) -> calls.put(method, count.get()));
+        return calls;
+    }
+
+    @Override
+    protected void handle(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        if (path.startsWith("/upload/")) {
+            exchange.getRequestBody().transferTo(java.io.OutputStream.nullOutputStream());
+            send(exchange, 200, "text/plain", "OK".getBytes());
+            return;
+        }
+        if (!path.startsWith("/api/")) {
+            sendJson(exchange, 404, Map.of("ok", false, "error", "unknown_method"));
+            return;
+        }
+        String method = path.substring("/api/".length());
+        callsByMethod.computeIfAbsent(method, k -> new AtomicLong()).incrementAndGet();
+        Map<String, String> params = parseParams(readBody(exchange));
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("ok", true);
+        switch (method) {
+            case "chat.postMessage", "chat.update" -> {
+                response.put("channel", params.getOrDefault("channel", "C0STANDIN"));
+                response.put("ts", params.getOrDefault("ts", System.currentTimeMillis() / 1000 + "." + String.format("%06d", sequence.incrementAndGet() % 1_000_000)));
+            }
+            case "files.getUploadURLExternal" -> {
+                String fileId = "F" + sequence.incrementAndGet();
+                response.put("upload_url", getBaseUrl() + "/upload/" + fileId);
+                response.put("file_id", fileId);
+            }
+            case "conversations.list" -> {
+                int offset = params.getOrDefault("cursor", "").isEmpty() ? 0 : Integer.parseInt(params.get("cursor"));
+                int limit = Integer.parseInt(params.getOrDefault("limit", "100"));
+                int end = Math.min(channelNames.size(), offset + limit);
+                List<Map<String, Object>> channels = new ArrayList<>();
+                for (int i = offset; i < end; i++) {
+                    channels.add(Map.of("id", String.format("C%08d", i), "name", channelNames.get(i)));
+                }
+                response.put("channels", channels);
+                response.put("response_metadata", Map.of("next_cursor", end < channelNames.size() ? String.valueOf(end) : ""));
+            }
+            case "conversations.open" -> {
+                String user = params.getOrDefault("users", "U0STANDIN");
+                response.put("channel", Map.of("id", "D" + user.replaceAll("[^A-Z0-9]", "")));
+            }
+            default -> {
+                // Other methods only need ok=true
+            }
+        }
+        sendJson(exchange, 200, response);
+    }
+}
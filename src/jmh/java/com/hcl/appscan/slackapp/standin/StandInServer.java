@@ -0,0 +1,172 @@
+/*
+ *
+ *  *
+ *  * Copyright 2025 HCL America, Inc.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *  * /
+ *
+ */
+
+package com.hcl.appscan.slackapp.standin;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Base class for the embeddable API stand-ins used for local load testing.
+ * <p>
+ * Runs on the JDK's built-in HTTP server and injects configurable faults before each request
+ * is handled: a fixed latency, a rate of `429 Too Many Requests` responses with `Retry-After`,
+ * and a rate of `500` errors.
+ * </p>
+ */
+public abstract class StandInServer implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(StandInServer.class);
+    protected final ObjectMapper objectMapper = new ObjectMapper();
+    private final long latencyMs;
+    private final double errorRate;
+    private final double throttleRate;
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong throttled = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private HttpServer server;
+    private ExecutorService executor;
+
+    protected StandInServer(long latencyMs, double errorRate, double throttleRate) {
+        this.latencyMs = latencyMs;
+        this.errorRate = errorRate;
+        this.throttleRate = throttleRate;
+    }
+
+    /**
+     * Starts the server on the loopback interface. Port 0 picks a free port.
+     *
+     * @return the base URL of the server, without a trailing slash
+     */
+    public String start(int port) throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", port), 1024);
+        executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, getClass().getSimpleName());
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(executor);
+        server.createContext("/", this::dispatch);
+        server.start();
+        return getBaseUrl();
+    }
+
+    public String getBaseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    public long getRequestCount() {
+        return requests.get();
+    }
+
+    public long getThrottledCount() {
+        return throttled.get();
+    }
+
+    public long getFailedCount() {
+        return failed.get();
+    }
+
+    @Override
+    public void close() {
+        if (server != null) {
+            server.stop(0);
+            executor.shutdownNow();
+        }
+    }
+
+    protected abstract void handle(HttpExchange exchange) throws IOException;
+
+    private void dispatch(HttpExchange exchange) {
+        requests.incrementAndGet();
+        try {
+            if (latencyMs > 0) {
+                Thread.sleep(latencyMs);
+            }
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            if (random.nextDouble() < throttleRate) {
+                throttled.incrementAndGet();
+                exchange.getResponseHeaders().add("Retry-After", "1");
+                sendJson(exchange, 429, Map.of("Message", "Too many requests"));
+            } else if (random.nextDouble() < errorRate) {
+                failed.incrementAndGet();
+                sendJson(exchange, 500, Map.of("Message", "Injected failure"));
+            } else {
+                handle(exchange);
+            }
+        } catch (Exception e) {
+            logger.warn("Stand-in request {} failed: {}", exchange.getRequestURI(), e.getMessage());
+            try {
+                sendJson(exchange, 500, Map.of("Message", String.valueOf(e.getMessage())));
+            } catch (IOException ignored) {
+                // Response already started, nothing more to send
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    protected void sendJson(HttpExchange exchange, int status, Object body) throws IOException {
+        send(exchange, status, "application/json", objectMapper.writeValueAsBytes(body));
+    }
+
+    protected void send(HttpExchange exchange, int status, String contentType, byte[] bytes) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.sendResponseHeaders(status, bytes.length == 0 ? -1 : bytes.length);
+        if (bytes.length > 0) {
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        }
+    }
+
+    protected static String readBody(HttpExchange exchange) throws IOException {
+        return new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+    }
+
+    // Decodes a query string or form body into a map, the last value wins for repeated keys
+    protected static Map<String, String> parseParams(String encoded) {
+        Map<String, String> params = new HashMap<>();
+        if (encoded == null || encoded.isEmpty()) {
+            return params;
+        }
+        for (String pair : encoded.split("&")) {
+            int eq = pair.indexOf('=');
+            String key = URLDecoder.decode(eq < 0 ? pair : pair.substring(0, eq), StandardCharsets.UTF_8);
+            String value = eq < 0 ? "" : URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8);
+            params.put(key, value);
+        }
+        return params;
+    }
+}
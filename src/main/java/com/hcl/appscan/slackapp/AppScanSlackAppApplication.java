@@ -19,17 +19,17 @@
  */
 
 package com.hcl.appscan.slackapp;
-import com.slack.api.bolt.App;
-import com.slack.api.bolt.socket_mode.SocketModeApp;
-import com.slack.api.socket_mode.SocketModeClient;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.CommandLineRunner;
+import jakarta.annotation.PostConstruct;
+import org.springframework.boot.LazyInitializationExcludeFilter;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.annotation.AnnotatedElementUtils;
 import org.springframework.scheduling.annotation.EnableScheduling;
-import org.springframework.stereotype.Component;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Method;
 
 /**
  * Main entry point for the AppScan Slack App Spring Boot application.
@@ -43,24 +43,23 @@ public class AppScanSlackAppApplication {
     public static void main(String[] args) {
         SpringApplication.run(AppScanSlackAppApplication.class, args);
     }
-}
-
-@Component
-class SlackAppRunner implements CommandLineRunner {
-    private static final Logger logger = LoggerFactory.getLogger(SlackAppRunner.class);
-    private final App slackApp;
-    private final String appToken;
 
-    public SlackAppRunner(App slackApp, @Value("${slack.app.token}") String appToken) {
-        this.slackApp = slackApp;
-        this.appToken = appToken;
+    /**
+     * Beans that must start eagerly even when `spring.main.lazy-initialization` is enabled, because nothing
+     * else pulls them in: any bean with a `@Scheduled` method (the poller, history snapshots, the mapping
+     * file watcher, ...) or `@PostConstruct` start-up work would otherwise never be created.
+     */
+    @Bean
+    static LazyInitializationExcludeFilter eagerSchedulingBeans() {
+        return (beanName, beanDefinition, beanType) -> beanType != null && hasStartupWork(beanType);
     }
 
-    @Override
-    public void run(String... args) throws Exception {
-        logger.info("--- Starting Slack App in Socket Mode ---");
-        new SocketModeApp(appToken,  SocketModeClient.Backend.JavaWebSocket,slackApp).startAsync();
+    private static boolean hasStartupWork(Class<?> beanType) {
+        for (Method method : ReflectionUtils.getUniqueDeclaredMethods(beanType, ReflectionUtils.USER_DECLARED_METHODS)) {
+            if (AnnotatedElementUtils.hasAnnotation(method, Scheduled.class) || method.isAnnotationPresent(PostConstruct.class)) {
+                return true;
+            }
+        }
+        return false;
     }
 }
-
-
@@ -0,0 +1,162 @@
+/*
+ *
+ *  *
+ *  * Copyright 2025 HCL America, Inc.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *  * /
+ *
+ */
+
+package com.hcl.appscan.slackapp;
+
+import com.hcl.appscan.slackapp.scheduler.HashedWheelTimer;
+import com.hcl.appscan.slackapp.scheduler.ScanCompletionPoller;
+import com.hcl.appscan.slackapp.service.NotificationService;
+import com.hcl.appscan.slackapp.service.ScanHistoryService;
+import com.hcl.appscan.slackapp.tenant.TenantRegistry;
+import com.slack.api.bolt.App;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Shuts the bot down in order when the context closes (for example on SIGTERM during a rollout):
+ * <ol>
+ *     <li>disconnect Socket Mode and answer HTTP Events API requests with 503, so no new commands, button
+ *     clicks or events arrive,</li>
+ *     <li>stop starting poll cycles and wait for running cycles and their notifications,</li>
+ *     <li>wait for queued Slack posts and report requests, cancel timers still waiting (report status checks,
+ *     notification retries), then wait for the I/O executor to go idle,</li>
+ *     <li>persist the scan history snapshot,</li>
+ *     <li>close the AppScan HTTP connection pool, the Socket Mode clients and the Slack API client.</li>
+ * </ol>
+ * Steps 2 and 3 share the `appscan.shutdown.drain.timeout.ms` deadline; work still running after it
+ * is interrupted. Each step is logged with a `shutdown-timing` prefix.
+ * <p>
+ * Runs in the default lifecycle phase, so it stops before the web server and before any bean is destroyed.
+ * </p>
+ */
+@Component
+public class GracefulShutdown implements SmartLifecycle {
+    private static final Logger logger = LoggerFactory.getLogger(GracefulShutdown.class);
+    private static final long DRAIN_CHECK_INTERVAL_MS = 100;
+    private final SlackAppRunner slackAppRunner;
+    private final ScanCompletionPoller scanCompletionPoller;
+    private final NotificationService notificationService;
+    private final ScanHistoryService scanHistoryService;
+    private final TenantRegistry tenantRegistry;
+    private final App slackApp;
+    private final ExecutorService ioExecutor;
+    private final HashedWheelTimer wheelTimer;
+    private final long drainTimeoutMs;
+    private volatile boolean running;
+
+    public GracefulShutdown(SlackAppRunner slackAppRunner, ScanCompletionPoller scanCompletionPoller, NotificationService notificationService,
+                            ScanHistoryService scanHistoryService, TenantRegistry tenantRegistry, App slackApp,
+                            @Qualifier("ioExecutor") ExecutorService ioExecutor, HashedWheelTimer wheelTimer,
+                            @Value("${appscan.shutdown.drain.timeout.ms:30000}") long drainTimeoutMs) {
+        this.slackAppRunner = slackAppRunner;
+        this.scanCompletionPoller = scanCompletionPoller;
+        this.notificationService = notificationService;
+        this.scanHistoryService = scanHistoryService;
+        this.tenantRegistry = tenantRegistry;
+        this.slackApp = slackApp;
+        this.ioExecutor = ioExecutor;
+        this.wheelTimer = wheelTimer;
+        this.drainTimeoutMs = drainTimeoutMs;
+    }
+
+    @Override
+    public void start() {
+        running = true;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public void stop() {
+        long shutdownStart = System.currentTimeMillis();
+        long deadline = shutdownStart + drainTimeoutMs;
+        logger.info("Shutting down. Draining in-flight work for up to {} ms.", drainTimeoutMs);
+
+        step("stop socket mode events", slackAppRunner::stopAcceptingEvents);
+        step("drain poll cycles", () -> {
+            try {
+                scanCompletionPoller.stop().get(remaining(deadline), TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                logger.warn("Poll cycles still running after the drain deadline.");
+            }
+        });
+        step("drain notifications and reports", () -> {
+            while (System.currentTimeMillis() < deadline
+                    && (notificationService.getPendingDeliveries() > 0 || notificationService.getInFlightReports() > 0)) {
+                Thread.sleep(DRAIN_CHECK_INTERVAL_MS);
+            }
+            // Fails the waiting futures while the executor can still run their failure handlers
+            int cancelledTimers = wheelTimer.stop();
+            if (cancelledTimers > 0) {
+                logger.info("Cancelled {} pending timers.", cancelledTimers);
+            }
+            ioExecutor.shutdown();
+            if (!ioExecutor.awaitTermination(remaining(deadline), TimeUnit.MILLISECONDS)) {
+                List<Runnable> abandoned = ioExecutor.shutdownNow();
+                logger.warn("Drain deadline reached with {} pending notifications, {} report requests and {} queued tasks. Interrupting them.",
+                        notificationService.getPendingDeliveries(), notificationService.getInFlightReports(), abandoned.size());
+            }
+        });
+        step("persist state", scanHistoryService::flush);
+        step("close connections", () -> {
+            tenantRegistry.closeAll();
+            slackAppRunner.close();
+            slackApp.config().getSlack().close();
+        });
+
+        running = false;
+        logger.info("shutdown-timing: shutdown finished after {} ms", System.currentTimeMillis() - shutdownStart);
+    }
+
+    private static long remaining(long deadline) {
+        return Math.max(0, deadline - System.currentTimeMillis());
+    }
+
+    // Runs one shutdown step and logs its duration; a failing step does not stop the remaining ones
+    private static void step(String name, Step step) {
+        long start = System.currentTimeMillis();
+        try {
+            step.run();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.warn("Shutdown step '{}' was interrupted.", name);
+        } catch (Exception e) {
+            logger.error("Shutdown step '{}' failed: {}", name, e.getMessage(), e);
+        }
+        logger.info("shutdown-timing: {} took {} ms", name, System.currentTimeMillis() - start);
+    }
+
+    @FunctionalInterface
+    private interface Step {
+        void run() throws Exception;
+    }
+}
@@ -0,0 +1,388 @@
+/*
+ *
+ *  *
+ *  * Copyright 2025 HCL America, Inc.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *  * /
+ *
+ */
+
+package com.hcl.appscan.slackapp;
+
+import com.hcl.appscan.slackapp.metrics.StartupTimingRecorder;
+import com.hcl.appscan.slackapp.scheduler.HashedWheelTimer;
+import com.hcl.appscan.slackapp.service.SlackEventIntake;
+import com.slack.api.bolt.App;
+import com.slack.api.bolt.socket_mode.SocketModeApp;
+import com.slack.api.socket_mode.SocketModeClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Starts the Slack app in Socket Mode once the Spring context is ready and tracks the state
+ * of the WebSocket connections for the health endpoints.
+ * <p>
+ * `slack.socket.mode.connections` (1 to 10, Slack's limit per app) connections are opened side by side;
+ * Slack spreads requests over them, so intake continues while one of them reconnects. The WebSocket
+ * implementation is chosen with `slack.socket.mode.backend` (`JavaWebSocket` or `Tyrus`).
+ * </p>
+ * <p>
+ * The client's own immediate reconnect is switched off before it connects. A dropped connection is reopened
+ * on the wheel timer after `slack.socket.mode.reconnect.initial.backoff.ms`, doubling with jitter up to
+ * `slack.socket.mode.reconnect.max.backoff.ms` while attempts fail, and reset once Slack sends a frame
+ * on the new connection. A connection only counts as connected once Slack has sent its hello. Every
+ * `slack.socket.mode.health.check.ms` each connection is pinged; one that does not answer, or that got no
+ * hello within that time, is reconnected, so a half-open socket does not go unnoticed. Attempts and
+ * disconnects are listed per connection under /metrics.
+ * </p>
+ */
+@Component
+public class SlackAppRunner implements CommandLineRunner {
+    private static final Logger logger = LoggerFactory.getLogger(SlackAppRunner.class);
+    private static final int MAX_CONNECTIONS = 10;
+    private final App slackApp;
+    private final String appToken;
+    private final StartupTimingRecorder startupTimingRecorder;
+    private final SlackEventIntake eventIntake;
+    private final HashedWheelTimer wheelTimer;
+    private final boolean socketModeEnabled;
+    private final int connectionCount;
+    private final SocketModeClient.Backend backend;
+    private final long initialBackoffMs;
+    private final long maxBackoffMs;
+    private final long healthCheckMs;
+    private final List<Connection> connections = new ArrayList<>();
+    private volatile boolean stopping;
+
+    public SlackAppRunner(App slackApp, @Value("${slack.app.token}") String appToken, StartupTimingRecorder startupTimingRecorder,
+                          SlackEventIntake eventIntake, HashedWheelTimer wheelTimer,
+                          @Value("${slack.socket.mode.enabled:true}") boolean socketModeEnabled,
+                          @Value("${slack.socket.mode.connections:2}") int connectionCount,
+                          @Value("${slack.socket.mode.backend:JavaWebSocket}") String backend,
+                          @Value("${slack.socket.mode.reconnect.initial.backoff.ms:1000}") long initialBackoffMs,
+                          @Value("${slack.socket.mode.reconnect.max.backoff.ms:60000}") long maxBackoffMs,
+                          @Value("${slack.socket.mode.health.check.ms:30000}") long healthCheckMs) {
+        this.slackApp = slackApp;
+        this.appToken = appToken;
+        this.startupTimingRecorder = startupTimingRecorder;
+        this.eventIntake = eventIntake;
+        this.wheelTimer = wheelTimer;
+        this.socketModeEnabled = socketModeEnabled;
+        this.connectionCount = Math.max(1, Math.min(MAX_CONNECTIONS, connectionCount));
+        this.backend = parseBackend(backend);
+        this.initialBackoffMs = Math.max(100, initialBackoffMs);
+        this.maxBackoffMs = Math.max(this.initialBackoffMs, maxBackoffMs);
+        this.healthCheckMs = Math.max(1000, healthCheckMs);
+        if (connectionCount != this.connectionCount) {
+            logger.warn("slack.socket.mode.connections must be between 1 and {}; using {}.", MAX_CONNECTIONS, this.connectionCount);
+        }
+    }
+
+    private static SocketModeClient.Backend parseBackend(String backend) {
+        switch (backend.trim().toLowerCase()) {
+            case "javawebsocket":
+                return SocketModeClient.Backend.JavaWebSocket;
+            case "tyrus":
+                return SocketModeClient.Backend.Tyrus;
+            default:
+                throw new IllegalStateException("Unknown slack.socket.mode.backend '" + backend + "'. Use 'JavaWebSocket' or 'Tyrus'.");
+        }
+    }
+
+    @Override
+    public void run(String... args) throws Exception {
+        if (!socketModeEnabled) {
+            logger.info("Socket Mode is disabled (slack.socket.mode.enabled=false). Slash commands and buttons are only received through the HTTP Events API endpoint, if enabled.");
+            return;
+        }
+        logger.info("--- Starting Slack App in Socket Mode with {} connection(s) ({} backend) ---", connectionCount, backend);
+        synchronized (connections) {
+            for (int i = 0; i < connectionCount; i++) {
+                connections.add(new Connection(i + 1));
+            }
+        }
+        for (Connection connection : connections) {
+            connection.start();
+            // Also covers a connection whose first attempt failed, once its reconnect has been made
+            connection.scheduleHealthCheck();
+        }
+    }
+
+    /**
+     * Disconnects from Slack so no new commands, button clicks or events arrive. Work already
+     * dispatched keeps running and can still post through the Web API.
+     */
+    public void stopAcceptingEvents() throws Exception {
+        stopping = true;
+        eventIntake.stopAccepting();
+        for (Connection connection : snapshot()) {
+            connection.stop();
+        }
+    }
+
+    /**
+     * Releases the Socket Mode clients. Called once in-flight work has drained.
+     */
+    public void close() throws Exception {
+        for (Connection connection : snapshot()) {
+            connection.close();
+        }
+    }
+
+    public boolean isSocketModeEnabled() {
+        return socketModeEnabled;
+    }
+
+    /**
+     * True while at least one of the connections is up.
+     */
+    public boolean isConnected() {
+        return snapshot().stream().anyMatch(c -> c.connected);
+    }
+
+    public int getConnectedCount() {
+        return (int) snapshot().stream().filter(c -> c.connected).count();
+    }
+
+    public Instant getLastMessageAt() {
+        return snapshot().stream().map(c -> c.lastMessageAt).filter(Objects::nonNull).max(Instant::compareTo).orElse(null);
+    }
+
+    public Instant getLastDisconnectAt() {
+        return snapshot().stream().map(c -> c.lastDisconnectAt).filter(Objects::nonNull).max(Instant::compareTo).orElse(null);
+    }
+
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("enabled", socketModeEnabled);
+        metrics.put("backend", backend.name());
+        metrics.put("connected", getConnectedCount());
+        List<Map<String, Object>> perConnection = new ArrayList<>();
+        for (Connection connection : snapshot()) {
+            perConnection.add(connection.getMetrics());
+        }
+        metrics.put("connections", perConnection);
+        return metrics;
+    }
+
+    private List<Connection> snapshot() {
+        synchronized (connections) {
+            return Collections.unmodifiableList(new ArrayList<>(connections));
+        }
+    }
+
+    /**
+     * One Socket Mode connection with its own client, reconnect backoff and counters.
+     */
+    private final class Connection {
+        private final int index;
+        private volatile SocketModeApp socketModeApp;
+        private volatile boolean connected;
+        private volatile Instant lastMessageAt;
+        private volatile Instant lastDisconnectAt;
+        private final AtomicLong disconnects = new AtomicLong();
+        private final AtomicLong reconnectAttempts = new AtomicLong();
+        private final AtomicLong failedReconnects = new AtomicLong();
+        private final AtomicLong staleConnections = new AtomicLong();
+        private volatile long connectStartedAt;
+        private volatile boolean replacing;
+        private long backoffMs = initialBackoffMs;
+        private HashedWheelTimer.Timeout pendingReconnect;
+
+        Connection(int index) {
+            this.index = index;
+        }
+
+        boolean start() {
+            connectStartedAt = System.currentTimeMillis();
+            try {
+                SocketModeApp app = new SocketModeApp(appToken, backend, slackApp);
+                socketModeApp = app;
+                SocketModeClient client = app.getClient();
+                // Set up before connecting, so neither the hello nor an early close is missed. Reconnects go
+                // through scheduleReconnect so they back off instead of racing the client's own reconnect.
+                client.setAutoReconnectEnabled(false);
+                client.addWebSocketMessageListener(message -> onMessage());
+                client.addWebSocketCloseListener((code, reason) -> {
+                    connected = false;
+                    lastDisconnectAt = Instant.now();
+                    disconnects.incrementAndGet();
+                    // Closing the old session while switching to a new endpoint is not a drop
+                    if (!stopping && !replacing) {
+                        logger.warn("Socket Mode connection {} closed (code: {}, reason: {}).", index, code, reason);
+                        scheduleReconnect();
+                    }
+                });
+                client.addWebSocketErrorListener(error -> logger.warn("Socket Mode connection {} error: {}", index, error.getMessage()));
+                // Not startAsync(), which turns the client's auto reconnect back on
+                slackApp.start();
+                client.connect();
+                return true;
+            } catch (Exception e) {
+                logger.error("Failed to open Socket Mode connection {}.", index, e);
+                closeQuietly();
+                scheduleReconnect();
+                return false;
+            }
+        }
+
+        // Any text frame from Slack (hello, requests, disconnect notices) proves the connection is alive
+        private void onMessage() {
+            connected = true;
+            lastMessageAt = Instant.now();
+            // Only the first frame on any connection counts towards startup timing
+            startupTimingRecorder.markSocketModeConnected();
+            synchronized (this) {
+                backoffMs = initialBackoffMs;
+            }
+        }
+
+        void scheduleHealthCheck() {
+            if (!stopping) {
+                wheelTimer.newTimeout(this::checkHealth, healthCheckMs, TimeUnit.MILLISECONDS);
+            }
+        }
+
+        // Runs on the I/O executor, since the ping blocks until the pong arrives or times out
+        private void checkHealth() {
+            if (stopping) {
+                return;
+            }
+            try {
+                SocketModeApp app = socketModeApp;
+                boolean reconnecting;
+                synchronized (this) {
+                    reconnecting = pendingReconnect != null;
+                }
+                if (reconnecting || app == null) {
+                    return;
+                }
+                if (!connected) {
+                    if (System.currentTimeMillis() - connectStartedAt >= healthCheckMs) {
+                        staleConnections.incrementAndGet();
+                        logger.warn("Socket Mode connection {} got no hello from Slack within {} ms. Reconnecting.", index, healthCheckMs);
+                        scheduleReconnect();
+                    }
+                } else if (!app.getClient().verifyConnection()) {
+                    connected = false;
+                    staleConnections.incrementAndGet();
+                    logger.warn("Socket Mode connection {} did not answer a ping. Reconnecting.", index);
+                    scheduleReconnect();
+                }
+            } finally {
+                scheduleHealthCheck();
+            }
+        }
+
+        private synchronized void scheduleReconnect() {
+            if (stopping || pendingReconnect != null) {
+                return;
+            }
+            // Jitter keeps the connections from reconnecting in lockstep after a shared outage
+            long delay = backoffMs + ThreadLocalRandom.current().nextLong(backoffMs / 5 + 1);
+            backoffMs = Math.min(maxBackoffMs, backoffMs * 2);
+            logger.info("Reconnecting Socket Mode connection {} in {} ms.", index, delay);
+            pendingReconnect = wheelTimer.newTimeout(this::reconnect, delay, TimeUnit.MILLISECONDS);
+        }
+
+        private void reconnect() {
+            synchronized (this) {
+                pendingReconnect = null;
+            }
+            if (stopping) {
+                return;
+            }
+            reconnectAttempts.incrementAndGet();
+            SocketModeApp app = socketModeApp;
+            if (app == null) {
+                if (!start()) {
+                    failedReconnects.incrementAndGet();
+                }
+                return;
+            }
+            connectStartedAt = System.currentTimeMillis();
+            replacing = true;
+            try {
+                app.getClient().connectToNewEndpoint();
+            } catch (Exception e) {
+                failedReconnects.incrementAndGet();
+                logger.warn("Reconnecting Socket Mode connection {} failed: {}", index, e.getMessage());
+                scheduleReconnect();
+            } finally {
+                replacing = false;
+            }
+        }
+
+        void stop() throws Exception {
+            synchronized (this) {
+                if (pendingReconnect != null) {
+                    pendingReconnect.cancel();
+                    pendingReconnect = null;
+                }
+            }
+            SocketModeApp app = socketModeApp;
+            if (app != null) {
+                app.stop();
+            }
+            connected = false;
+        }
+
+        void close() throws Exception {
+            SocketModeApp app = socketModeApp;
+            socketModeApp = null;
+            if (app != null) {
+                app.close();
+            }
+        }
+
+        private void closeQuietly() {
+            try {
+                close();
+            } catch (Exception e) {
+                logger.debug("Failed to close Socket Mode connection {}.", index, e);
+            }
+        }
+
+        Map<String, Object> getMetrics() {
+            Map<String, Object> metrics = new LinkedHashMap<>();
+            metrics.put("index", index);
+            metrics.put("connected", connected);
+            metrics.put("lastMessageAt", lastMessageAt);
+            metrics.put("lastDisconnectAt", lastDisconnectAt);
+            metrics.put("disconnects", disconnects.get());
+            metrics.put("reconnectAttempts", reconnectAttempts.get());
+            metrics.put("failedReconnects", failedReconnects.get());
+            metrics.put("staleConnections", staleConnections.get());
+            synchronized (this) {
+                metrics.put("reconnectPending", pendingReconnect != null);
+                metrics.put("nextBackoffMs", backoffMs);
+            }
+            return metrics;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ *
+ *  *
+ *  * Copyright 2025 HCL America, Inc.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *  * /
+ *
+ */
+
+package com.hcl.appscan.slackapp.cluster;
+
+import java.io.IOException;
+import java.util.Set;
+
+/**
+ * Backend that lets replicas of the bot find each other and agree on who sends a notification,
+ * without electing a leader.
+ * <p>
+ * Every replica renews a membership lease through {@link #heartbeat(String)}; a replica whose lease
+ * lapses is considered dead and its applications move to the remaining replicas. Idempotency keys
+ * claimed with {@link #tryClaim(String, String)} are first-writer-wins across all replicas, so a scan
+ * seen by two replicas during a handover is only notified once. Implementations are called from
+ * background threads and may block.
+ * </p>
+ */
+public interface ClusterCoordinator {
+
+    /**
+     * Registers the node or renews its lease.
+     */
+    void heartbeat(String nodeId) throws IOException;
+
+    /**
+     * IDs of the nodes whose lease has not expired, including this one if it is registered.
+     */
+    Set<String> liveMembers() throws IOException;
+
+    /**
+     * Removes the node's lease so the other nodes take over its applications right away.
+     */
+    void leave(String nodeId) throws IOException;
+
+    /**
+     * Claims the key for the node. Returns false if another claim for the key already exists.
+     */
+    boolean tryClaim(String key, String nodeId) throws IOException;
+
+    /**
+     * Releases a claim made by the node, so the work can be retried by whichever node owns it next.
+     */
+    void release(String key, String nodeId) throws IOException;
+
+    /**
+     * Deletes claims older than the claim retention period.
+     */
+    void purgeExpiredClaims() throws IOException;
+
+    /**
+     * Short name of the backend for logs and metrics.
+     */
+    String getName();
+}
@@ -0,0 +1,203 @@
+/*
+ *
+ *  *
+ *  * Copyright 2025 HCL America, Inc.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *  * /
+ *
+ */
+
+package com.hcl.appscan.slackapp.cluster;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Splits the monitored applications between replicas of the bot.
+ * <p>
+ * Each replica renews its lease with the {@link ClusterCoordinator} on every heartbeat and rebuilds a
+ * {@link HashRing} from the live members whenever membership changes. The poller only polls the
+ * applications this node owns on the ring. When a replica dies its lease lapses and its applications
+ * move to the survivors on their next heartbeat; when a replica shuts down cleanly it gives up its
+ * lease right away.
+ * </p>
+ * <p>
+ * During a handover two replicas can briefly both poll an application. Before notifying, the poller
+ * claims an idempotency key for the scan, and only the replica whose claim succeeds sends the message.
+ * </p>
+ */
+@Component
+public class ClusterService {
+    private static final Logger logger = LoggerFactory.getLogger(ClusterService.class);
+
+    private final ClusterCoordinator coordinator;
+    private final String nodeId;
+    private final int virtualNodes;
+    private final long claimPurgeIntervalMs;
+    private final AtomicLong rebalances = new AtomicLong();
+    private final AtomicLong duplicatesSuppressed = new AtomicLong();
+    private final AtomicLong coordinatorErrors = new AtomicLong();
+    private volatile HashRing ring;
+    private volatile long lastHeartbeatMs;
+    private long lastClaimPurgeMs;
+
+    public ClusterService(
+            ClusterCoordinator coordinator,
+            @Value("${appscan.cluster.node.id:}") String nodeId,
+            @Value("${appscan.cluster.virtual.nodes:128}") int virtualNodes,
+            @Value("${appscan.cluster.claim.purge.interval.ms:3600000}") long claimPurgeIntervalMs
+    ) {
+        this.coordinator = coordinator;
+        this.nodeId = FileClusterCoordinator.fileName(nodeId == null || nodeId.isBlank() ? defaultNodeId() : nodeId.trim());
+        this.virtualNodes = Math.max(1, virtualNodes);
+        this.claimPurgeIntervalMs = claimPurgeIntervalMs;
+        this.ring = HashRing.build(Set.of(this.nodeId), this.virtualNodes);
+    }
+
+    @PostConstruct
+    public void join() {
+        // Join before the first poll cycle so this node does not briefly poll every application
+        heartbeat();
+        logger.info("Joined cluster as {} using the {} coordinator. Members: {}", nodeId, coordinator.getName(), ring.members());
+    }
+
+    @Scheduled(fixedDelayString = "${appscan.cluster.heartbeat.ms:5000}")
+    public synchronized void heartbeat() {
+        Set<String> members;
+        try {
+            coordinator.heartbeat(nodeId);
+            members = new HashSet<>(coordinator.liveMembers());
+            lastHeartbeatMs = System.currentTimeMillis();
+        } catch (IOException | RuntimeException e) {
+            // Keep the last known ring; if this lasts longer than the lease the others take over our share
+            coordinatorErrors.incrementAndGet();
+            logger.error("Cluster heartbeat failed. Keeping the current shard assignment.", e);
+            return;
+        }
+        members.add(nodeId);
+        if (!members.equals(ring.members())) {
+            logger.info("Cluster membership changed from {} to {}. Rebalancing applications.",
+                    new TreeSet<>(ring.members()), new TreeSet<>(members));
+            ring = HashRing.build(members, virtualNodes);
+            rebalances.incrementAndGet();
+        }
+        purgeClaimsIfDue();
+    }
+
+    @PreDestroy
+    public void leave() {
+        try {
+            coordinator.leave(nodeId);
+            logger.info("Left cluster as {}", nodeId);
+        } catch (IOException e) {
+            logger.warn("Failed to leave cluster cleanly. Other nodes take over once the lease expires.", e);
+        }
+    }
+
+    /**
+     * Whether this node is responsible for polling the application.
+     */
+    public boolean owns(String appName) {
+        return nodeId.equals(ring.ownerOf(appName));
+    }
+
+    /**
+     * Claims the notification for a completed scan. Returns false if another node already sent it.
+     * If the coordinator cannot be reached the claim is granted, preferring a rare duplicate to a
+     * missed notification.
+     */
+    public boolean claimNotification(String scanId) {
+        try {
+            if (coordinator.tryClaim(notificationKey(scanId), nodeId)) {
+                return true;
+            }
+            duplicatesSuppressed.incrementAndGet();
+            return false;
+        } catch (IOException | RuntimeException e) {
+            coordinatorErrors.incrementAndGet();
+            logger.warn("Failed to claim notification for scan {}. Sending it anyway.", scanId, e);
+            return true;
+        }
+    }
+
+    /**
+     * Releases a claim after the notification could not be sent, so the owner retries it later.
+     */
+    public void releaseNotification(String scanId) {
+        try {
+            coordinator.release(notificationKey(scanId), nodeId);
+        } catch (IOException | RuntimeException e) {
+            coordinatorErrors.incrementAndGet();
+            logger.warn("Failed to release notification claim for scan {}", scanId, e);
+        }
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("nodeId", nodeId);
+        metrics.put("coordinator", coordinator.getName());
+        metrics.put("members", new TreeSet<>(ring.members()));
+        metrics.put("lastHeartbeatMs", lastHeartbeatMs);
+        metrics.put("rebalances", rebalances.get());
+        metrics.put("duplicatesSuppressed", duplicatesSuppressed.get());
+        metrics.put("coordinatorErrors", coordinatorErrors.get());
+        return metrics;
+    }
+
+    private void purgeClaimsIfDue() {
+        long now = System.currentTimeMillis();
+        if (now - lastClaimPurgeMs < claimPurgeIntervalMs) {
+            return;
+        }
+        lastClaimPurgeMs = now;
+        try {
+            coordinator.purgeExpiredClaims();
+        } catch (IOException e) {
+            logger.warn("Failed to purge expired notification claims", e);
+        }
+    }
+
+    private static String notificationKey(String scanId) {
+        return "scan-" + scanId;
+    }
+
+    private static String defaultNodeId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (IOException e) {
+            host = "node";
+        }
+        return host + "-" + ManagementFactory.getRuntimeMXBean().getPid();
+    }
+}
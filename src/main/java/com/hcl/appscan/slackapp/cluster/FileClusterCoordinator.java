@@ -0,0 +1,150 @@
+/*
+ *
+ *  *
+ *  * Copyright 2025 HCL America, Inc.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *  * /
+ *
+ */
+
+package com.hcl.appscan.slackapp.cluster;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Coordinator backed by a directory shared by all replicas, e.g. an NFS or EFS mount, or a local
+ * directory when running several replicas on one machine.
+ * <p>
+ * Layout:
+ * <pre>
+ * members/&lt;node id&gt;   lease file holding the lease expiry in epoch milliseconds
+ * claims/&lt;key&gt;       idempotency claim holding the claiming node id
+ * </pre>
+ * Leases are rewritten through a temporary file and an atomic move, so readers never see a partial
+ * lease. Claims are created with {@link StandardOpenOption#CREATE_NEW}, which fails if the file
+ * exists, making the first replica to claim a key the winner. Lease expiry compares wall clocks, so
+ * replica clocks should be kept in sync (NTP) to well within the lease TTL.
+ * </p>
+ */
+public class FileClusterCoordinator implements ClusterCoordinator {
+    private final Path membersDir;
+    private final Path claimsDir;
+    private final Duration leaseTtl;
+    private final Duration claimTtl;
+
+    public FileClusterCoordinator(Path directory, Duration leaseTtl, Duration claimTtl) throws IOException {
+        this.membersDir = directory.resolve("members");
+        this.claimsDir = directory.resolve("claims");
+        this.leaseTtl = leaseTtl;
+        this.claimTtl = claimTtl;
+        Files.createDirectories(membersDir);
+        Files.createDirectories(claimsDir);
+    }
+
+    @Override
+    public void heartbeat(String nodeId) throws IOException {
+        Path lease = membersDir.resolve(fileName(nodeId));
+        Path tmp = membersDir.resolve(fileName(nodeId) + ".tmp");
+        long expiresAt = System.currentTimeMillis() + leaseTtl.toMillis();
+        Files.writeString(tmp, Long.toString(expiresAt), StandardCharsets.UTF_8);
+        Files.move(tmp, lease, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    @Override
+    public Set<String> liveMembers() throws IOException {
+        Set<String> members = new HashSet<>();
+        long now = System.currentTimeMillis();
+        try (Stream<Path> leases = Files.list(membersDir)) {
+            for (Path lease : (Iterable<Path>) leases::iterator) {
+                String name = lease.getFileName().toString();
+                if (name.endsWith(".tmp")) {
+                    continue;
+                }
+                try {
+                    long expiresAt = Long.parseLong(Files.readString(lease, StandardCharsets.UTF_8).trim());
+                    if (expiresAt > now) {
+                        members.add(name);
+                    } else if (expiresAt + leaseTtl.toMillis() < now) {
+                        // Long dead; any node may clean it up
+                        Files.deleteIfExists(lease);
+                    }
+                } catch (NoSuchFileException | NumberFormatException e) {
+                    // Removed or being replaced concurrently, it will be readable on the next heartbeat
+                }
+            }
+        }
+        return members;
+    }
+
+    @Override
+    public void leave(String nodeId) throws IOException {
+        Files.deleteIfExists(membersDir.resolve(fileName(nodeId)));
+    }
+
+    @Override
+    public boolean tryClaim(String key, String nodeId) throws IOException {
+        try {
+            Files.writeString(claimsDir.resolve(fileName(key)), nodeId, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+            return true;
+        } catch (FileAlreadyExistsException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public void release(String key, String nodeId) throws IOException {
+        Path claim = claimsDir.resolve(fileName(key));
+        try {
+            if (nodeId.equals(Files.readString(claim, StandardCharsets.UTF_8))) {
+                Files.deleteIfExists(claim);
+            }
+        } catch (NoSuchFileException e) {
+            // Already purged
+        }
+    }
+
+    @Override
+    public void purgeExpiredClaims() throws IOException {
+        FileTime cutoff = FileTime.fromMillis(System.currentTimeMillis() - claimTtl.toMillis());
+        try (Stream<Path> claims = Files.list(claimsDir)) {
+            for (Path claim : (Iterable<Path>) claims::iterator) {
+                try {
+                    if (Files.getLastModifiedTime(claim).compareTo(cutoff) < 0) {
+                        Files.deleteIfExists(claim);
+                    }
+                } catch (NoSuchFileException e) {
+                    // Purged by another node
+                }
+            }
+        }
+    }
+
+    @Override
+    public String getName() {
+        return "file";
+    }
+
+    // Node IDs and keys end up as file names, so anything outside a safe character set is replaced
+    static String fileName(String value) {
+        return value.replaceAll("[^A-Za-z0-9._-]", "_");
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ *
+ *  *
+ *  * Copyright 2025 HCL America, Inc.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *  * /
+ *
+ */
+
+package com.hcl.appscan.slackapp.cluster;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Immutable consistent hash ring that assigns application names to nodes.
+ * <p>
+ * Each node is placed on the ring at a number of virtual points, so applications spread evenly and a
+ * node joining or leaving only moves the applications next to its own points, roughly 1/N of the
+ * total. The points are kept in a sorted primitive array and looked up with a binary search.
+ * </p>
+ */
+final class HashRing {
+    private final long[] points;
+    private final String[] owners;
+    private final Set<String> members;
+
+    private HashRing(long[] points, String[] owners, Set<String> members) {
+        this.points = points;
+        this.owners = owners;
+        this.members = members;
+    }
+
+    static HashRing build(Collection<String> nodeIds, int virtualNodes) {
+        // Sorted so ties between colliding points resolve the same way on every node
+        List<String> nodes = new ArrayList<>(new TreeSet<>(nodeIds));
+        long[][] entries = new long[nodes.size() * virtualNodes][];
+        int n = 0;
+        for (int node = 0; node < nodes.size(); node++) {
+            for (int v = 0; v < virtualNodes; v++) {
+                entries[n++] = new long[]{hash(nodes.get(node) + "#" + v), node};
+            }
+        }
+        Arrays.sort(entries, (a, b) -> a[0] != b[0] ? Long.compare(a[0], b[0]) : Long.compare(a[1], b[1]));
+        long[] points = new long[entries.length];
+        String[] owners = new String[entries.length];
+        for (int i = 0; i < entries.length; i++) {
+            points[i] = entries[i][0];
+            owners[i] = nodes.get((int) entries[i][1]);
+        }
+        return new HashRing(points, owners, Set.copyOf(nodes));
+    }
+
+    Set<String> members() {
+        return members;
+    }
+
+    /**
+     * The node owning the key: the first point at or after the key's hash, wrapping around.
+     */
+    String ownerOf(String key) {
+        if (points.length == 0) {
+            return null;
+        }
+        int pos = Arrays.binarySearch(points, hash(key));
+        if (pos < 0) {
+            pos = -pos - 1;
+        }
+        return owners[pos == points.length ? 0 : pos];
+    }
+
+    // 64-bit FNV-1a over UTF-8 bytes with a final avalanche step, so similar names land far apart
+    static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ *
+ *  *
+ *  * Copyright 2025 HCL America, Inc.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *  * /
+ *
+ */
+
+package com.hcl.appscan.slackapp.cluster;
+
+import java.util.Set;
+
+/**
+ * Coordinator for a single replica: the node is always the only member and every claim succeeds,
+ * since the poller's own state already prevents duplicate notifications.
+ */
+public class StandaloneClusterCoordinator implements ClusterCoordinator {
+    private volatile String nodeId;
+
+    @Override
+    public void heartbeat(String nodeId) {
+        this.nodeId = nodeId;
+    }
+
+    @Override
+    public Set<String> liveMembers() {
+        String self = nodeId;
+        return self == null ? Set.of() : Set.of(self);
+    }
+
+    @Override
+    public void leave(String nodeId) {
+        this.nodeId = null;
+    }
+
+    @Override
+    public boolean tryClaim(String key, String nodeId) {
+        return true;
+    }
+
+    @Override
+    public void release(String key, String nodeId) {
+    }
+
+    @Override
+    public void purgeExpiredClaims() {
+    }
+
+    @Override
+    public String getName() {
+        return "standalone";
+    }
+}
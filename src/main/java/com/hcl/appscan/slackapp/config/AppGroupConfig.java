@@ -0,0 +1,53 @@
+/*
+ *
+ *  *
+ *  * Copyright 2025 HCL America, Inc.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *  * /
+ *
+ */
+
+package com.hcl.appscan.slackapp.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+/**
+ * Named groups of AppScan applications, so `/appscan summary <group>` can summarize a product line at once.
+ * The format is: <Group Name>:<App 1>,<App 2>;<Group Name 2>:<App 3>
+ */
+@Component
+public class AppGroupConfig {
+    private final Map<String, List<String>> groupToApps = new HashMap<>();
+
+    public AppGroupConfig(@Value("${appscan.app.groups:}") String mapping) {
+        if (mapping != null && !mapping.isBlank()) {
+            for (String entry : mapping.split(";")) {
+                String[] parts = entry.split(":");
+                if (parts.length == 2) {
+                    String groupName = parts[0].trim().toLowerCase(Locale.ROOT);
+                    List<String> apps = Arrays.asList(parts[1].split(","));
+                    groupToApps.put(groupName, apps.stream().map(String::trim).filter(app -> !app.isEmpty()).toList());
+                }
+            }
+        }
+    }
+
+    // Group names are matched ignoring case
+    public Optional<List<String>> getAppsForGroup(String groupName) {
+        return Optional.ofNullable(groupToApps.get(groupName.trim().toLowerCase(Locale.ROOT)));
+    }
+}
@@ -0,0 +1,237 @@
+/*
+ *
+ *  *
+ *  * Copyright 2025 HCL America, Inc.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *  * /
+ *
+ */
+
+package com.hcl.appscan.slackapp.config;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Immutable matcher from application names to Slack targets (channels or user IDs), compiled once from
+ * a set of mappings whenever they are loaded.
+ * <p>
+ * A mapping key is one of:
+ * <ul>
+ *   <li>an exact application name, e.g. `payments-api`, looked up in a hash map;</li>
+ *   <li>a prefix glob with a single trailing `*`, e.g. `payments-*`, stored in a character trie;</li>
+ *   <li>any other glob using `*` or `?`, e.g. `*-prod`, or a regular expression wrapped in slashes,
+ *   e.g. `/(eu|us)-payments-.+/`, compiled to a {@link Pattern} that must match the whole name.</li>
+ * </ul>
+ * A name gets the union of the targets of every key it matches: exact entries first, then prefix
+ * entries from shortest to longest, then patterns in declaration order. Results are cached per name,
+ * so repeated lookups for the same application are a single hash map read. The cache lives as long
+ * as the matcher and is dropped with it on reload.
+ * </p>
+ */
+public final class AppNameMatcher {
+    // Applications with no targets share this list, so caching misses costs no extra memory
+    private static final List<String> NONE = List.of();
+
+    private final Map<String, List<String>> exact;
+    private final TrieNode prefixes;
+    private final Pattern[] patterns;
+    private final List<String>[] patternTargets;
+    private final Set<String> allTargets;
+    private final Map<String, List<String>> cache = new ConcurrentHashMap<>();
+    private volatile ResolvedNames resolved;
+
+    private AppNameMatcher(Map<String, List<String>> exact, TrieNode prefixes, Pattern[] patterns, List<String>[] patternTargets,
+                           Set<String> allTargets) {
+        this.exact = exact;
+        this.prefixes = prefixes;
+        this.patterns = patterns;
+        this.patternTargets = patternTargets;
+        this.allTargets = allTargets;
+    }
+
+    /**
+     * Compiles the mappings. Keys that are not valid patterns are rejected with an {@link IllegalArgumentException}.
+     */
+    @SuppressWarnings("unchecked")
+    public static AppNameMatcher compile(Map<String, List<String>> mappings) {
+        Map<String, List<String>> exact = new HashMap<>();
+        TrieNode prefixes = new TrieNode();
+        List<Pattern> patterns = new ArrayList<>();
+        List<List<String>> patternTargets = new ArrayList<>();
+        Set<String> allTargets = new LinkedHashSet<>();
+        mappings.forEach((key, targets) -> {
+            List<String> copy = List.copyOf(targets);
+            allTargets.addAll(copy);
+            if (isRegex(key)) {
+                patterns.add(compileRegex(key, key.substring(1, key.length() - 1)));
+                patternTargets.add(copy);
+            } else if (key.indexOf('*') == key.length() - 1 && key.indexOf('?') < 0) {
+                prefixes.insert(key.substring(0, key.length() - 1), copy);
+            } else if (key.indexOf('*') >= 0 || key.indexOf('?') >= 0) {
+                patterns.add(compileRegex(key, globToRegex(key)));
+                patternTargets.add(copy);
+            } else {
+                exact.put(key, copy);
+            }
+        });
+        return new AppNameMatcher(Map.copyOf(exact), prefixes, patterns.toArray(new Pattern[0]),
+                patternTargets.toArray(new List[0]), Collections.unmodifiableSet(allTargets));
+    }
+
+    /**
+     * Targets for the application, or an empty list if no mapping matches.
+     */
+    public List<String> targetsFor(String appName) {
+        if (appName == null) {
+            return NONE;
+        }
+        return cache.computeIfAbsent(appName, this::match);
+    }
+
+    /**
+     * Whether the mappings contain wildcard or regex keys, i.e. whether matching names have to be
+     * discovered from the application index rather than read off the exact keys.
+     */
+    public boolean hasPatterns() {
+        return patterns.length > 0 || !prefixes.isEmpty();
+    }
+
+    /**
+     * Every target of any mapping, exact or pattern, in declaration order.
+     */
+    public Set<String> allTargets() {
+        return allTargets;
+    }
+
+    /**
+     * Application names with exact mappings.
+     */
+    public Set<String> exactNames() {
+        return exact.keySet();
+    }
+
+    /**
+     * Exact names plus every known application name that matches a pattern. The result for the last
+     * list of known names is kept, so calling this every poll cycle with an unchanged application index
+     * does no matching work.
+     */
+    public Set<String> resolveNames(List<String> knownNames) {
+        if (!hasPatterns()) {
+            return exactNames();
+        }
+        ResolvedNames last = resolved;
+        if (last != null && last.knownNames == knownNames) {
+            return last.names;
+        }
+        Set<String> names = new LinkedHashSet<>(exact.keySet());
+        for (String name : knownNames) {
+            if (!targetsFor(name).isEmpty()) {
+                names.add(name);
+            }
+        }
+        Set<String> result = Collections.unmodifiableSet(names);
+        resolved = new ResolvedNames(knownNames, result);
+        return result;
+    }
+
+    private List<String> match(String appName) {
+        LinkedHashSet<String> targets = new LinkedHashSet<>();
+        List<String> exactTargets = exact.get(appName);
+        if (exactTargets != null) {
+            targets.addAll(exactTargets);
+        }
+        prefixes.collect(appName, targets);
+        for (int i = 0; i < patterns.length; i++) {
+            if (patterns[i].matcher(appName).matches()) {
+                targets.addAll(patternTargets[i]);
+            }
+        }
+        return targets.isEmpty() ? NONE : List.copyOf(targets);
+    }
+
+    private static boolean isRegex(String key) {
+        return key.length() > 2 && key.startsWith("/") && key.endsWith("/");
+    }
+
+    private static Pattern compileRegex(String key, String regex) {
+        try {
+            return Pattern.compile(regex);
+        } catch (PatternSyntaxException e) {
+            throw new IllegalArgumentException("Invalid application name pattern '" + key + "': " + e.getDescription(), e);
+        }
+    }
+
+    private static String globToRegex(String glob) {
+        StringBuilder regex = new StringBuilder();
+        StringBuilder literal = new StringBuilder();
+        for (char c : glob.toCharArray()) {
+            if (c == '*' || c == '?') {
+                if (literal.length() > 0) {
+                    regex.append(Pattern.quote(literal.toString()));
+                    literal.setLength(0);
+                }
+                regex.append(c == '*' ? ".*" : ".");
+            } else {
+                literal.append(c);
+            }
+        }
+        if (literal.length() > 0) {
+            regex.append(Pattern.quote(literal.toString()));
+        }
+        return regex.toString();
+    }
+
+    private static final class ResolvedNames {
+        private final List<String> knownNames;
+        private final Set<String> names;
+
+        ResolvedNames(List<String> knownNames, Set<String> names) {
+            this.knownNames = knownNames;
+            this.names = names;
+        }
+    }
+
+    /**
+     * Character trie of prefix globs. A node's targets apply to every name that passes through it.
+     */
+    private static final class TrieNode {
+        private final Map<Character, TrieNode> children = new HashMap<>();
+        private List<String> targets;
+
+        void insert(String prefix, List<String> values) {
+            TrieNode node = this;
+            for (int i = 0; i < prefix.length(); i++) {
+                node = node.children.computeIfAbsent(prefix.charAt(i), c -> new TrieNode());
+            }
+            node.targets = values;
+        }
+
+        void collect(String name, Set<String> into) {
+            TrieNode node = this;
+            for (int i = 0; node != null; i++) {
+                if (node.targets != null) {
+                    into.addAll(node.targets);
+                }
+                node = i < name.length() ? node.children.get(name.charAt(i)) : null;
+            }
+        }
+
+        boolean isEmpty() {
+            return targets == null && children.isEmpty();
+        }
+    }
+}
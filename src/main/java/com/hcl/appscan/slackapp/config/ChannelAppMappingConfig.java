@@ -24,29 +24,87 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.util.*;
+import java.util.concurrent.atomic.AtomicReference;
 
+/**
+ * Maps AppScan applications to the Slack channels notified about their scans.
+ * <p>
+ * Mappings come from the `appscan.app.channel.mapping` property and, optionally, from the mapping file
+ * watched by {@link MappingFileWatcher}; file entries win for keys listed in both. Keys can be exact
+ * application names, globs such as `payments-*` or regular expressions in slashes, see
+ * {@link AppNameMatcher}. The merged mappings are compiled into an immutable matcher swapped in
+ * atomically on every reload, so lookups never lock.
+ * </p>
+ */
 @Component
 public class ChannelAppMappingConfig {
-    private final Map<String, List<String>> appNameToChannels = new HashMap<>();
+    private final Map<String, List<String>> propertyMappings;
+    private final AtomicReference<AppNameMatcher> matcher = new AtomicReference<>();
 
     public ChannelAppMappingConfig(@Value("${appscan.app.channel.mapping}") String mapping) {
-        if (mapping != null && !mapping.isBlank()) {
-            for (String entry : mapping.split(";")) {
-                String[] parts = entry.split(":");
-                if (parts.length == 2) {
-                    String appName = parts[0].trim();
-                    List<String> channels = Arrays.asList(parts[1].split(","));
-                    appNameToChannels.put(appName, channels.stream().map(String::trim).toList());
-                }
-            }
-        }
+        this.propertyMappings = parseMappings(mapping);
+        this.matcher.set(AppNameMatcher.compile(propertyMappings));
     }
 
     public List<String> getChannelsForApp(String appName) {
-        return appNameToChannels.getOrDefault(appName, Collections.emptyList());
+        return matcher.get().targetsFor(appName);
     }
 
+    /**
+     * Application names with an exact mapping. Names matched by patterns are only known once they are
+     * resolved against the application index, see {@link #resolveAppNames(List)}.
+     */
     public Set<String> getAllAppNames() {
-        return appNameToChannels.keySet();
+        return matcher.get().exactNames();
+    }
+
+    /**
+     * Exact application names plus every known application name matched by a pattern mapping.
+     */
+    public Set<String> resolveAppNames(List<String> knownAppNames) {
+        return matcher.get().resolveNames(knownAppNames);
+    }
+
+    /**
+     * Every channel mentioned in the mappings, whichever applications it is mapped to.
+     */
+    public Set<String> getAllChannels() {
+        return matcher.get().allTargets();
+    }
+
+    public boolean hasPatternMappings() {
+        return matcher.get().hasPatterns();
+    }
+
+    /**
+     * Compiles the property mappings overlaid with the mappings loaded from the mapping file, without
+     * installing them. Throws {@link IllegalArgumentException} if a pattern is invalid.
+     */
+    public AppNameMatcher compileWithFileMappings(Map<String, List<String>> fileMappings) {
+        Map<String, List<String>> merged = new LinkedHashMap<>(propertyMappings);
+        merged.putAll(fileMappings);
+        return AppNameMatcher.compile(merged);
+    }
+
+    public void install(AppNameMatcher compiled) {
+        matcher.set(compiled);
+    }
+
+    // The format is: <App Name or Pattern>:<Target 1>,<Target 2>;<App Name 2>:<Target 3>
+    // Splits on the last colon, so regex keys may contain colons themselves
+    static Map<String, List<String>> parseMappings(String mapping) {
+        Map<String, List<String>> parsed = new LinkedHashMap<>();
+        if (mapping != null && !mapping.isBlank()) {
+            for (String entry : mapping.split(";")) {
+                int separator = entry.lastIndexOf(':');
+                if (separator > 0) {
+                    String appName = entry.substring(0, separator).trim();
+                    List<String> targets = Arrays.stream(entry.substring(separator + 1).split(","))
+                            .map(String::trim).filter(target -> !target.isEmpty()).toList();
+                    parsed.put(appName, targets);
+                }
+            }
+        }
+        return parsed;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,63 @@
+/*
+ *
+ *  *
+ *  * Copyright 2025 HCL America, Inc.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *  * /
+ *
+ */
+
+package com.hcl.appscan.slackapp.config;
+
+import com.hcl.appscan.slackapp.cluster.ClusterCoordinator;
+import com.hcl.appscan.slackapp.cluster.FileClusterCoordinator;
+import com.hcl.appscan.slackapp.cluster.StandaloneClusterCoordinator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.time.Duration;
+
+/**
+ * Spring configuration for the coordination backend used when several replicas of the bot run side by side.
+ * <p>
+ * `appscan.cluster.backend=standalone` (the default) runs a single replica that polls every application.
+ * `appscan.cluster.backend=file` coordinates through lease and claim files in `appscan.cluster.dir`,
+ * which must be a directory shared by all replicas.
+ * </p>
+ */
+@Configuration
+public class ClusterConfig {
+    private static final Logger logger = LoggerFactory.getLogger(ClusterConfig.class);
+
+    @Bean
+    public ClusterCoordinator clusterCoordinator(@Value("${appscan.cluster.backend:standalone}") String backend,
+                                                 @Value("${appscan.cluster.dir:./cluster}") String directory,
+                                                 @Value("${appscan.cluster.lease.ttl.ms:20000}") long leaseTtlMs,
+                                                 @Value("${appscan.cluster.claim.ttl.ms:604800000}") long claimTtlMs) throws IOException {
+        switch (backend.trim().toLowerCase()) {
+            case "standalone":
+                return new StandaloneClusterCoordinator();
+            case "file":
+                logger.info("Coordinating replicas through {}", Paths.get(directory).toAbsolutePath());
+                return new FileClusterCoordinator(Paths.get(directory), Duration.ofMillis(leaseTtlMs), Duration.ofMillis(claimTtlMs));
+            default:
+                throw new IllegalStateException("Unknown appscan.cluster.backend '" + backend + "'. Use 'standalone' or 'file'.");
+        }
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ *
+ *  *
+ *  * Copyright 2025 HCL America, Inc.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *  * /
+ *
+ */
+
+package com.hcl.appscan.slackapp.config;
+
+import com.hcl.appscan.slackapp.scheduler.HashedWheelTimer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Spring configuration for the executor that runs blocking I/O: AppScan API calls, report generation
+ * and Slack message fan-out.
+ * <p>
+ * With `appscan.threads.virtual=true` on a Java 21+ runtime every task gets its own virtual thread,
+ * so blocking OkHttp and Slack calls no longer tie up platform threads. Otherwise a bounded pool of
+ * platform threads sized by `appscan.threads.io.pool.size` is used.
+ * </p>
+ * <p>
+ * Also provides the {@link HashedWheelTimer} that schedules staggered polls, report status checks and
+ * notification retries onto that executor.
+ * </p>
+ */
+@Configuration
+public class ExecutorConfig {
+    private static final Logger logger = LoggerFactory.getLogger(ExecutorConfig.class);
+
+    @Bean(name = "ioExecutor", destroyMethod = "shutdown")
+    public ExecutorService ioExecutor(@Value("${appscan.threads.virtual:false}") boolean virtualThreads,
+                                      @Value("${appscan.threads.io.pool.size:32}") int poolSize) {
+        if (virtualThreads) {
+            if (Runtime.version().feature() >= 21) {
+                try {
+                    // Looked up reflectively so the default Java 17 build still compiles
+                    ExecutorService executor = (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+                    logger.info("Using virtual threads for AppScan and Slack I/O.");
+                    return executor;
+                } catch (ReflectiveOperationException e) {
+                    logger.error("Failed to create virtual thread executor. Falling back to platform threads.", e);
+                }
+            } else {
+                logger.warn("appscan.threads.virtual is enabled but the runtime is Java {}. Java 21 or newer is required; using platform threads.", Runtime.version().feature());
+            }
+        }
+        logger.info("Using a pool of {} platform threads for AppScan and Slack I/O.", poolSize);
+        return Executors.newFixedThreadPool(poolSize, namedThreadFactory("appscan-io-"));
+    }
+
+    @Bean(destroyMethod = "stop")
+    public HashedWheelTimer wheelTimer(@Qualifier("ioExecutor") ExecutorService ioExecutor,
+                                       @Value("${appscan.timer.tick.ms:100}") long tickMs,
+                                       @Value("${appscan.timer.wheel.size:512}") int wheelSize,
+                                       @Value("${appscan.timer.dispatch.batch.size:64}") int dispatchBatchSize) {
+        return new HashedWheelTimer(ioExecutor, tickMs, TimeUnit.MILLISECONDS, wheelSize, dispatchBatchSize);
+    }
+
+    static ThreadFactory namedThreadFactory(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
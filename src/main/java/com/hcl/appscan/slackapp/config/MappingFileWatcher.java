@@ -0,0 +1,223 @@
+/*
+ *
+ *  *
+ *  * Copyright 2025 HCL America, Inc.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *  * /
+ *
+ */
+
+package com.hcl.appscan.slackapp.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hcl.appscan.slackapp.service.SlackDirectoryService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import okio.ByteString;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.yaml.snakeyaml.LoaderOptions;
+import org.yaml.snakeyaml.Yaml;
+import org.yaml.snakeyaml.constructor.SafeConstructor;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loads app-to-channel and app-to-user mappings from an external YAML or JSON file and reloads them
+ * whenever the file changes, so applications can be added to monitoring without a restart.
+ * <p>
+ * The file is set with `appscan.mappings.file` and looks like:
+ * <pre>
+ * channels:
+ *   MyApp: ["#security", "#my-app"]
+ *   "payments-*": ["#payments"]
+ * users:
+ *   MyApp: [U01234567]
+ * </pre>
+ * A single daemon thread watches the file's directory with a {@link WatchService}. Any event in the
+ * directory triggers a check of the file's content hash, since a Kubernetes ConfigMap volume updates the
+ * file by swapping the `..data` symlink and never touches the file's own name. Changed content is parsed
+ * and the result handed to {@link ChannelAppMappingConfig} and {@link UserAppMappingConfig}, which
+ * swap in a newly compiled {@link AppNameMatcher}. A file that fails to parse is logged and the
+ * previous mappings stay in effect. The poller reads the channel mappings on every cycle, so new
+ * applications are picked up on the next one.
+ * </p>
+ */
+@Component
+public class MappingFileWatcher {
+    private static final Logger logger = LoggerFactory.getLogger(MappingFileWatcher.class);
+    // Editors often write a file in several steps; wait for the events to settle before reloading
+    private static final long DEBOUNCE_MS = 250;
+
+    private final Path mappingFile;
+    private final ChannelAppMappingConfig channelMappings;
+    private final UserAppMappingConfig userMappings;
+    private final ObjectMapper objectMapper;
+    private final SlackDirectoryService slackDirectory;
+    private WatchService watchService;
+    private Thread watcherThread;
+    private volatile int reloadCount;
+    // SHA-256 of the content last loaded (or last rejected), only touched by the start-up load and the watcher thread
+    private ByteString loadedHash;
+
+    public MappingFileWatcher(
+            @Value("${appscan.mappings.file:}") String mappingFile,
+            ChannelAppMappingConfig channelMappings,
+            UserAppMappingConfig userMappings,
+            ObjectMapper objectMapper,
+            SlackDirectoryService slackDirectory
+    ) {
+        this.mappingFile = mappingFile == null || mappingFile.isBlank() ? null : Paths.get(mappingFile).toAbsolutePath();
+        this.channelMappings = channelMappings;
+        this.userMappings = userMappings;
+        this.objectMapper = objectMapper;
+        this.slackDirectory = slackDirectory;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (mappingFile == null) {
+            return;
+        }
+        // Load once up front so the first poll cycle already sees the file mappings
+        reload();
+        try {
+            watchService = mappingFile.getFileSystem().newWatchService();
+            mappingFile.getParent().register(watchService,
+                    StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+        } catch (IOException e) {
+            logger.error("Failed to watch mapping file {}. Changes will need a restart.", mappingFile, e);
+            return;
+        }
+        watcherThread = new Thread(this::watch, "mapping-file-watcher");
+        watcherThread.setDaemon(true);
+        watcherThread.start();
+        logger.info("Watching {} for mapping changes", mappingFile);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (watchService != null) {
+            try {
+                watchService.close();
+            } catch (IOException e) {
+                logger.warn("Failed to close mapping file watcher", e);
+            }
+        }
+        if (watcherThread != null) {
+            watcherThread.interrupt();
+        }
+    }
+
+    public int getReloadCount() {
+        return reloadCount;
+    }
+
+    private void watch() {
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+                do {
+                    // Events are only a hint, the content hash decides whether anything changed
+                    key.pollEvents();
+                    if (!key.reset()) {
+                        logger.error("Mapping file directory {} is no longer accessible. Stopped watching.", mappingFile.getParent());
+                        return;
+                    }
+                    key = watchService.poll(DEBOUNCE_MS, TimeUnit.MILLISECONDS);
+                } while (key != null);
+                reload();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException e) {
+            // Shutting down
+        }
+    }
+
+    private void reload() {
+        if (!Files.exists(mappingFile)) {
+            logger.warn("Mapping file {} does not exist. Keeping the current mappings.", mappingFile);
+            return;
+        }
+        try {
+            byte[] content = Files.readAllBytes(mappingFile);
+            ByteString hash = ByteString.of(content).sha256();
+            if (hash.equals(loadedHash)) {
+                return;
+            }
+            // Remembered even if parsing fails, so unrelated events do not log the same error again
+            loadedHash = hash;
+            Map<?, ?> root = parse(new String(content, StandardCharsets.UTF_8));
+            Map<String, List<String>> channels = toMappings(root.get("channels"), "channels");
+            Map<String, List<String>> users = toMappings(root.get("users"), "users");
+            // Compile both before installing either, so a bad pattern leaves all mappings untouched
+            AppNameMatcher channelMatcher = channelMappings.compileWithFileMappings(channels);
+            AppNameMatcher userMatcher = userMappings.compileWithFileMappings(users);
+            channelMappings.install(channelMatcher);
+            userMappings.install(userMatcher);
+            reloadCount++;
+            logger.info("Loaded {} channel and {} user mappings from {}", channels.size(), users.size(), mappingFile);
+            slackDirectory.validateMappings();
+        } catch (Exception e) {
+            logger.error("Failed to load mappings from {}. Keeping the current mappings.", mappingFile, e);
+        }
+    }
+
+    private Map<?, ?> parse(String content) throws IOException {
+        if (content.isBlank()) {
+            return Map.of();
+        }
+        String name = mappingFile.getFileName().toString().toLowerCase(Locale.ROOT);
+        Object root = name.endsWith(".json")
+                ? objectMapper.readValue(content, Object.class)
+                : new Yaml(new SafeConstructor(new LoaderOptions())).load(content);
+        if (root == null) {
+            return Map.of();
+        }
+        if (!(root instanceof Map<?, ?> map)) {
+            throw new IllegalArgumentException("Mapping file must contain an object with 'channels' and/or 'users'");
+        }
+        return map;
+    }
+
+    // Accepts either a list of strings or a single comma separated string per application
+    private static Map<String, List<String>> toMappings(Object section, String sectionName) {
+        if (section == null) {
+            return Map.of();
+        }
+        if (!(section instanceof Map<?, ?> map)) {
+            throw new IllegalArgumentException("'" + sectionName + "' must map application names to lists");
+        }
+        // Keeps the file's order, since patterns contribute their targets in declaration order
+        Map<String, List<String>> mappings = new LinkedHashMap<>();
+        map.forEach((app, targets) -> {
+            List<String> values = new ArrayList<>();
+            if (targets instanceof Collection<?> collection) {
+                collection.forEach(t -> values.add(String.valueOf(t).trim()));
+            } else if (targets != null) {
+                Arrays.stream(String.valueOf(targets).split(",")).map(String::trim).forEach(values::add);
+            }
+            values.removeIf(String::isEmpty);
+            mappings.put(String.valueOf(app).trim(), List.copyOf(values));
+        });
+        return mappings;
+    }
+}
@@ -20,20 +20,46 @@
 
 package com.hcl.appscan.slackapp.config;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.hcl.appscan.slackapp.model.FullScanDetails;
+import com.hcl.appscan.slackapp.model.ReportButtonValue;
+import com.hcl.appscan.slackapp.service.AppIndexService;
 import com.hcl.appscan.slackapp.service.AppScanService;
+import com.hcl.appscan.slackapp.service.BulkSummaryService;
 import com.hcl.appscan.slackapp.model.AppScanApp;
 import com.hcl.appscan.slackapp.service.NotificationService;
+import com.hcl.appscan.slackapp.service.PortfolioService;
+import com.hcl.appscan.slackapp.service.SlackDirectoryService;
+import com.hcl.appscan.slackapp.service.SlackEventIntake;
+import com.hcl.appscan.slackapp.tenant.AppScanTenant;
+import com.hcl.appscan.slackapp.tenant.TenantRegistry;
+import com.hcl.appscan.slackapp.util.BlockKitPacker;
+import com.hcl.appscan.slackapp.util.JsonCodec;
+import com.slack.api.Slack;
+import com.slack.api.SlackConfig;
 import com.slack.api.bolt.App;
 import com.slack.api.bolt.AppConfig;
+import com.slack.api.bolt.context.builtin.EventContext;
+import com.slack.api.bolt.context.builtin.SlashCommandContext;
+import com.slack.api.bolt.jakarta_servlet.SlackAppServlet;
+import com.slack.api.bolt.response.Response;
 import com.slack.api.model.block.*;
 import com.slack.api.model.block.composition.MarkdownTextObject;
+import com.slack.api.model.block.composition.OptionObject;
 import com.slack.api.model.block.composition.PlainTextObject;
-import com.slack.api.model.block.element.ButtonElement;
+import com.slack.api.model.block.element.ExternalSelectElement;
+import com.slack.api.model.event.ChannelArchiveEvent;
+import com.slack.api.model.event.ChannelCreatedEvent;
+import com.slack.api.model.event.ChannelDeletedEvent;
+import com.slack.api.model.event.ChannelRenameEvent;
+import com.slack.api.model.event.ChannelUnarchiveEvent;
+import com.slack.api.model.event.GroupRenameEvent;
+import com.slack.api.model.event.MemberJoinedChannelEvent;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.ServletRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import java.io.IOException;
@@ -41,13 +67,26 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.stream.Collectors;
 
 /**
  * Spring configuration class for setting up the Slack App integration.
  * <p>
  * Registers the `/appscan` Slack command and handles subcommands such as
- * `summary`, `list_apps`, `scan_summary`,'list_scans' and `help`. Integrates with the AppScanService
- * to fetch application data and formats responses for Slack.
+ * `summary`, `portfolio`, `list_apps`, `scan_summary`,'list_scans' and `help`. Integrates with the AppScanService
+ * to fetch application data and formats responses for Slack. Application names are autocompleted
+ * from the AppIndexService through an `external_select` menu.
+ * </p>
+ * <p>
+ * When several AppScan tenants are configured, a command can be prefixed with a tenant ID, e.g.
+ * `/appscan emea summary Payments`, to run it against that tenant instead of the default one.
+ * </p>
+ * <p>
+ * Requests normally arrive over Socket Mode. With `slack.http.events.enabled=true` the same app also serves
+ * the HTTP Events API at `slack.http.events.path` on the embedded web server, verified with
+ * `slack.signing.secret`. Both paths pass through {@link SlackEventIntake}.
  * </p>
  *
  * Dependencies:
@@ -63,39 +102,128 @@ import java.util.Map;
 public class SlackAppConfig {
     private static final Logger logger = LoggerFactory.getLogger(SlackAppConfig.class);
 
+    private static final String APP_SELECT_ACTION_ID = "app_select";
+    // The picker's block ID carries the tenant the picker was opened for
+    private static final String APP_PICKER_BLOCK_PREFIX = "app_picker:";
+    // Slack accepts at most 100 options per external_select response
+    private static final int MAX_SELECT_OPTIONS = 100;
+    // Slack accepts at most five responses per response URL
+    private static final int MAX_RESPONSE_URL_MESSAGES = 5;
+
+    private static Response refreshDirectory(SlackDirectoryService slackDirectory, EventContext ctx) {
+        slackDirectory.refreshSoon();
+        return ctx.ack();
+    }
+
     @Bean
-    public App slackApp(AppScanService appScanService, NotificationService notificationService, @Value("${slack.bot.token}") String botToken , @Value("${appscan.api.baseurl}") String appScanBaseUrl) {
+    @ConditionalOnProperty(name = "slack.http.events.enabled", havingValue = "true")
+    public ServletRegistrationBean<SlackAppServlet> slackEventsServlet(App slackApp,
+                                                                       @Value("${slack.http.events.path:/slack/events}") String path,
+                                                                       @Value("${slack.signing.secret:}") String signingSecret) {
+        if (signingSecret.isBlank()) {
+            throw new IllegalStateException("slack.http.events.enabled=true requires slack.signing.secret to verify requests from Slack.");
+        }
+        logger.info("Serving the Slack Events API at {}", path);
+        return new ServletRegistrationBean<>(new SlackAppServlet(slackApp), path);
+    }
+
+    @Bean
+    public App slackApp(TenantRegistry tenantRegistry, NotificationService notificationService, JsonCodec jsonCodec, @Value("${slack.bot.token}") String botToken,
+                        @Qualifier("ioExecutor") ExecutorService ioExecutor,
+                        BulkSummaryService bulkSummaryService, AppGroupConfig appGroupConfig, PortfolioService portfolioService,
+                        @Value("${appscan.list.apps.max:500}") int listAppsLimit,
+                        @Value("${appscan.list.scans.max:100}") int listScansLimit,
+                        @Value("${slack.api.url:}") String slackApiUrl,
+                        @Value("${slack.signing.secret:}") String signingSecret,
+                        SlackEventIntake eventIntake, SlackDirectoryService slackDirectory) {
         AppConfig config = new AppConfig();
         config.setSingleTeamBotToken(botToken);
+        if (!signingSecret.isBlank()) {
+            // Must be set before the App is built, which is when the request verification middleware is created
+            config.setSigningSecret(signingSecret);
+        }
+        if (!slackApiUrl.isBlank()) {
+            // Points the Web API client at another endpoint, such as the local Slack stand-in
+            SlackConfig slackConfig = new SlackConfig();
+            slackConfig.setMethodsEndpointUrlPrefix(slackApiUrl);
+            config.setSlack(Slack.getInstance(slackConfig));
+            logger.info("Using Slack Web API endpoint {}", slackApiUrl);
+        }
         App app = new App(config);
+        app.use(eventIntake);
+
+        // Channel changes make the cached channel directory stale; refreshes are combined by the directory
+        app.event(ChannelCreatedEvent.class, (req, ctx) -> refreshDirectory(slackDirectory, ctx));
+        app.event(ChannelRenameEvent.class, (req, ctx) -> refreshDirectory(slackDirectory, ctx));
+        app.event(ChannelDeletedEvent.class, (req, ctx) -> refreshDirectory(slackDirectory, ctx));
+        app.event(ChannelArchiveEvent.class, (req, ctx) -> refreshDirectory(slackDirectory, ctx));
+        app.event(ChannelUnarchiveEvent.class, (req, ctx) -> refreshDirectory(slackDirectory, ctx));
+        app.event(GroupRenameEvent.class, (req, ctx) -> refreshDirectory(slackDirectory, ctx));
+        // Private channels only show up in conversations.list once the bot is a member
+        app.event(MemberJoinedChannelEvent.class, (req, ctx) -> {
+            if (req.getEvent().getUser() != null && req.getEvent().getUser().equals(ctx.getBotUserId())) {
+                slackDirectory.refreshSoon();
+            }
+            return ctx.ack();
+        });
 
         app.blockAction("download_report_button", (req, ctx) -> {
             String channelId = req.getPayload().getChannel().getId();
             String userId = req.getPayload().getUser().getId();
             String value = req.getPayload().getActions().get(0).getValue();
 
-            String scanId = null;
-            String scanName = null;
+            ReportButtonValue button;
             try {
-                ObjectMapper mapper = new ObjectMapper();
-                Map<String, String> valueMap = mapper.readValue(value, Map.class);
-                scanId = valueMap.get("scanId");
-                scanName = valueMap.get("scanName");
+                button = jsonCodec.decodeReportButton(value);
             } catch (Exception e) {
                 logger.error("Failed to parse button value JSON: {}", value, e);
                 ctx.respond("Failed to parse button value. Please try again.");
                 return ctx.ack();
             }
 
-            notificationService.handleDownloadReportButton(channelId, userId, scanId, appScanService , scanName);
+            // Report generation blocks while AppScan renders the PDF, so keep it off the Bolt handler thread
+            AppScanService appScanService = tenantRegistry.findOrDefault(button.getTenant()).getAppScanService();
+            ioExecutor.execute(() -> notificationService.handleDownloadReportButton(channelId, userId, button.getScanId(), appScanService, button.getScanName()));
 
             return ctx.ack();
         });
 
+        // Options for the application picker (external_select), served from the in-memory index
+        app.blockSuggestion(APP_SELECT_ACTION_ID, (req, ctx) -> {
+            String query = req.getPayload().getValue();
+            AppIndexService appIndexService = pickerTenant(tenantRegistry, req.getPayload().getBlockId()).getAppIndex();
+            List<OptionObject> options = appIndexService.suggest(query, MAX_SELECT_OPTIONS).stream()
+                    .map(name -> OptionObject.builder().text(PlainTextObject.builder().text(truncate(name, 75)).build()).value(name).build())
+                    .toList();
+            return ctx.ack(r -> r.options(options));
+        });
+
+        app.blockAction(APP_SELECT_ACTION_ID, (req, ctx) -> {
+            String appName = req.getPayload().getActions().get(0).getSelectedOption().getValue();
+            AppScanTenant tenant = pickerTenant(tenantRegistry, req.getPayload().getActions().get(0).getBlockId());
+            ctx.ack();
+            respondWithApplicationSummary(appName, tenant, notificationService,
+                    blocks -> ctx.respond(r -> r.responseType("in_channel").blocks(blocks)),
+                    ctx::respond);
+            return ctx.ack();
+        });
 
         app.command("/appscan", (req, ctx) -> {
             // After extracting commandText, subCommand, and commandValue
             String commandText = req.getPayload().getText() != null ? req.getPayload().getText().trim() : "";
+            // An optional leading tenant ID selects the AppScan instance the command runs against
+            AppScanTenant tenant = tenantRegistry.getDefault();
+            String[] tenantArgs = commandText.split("\\s+", 2);
+            if (tenantRegistry.isMultiTenant() && tenantArgs.length > 0) {
+                Optional<AppScanTenant> prefixed = tenantRegistry.find(tenantArgs[0]);
+                if (prefixed.isPresent()) {
+                    tenant = prefixed.get();
+                    commandText = tenantArgs.length > 1 ? tenantArgs[1].trim() : "";
+                }
+            }
+            AppScanTenant finalTenant = tenant;
+            AppScanService appScanService = tenant.getAppScanService();
+            AppIndexService appIndexService = tenant.getAppIndex();
             String[] args = commandText.split("\\s+", 2);
             String subCommand = args.length > 0 ? args[0].trim() : "";
             String commandValue = args.length > 1 ? args[1].trim() : "";
@@ -104,85 +232,47 @@ public class SlackAppConfig {
             if (subCommand.isEmpty()) {
                 return ctx.ack("Please provide a valid subcommand. Try `/appscan help`.");
             }
-            logger.info("Received /appscan command: subCommand='{}', value='{}'", subCommand, commandValue);
+            logger.info("Received /appscan command: tenant='{}', subCommand='{}', value='{}'", tenant.getId(), subCommand, commandValue);
             // Validate commandValue for specific subcommands
             if ("summary".equalsIgnoreCase(subCommand) && commandValue.isEmpty()) {
-                return ctx.ack("Please provide an application name for the `summary` command. Try `/appscan summary <Application Name>`.");
+                if (appIndexService.isEmpty()) {
+                    return ctx.ack("Please provide an application name for the `summary` command. Try `/appscan summary <Application Name>`.");
+                }
+                // Let the user pick the application from an autocomplete menu instead, sent with the ack itself
+                return ctx.ack(r -> r.responseType("ephemeral").blocks(buildAppPickerBlocks(finalTenant)));
             }
-            if ("summary".equalsIgnoreCase(subCommand) && !commandValue.isEmpty()) {
+            Optional<List<String>> bulkApps = "summary".equalsIgnoreCase(subCommand) ? resolveBulkSummaryApps(commandValue, appGroupConfig) : Optional.empty();
+            if (bulkApps.isPresent()) {
                 ctx.ack();
-                appScanService.getApplicationDetailsByName(commandValue)
-                        .thenAccept(summary -> {
-                            logger.info("Summary fetched for application: {}", summary.getName());
-                            String formattedDate = "N/A";
-                            if (summary.getDateCreated() != null && summary.getDateCreated().length() >= 10) {
-                                formattedDate = summary.getDateCreated().substring(0, 10);
-                            }
-                            List<LayoutBlock> blocks = Arrays.asList(
-                                    HeaderBlock.builder().text(PlainTextObject.builder().text("Application Summary: " + summary.getName()).emoji(true).build()).build(),
-                                    SectionBlock.builder().fields(Arrays.asList(
-                                            MarkdownTextObject.builder().text("*Application:*\n" + summary.getName()).build(),
-                                            MarkdownTextObject.builder().text("*Overall Risk:*\n*" + summary.getRiskRating() + "*").build(),
-                                            MarkdownTextObject.builder().text("*Total Issues:*\n" + summary.getTotalIssues()).build(),
-                                            MarkdownTextObject.builder().text("*Business Impact:*\n" + summary.getBusinessImpact()).build(),
-                                            MarkdownTextObject.builder().text("*Created By:*\n" + summary.getCreatedBy()).build(),
-                                            MarkdownTextObject.builder().text("*Date Created:*\n" + formattedDate).build()
-                                    )).build(),
-                                    SectionBlock.builder().fields(Arrays.asList(
-                                            MarkdownTextObject.builder().text("*New Issues:*\n" + summary.getNewIssues()).build(),
-                                            MarkdownTextObject.builder().text("*Open Issues:*\n" + summary.getOpenIssues()).build(),
-                                            MarkdownTextObject.builder().text("*In-Progress Issues:*\n" + summary.getIssuesInProgress()).build(),
-                                            MarkdownTextObject.builder().text("*Compliance:*\n" + summary.getOverallCompliance()).build(),
-                                            MarkdownTextObject.builder().text("*Testing Status:*\n" + summary.getTestingStatus()).build()
-                                    )).build(),
-                                    SectionBlock.builder().fields(Arrays.asList(
-                                            MarkdownTextObject.builder().text("*Critical Issues:*\n" + summary.getCriticalIssues()).build(),
-                                            MarkdownTextObject.builder().text("*High Issues:*\n" + summary.getHighIssues()).build(),
-                                            MarkdownTextObject.builder().text("*Medium Issues:*\n" + summary.getMediumIssues()).build(),
-                                            MarkdownTextObject.builder().text("*Low Issues:*\n" + summary.getLowIssues()).build()
-                                    )).build(),
-                                    ActionsBlock.builder().elements(List.of(
-                                            ButtonElement.builder().text(PlainTextObject.builder().text("View in AppScan").emoji(true).build()).url(appScanBaseUrl+"/main/myapps/" + summary.getId()).actionId("view_in_appscan_button").build()
-                                    )).build()
-                            );
-                            try {
-                                ctx.respond(r -> r.responseType("in_channel").blocks(blocks));
-                            } catch (IOException e) {
-                                logger.error("Failed to respond to summary command", e);
-                            }
-                        })
-                        .exceptionally(ex -> {
-                            logger.error("Error fetching or processing AppScan summary", ex);
-                            try {
-                                String errorMsg = ex.getMessage();
-                                // Remove class name if present
-                                if (errorMsg != null && errorMsg.contains(":")) {
-                                    errorMsg = errorMsg.substring(errorMsg.indexOf(":") + 1).trim();
-                                }
-                                ctx.respond("Failed to fetch summary for `" + commandValue + "`. Reason: " + errorMsg);
-                            } catch (IOException e) {
-                                logger.error("Failed to send error response", e);
-                            }
-                            return null;
-                        });
+                String title = commandValue.contains(",") ? "Application Summaries" : "Application Summaries: " + commandValue;
+                bulkSummaryService.getSummaries(bulkApps.get(), appScanService, appIndexService).thenAccept(results -> {
+                    long failed = results.stream().filter(result -> !result.isSuccess()).count();
+                    logger.info("Bulk summary fetched for {} applications ({} failed)", results.size(), failed);
+                    try {
+                        List<List<LayoutBlock>> messages = notificationService.buildBulkSummaryMessages(finalTenant, title, results);
+                        respondPaged(notificationService, ctx, req.getPayload().getChannelId(), messages, title);
+                    } catch (Exception e) {
+                        logger.error("Failed to respond to bulk summary command", e);
+                    }
+                });
+            } else if ("summary".equalsIgnoreCase(subCommand) && !commandValue.isEmpty()) {
+                ctx.ack();
+                respondWithApplicationSummary(commandValue, tenant, notificationService,
+                        blocks -> ctx.respond(r -> r.responseType("in_channel").blocks(blocks)),
+                        ctx::respond);
             } else if ("list_apps".equalsIgnoreCase(subCommand)) {
                 ctx.ack();
-                appScanService.getAllApplications()
+                appScanService.getAllApplications(listAppsLimit)
                         .thenAccept(apps -> {
                             logger.info("Fetched {} applications from AppScan", apps.size());
-                            List<LayoutBlock> blocks = new ArrayList<>();
-                            blocks.add(HeaderBlock.builder().text(PlainTextObject.builder().text("AppScan Applications").emoji(true).build()).build());
-
+                            BlockKitPacker packer = new BlockKitPacker("AppScan Applications");
                             for (AppScanApp appItem : apps) {
-                                String appDetails = String.format("*%s*\n *Total Issues:* %d",
-                                        appItem.getName(), appItem.getTotalIssues());
-                                blocks.add(SectionBlock.builder().text(MarkdownTextObject.builder().text(appDetails).build()).build());
-
+                                packer.addField(String.format("*%s*\n *Total Issues:* %d", appItem.getName(), appItem.getTotalIssues()));
                             }
 
                             try {
                                 logger.info("Attempting to respond to Slack with app list...");
-                                ctx.respond(r -> r.responseType("in_channel").blocks(blocks));
+                                respondPaged(notificationService, ctx, req.getPayload().getChannelId(), packer.build(), "AppScan Applications");
                             } catch (Exception e) {
                                 logger.error("Failed to respond to list_apps command", e);
                             }
@@ -196,30 +286,48 @@ public class SlackAppConfig {
                             }
                             return null;
                         });
+            } else if ("portfolio".equalsIgnoreCase(subCommand)) {
+                if (!tenant.isDefault()) {
+                    return ctx.ack("The portfolio overview is only available for the default tenant (" + tenantRegistry.getDefault().getId() + ").");
+                }
+                Optional<PortfolioService.Snapshot> portfolio = portfolioService.getSnapshot();
+                if (portfolio.isEmpty()) {
+                    return ctx.ack("The portfolio overview is still loading. Please try again in a minute.");
+                }
+                ctx.ack();
+                // Building and posting the pages takes several Slack round trips, keep them off the ack path
+                String channelId = req.getPayload().getChannelId();
+                ioExecutor.execute(() -> {
+                    try {
+                        respondPaged(notificationService, ctx, channelId,
+                                notificationService.buildPortfolioMessages(portfolio.get()), "AppScan Portfolio");
+                    } catch (Exception e) {
+                        logger.error("Failed to respond to portfolio command", e);
+                    }
+                });
             } else if ("help".equalsIgnoreCase(subCommand)) {
-                return ctx.ack("Available commands:\n`/appscan summary <Application Name>`\n`/appscan list_apps`\n`/appscan list_scans <username>` \n `/appscan scan_summary <ID>`\n\nFor more information, visit the [AppScan Documentation](https://www.hcl-software.com/appscan/home).");
+                String tenantHelp = tenantRegistry.isMultiTenant()
+                        ? "\n\nPrefix a command with a tenant ID to run it against another AppScan instance, e.g. `/appscan <tenant> summary <Application Name>`. Tenants: "
+                                + tenantRegistry.getAll().stream().map(t -> "`" + t.getId() + "`").collect(Collectors.joining(", "))
+                        : "";
+                return ctx.ack("Available commands:\n`/appscan summary <Application Name>`\n`/appscan summary <App 1>, <App 2>, ...` or `/appscan summary <Group Name>`\n`/appscan portfolio`\n`/appscan list_apps`\n`/appscan list_scans <username>` \n `/appscan scan_summary <ID>`" + tenantHelp + "\n\nFor more information, visit the [AppScan Documentation](https://www.hcl-software.com/appscan/home).");
             } else if ("list_scans".equalsIgnoreCase(subCommand)) {
                 if (commandValue.isEmpty()) {
                     return ctx.ack("Please provide a username. Usage: `/appscan list_scans <username>`");
                 }
                 ctx.ack();
                 String username = commandValue;
-                appScanService.getScansByUsername(username)
+                appScanService.getScansByUsername(username, listScansLimit)
                         .thenAccept(scanList -> {
                             try {
                                 if (scanList.isEmpty()) {
                                     ctx.respond("No scans found for user: " + username);
                                 } else {
-                                    List<LayoutBlock> blocks = new ArrayList<>();
-                                    blocks.add(HeaderBlock.builder().text(PlainTextObject.builder().text("Your Scans").emoji(true).build()).build());
+                                    BlockKitPacker packer = new BlockKitPacker("Your Scans");
                                     for (Map<String, String> scan : scanList) {
-                                        blocks.add(SectionBlock.builder()
-                                                .text(MarkdownTextObject.builder()
-                                                        .text("*Name:* " + scan.get("Name") + "\n*Id:* " + scan.get("Id"))
-                                                        .build())
-                                                .build());
+                                        packer.addField("*Name:* " + scan.get("Name") + "\n*Id:* " + scan.get("Id"));
                                     }
-                                    ctx.respond(r -> r.responseType("in_channel").blocks(blocks));
+                                    respondPaged(notificationService, ctx, req.getPayload().getChannelId(), packer.build(), "Your Scans");
                                 }
                             } catch (Exception e) {
                                 logger.error("Failed to respond with scan list for user: {}", username, e);
@@ -253,7 +361,7 @@ public class SlackAppConfig {
                                     ctx.respond("No scan found for ID: " + scanId);
                                 } else {
                                     FullScanDetails details = optDetails.get();
-                                    List<LayoutBlock> blocks = notificationService.buildScanCompletionBlocks(details);
+                                    List<LayoutBlock> blocks = notificationService.buildScanCompletionBlocks(finalTenant, details);
                                     ctx.respond(r -> r.responseType("in_channel").blocks(blocks));
                                 }
                             } catch (IOException e) {
@@ -282,4 +390,117 @@ public class SlackAppConfig {
         });
         return app;
     }
+
+    /**
+     * Fetches the application summary and responds with it. The name is first resolved case-insensitively
+     * against the application index, and a failed lookup suggests similar application names.
+     */
+    private void respondWithApplicationSummary(String requestedName, AppScanTenant tenant, NotificationService notificationService,
+                                               Responder<List<LayoutBlock>> blocksResponder, Responder<String> textResponder) {
+        AppIndexService appIndexService = tenant.getAppIndex();
+        String appName = appIndexService.findExact(requestedName).orElse(requestedName);
+        tenant.getAppScanService().getApplicationDetailsByName(appName)
+                .thenAccept(summary -> {
+                    logger.info("Summary fetched for application: {}", summary.getName());
+                    List<LayoutBlock> blocks = notificationService.buildApplicationSummaryBlocks(tenant, summary);
+                    try {
+                        blocksResponder.respond(blocks);
+                    } catch (IOException e) {
+                        logger.error("Failed to respond to summary command", e);
+                    }
+                })
+                .exceptionally(ex -> {
+                    logger.error("Error fetching or processing AppScan summary", ex);
+                    try {
+                        String errorMsg = ex.getMessage();
+                        // Remove class name if present
+                        if (errorMsg != null && errorMsg.contains(":")) {
+                            errorMsg = errorMsg.substring(errorMsg.indexOf(":") + 1).trim();
+                        }
+                        String message = "Failed to fetch summary for `" + requestedName + "`. Reason: " + errorMsg;
+                        List<String> suggestions = appIndexService.suggest(requestedName, 3);
+                        if (!suggestions.isEmpty()) {
+                            message += "\nDid you mean: " + suggestions.stream().map(name -> "`" + name + "`").collect(Collectors.joining(", ")) + "?";
+                        }
+                        textResponder.respond(message);
+                    } catch (IOException e) {
+                        logger.error("Failed to send error response", e);
+                    }
+                    return null;
+                });
+    }
+
+    /**
+     * Sends packed messages in response to a slash command. A single message goes back through the
+     * response URL as before; several are posted to the channel with the rest threaded under the first.
+     * If the bot cannot post in the channel, the response URL is used for as many messages as it accepts.
+     */
+    private static void respondPaged(NotificationService notificationService, SlashCommandContext ctx, String channelId,
+                                     List<List<LayoutBlock>> messages, String text) throws IOException {
+        if (messages.size() > 1 && notificationService.postThreadedMessages(channelId, messages, text)) {
+            return;
+        }
+        // The last response says how many messages were left out
+        int sent = Math.min(MAX_RESPONSE_URL_MESSAGES, messages.size());
+        for (int i = 0; i < sent; i++) {
+            List<LayoutBlock> blocks = messages.get(i);
+            if (i == sent - 1 && messages.size() > sent) {
+                blocks = withNotShownNote(blocks, messages.size() - sent);
+            }
+            List<LayoutBlock> message = blocks;
+            ctx.respond(r -> r.responseType("in_channel").blocks(message));
+        }
+    }
+
+    private static List<LayoutBlock> withNotShownNote(List<LayoutBlock> blocks, int notShown) {
+        List<LayoutBlock> noted = new ArrayList<>(blocks);
+        // A full message gives up its last block to stay within Slack's block limit
+        if (noted.size() >= BlockKitPacker.MAX_BLOCKS_PER_MESSAGE) {
+            noted.remove(noted.size() - 1);
+        }
+        String text = "…" + notShown + " more " + (notShown == 1 ? "message" : "messages")
+                + " not shown. Invite the bot to this channel to see the full list.";
+        noted.add(ContextBlock.builder().elements(List.of(MarkdownTextObject.builder().text(text).build())).build());
+        return noted;
+    }
+
+    /**
+     * Returns the applications to summarize when the command names several applications separated
+     * by commas or a configured group, or empty for a single application summary.
+     */
+    private static Optional<List<String>> resolveBulkSummaryApps(String commandValue, AppGroupConfig appGroupConfig) {
+        if (commandValue.contains(",")) {
+            List<String> apps = Arrays.stream(commandValue.split(",")).map(String::trim).filter(app -> !app.isEmpty()).distinct().toList();
+            return Optional.of(apps);
+        }
+        return commandValue.isEmpty() ? Optional.empty() : appGroupConfig.getAppsForGroup(commandValue);
+    }
+
+    private static List<LayoutBlock> buildAppPickerBlocks(AppScanTenant tenant) {
+        return List.of(SectionBlock.builder()
+                .blockId(APP_PICKER_BLOCK_PREFIX + tenant.getId())
+                .text(MarkdownTextObject.builder().text("Select an application to see its summary:").build())
+                .accessory(ExternalSelectElement.builder()
+                        .actionId(APP_SELECT_ACTION_ID)
+                        .placeholder(PlainTextObject.builder().text("Start typing an application name").build())
+                        .minQueryLength(1)
+                        .build())
+                .build());
+    }
+
+    private static AppScanTenant pickerTenant(TenantRegistry tenantRegistry, String blockId) {
+        return blockId != null && blockId.startsWith(APP_PICKER_BLOCK_PREFIX)
+                ? tenantRegistry.findOrDefault(blockId.substring(APP_PICKER_BLOCK_PREFIX.length()))
+                : tenantRegistry.getDefault();
+    }
+
+    // Option text is limited to 75 characters by Slack
+    private static String truncate(String text, int maxLength) {
+        return text.length() <= maxLength ? text : text.substring(0, maxLength - 1) + "…";
+    }
+
+    @FunctionalInterface
+    private interface Responder<T> {
+        void respond(T value) throws IOException;
+    }
 }
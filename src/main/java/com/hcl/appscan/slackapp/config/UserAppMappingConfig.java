@@ -1,4 +1,3 @@
-
 /*
  *
  *  *
@@ -24,26 +23,44 @@ package com.hcl.appscan.slackapp.config;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicReference;
 
+/**
+ * Maps AppScan applications to the Slack users notified directly about their scans.
+ * Supports the same keys and reloading as {@link ChannelAppMappingConfig}.
+ */
 @Configuration
 public class UserAppMappingConfig {
-    private final Map<String, List<String>> appUserMapping = new HashMap<>();
+    private final Map<String, List<String>> propertyMappings;
+    private final AtomicReference<AppNameMatcher> matcher = new AtomicReference<>();
 
     public UserAppMappingConfig(@Value("${appscan.app.user.mapping:}") String mapping) {
-        if (mapping != null && !mapping.isEmpty()) {
-            String[] appMappings = mapping.split(";");
-            for (String appMapping : appMappings) {
-                String[] parts = appMapping.split(":");
-                if (parts.length == 2) {
-                    String appName = parts[0].trim();
-                    List<String> users = Arrays.asList(parts[1].split(","));
-                    appUserMapping.put(appName, users);
-                }
-            }
-        }
+        this.propertyMappings = ChannelAppMappingConfig.parseMappings(mapping);
+        this.matcher.set(AppNameMatcher.compile(propertyMappings));
     }
 
     public List<String> getUsersForApp(String appName) {
-        return appUserMapping.getOrDefault(appName, Collections.emptyList());
+        return matcher.get().targetsFor(appName);
+    }
+
+    /**
+     * Every user ID mentioned in the mappings, whichever applications it is mapped to.
+     */
+    public Set<String> getAllUsers() {
+        return matcher.get().allTargets();
+    }
+
+    /**
+     * Compiles the property mappings overlaid with the mappings loaded from the mapping file, without
+     * installing them. Throws {@link IllegalArgumentException} if a pattern is invalid.
+     */
+    public AppNameMatcher compileWithFileMappings(Map<String, List<String>> fileMappings) {
+        Map<String, List<String>> merged = new LinkedHashMap<>(propertyMappings);
+        merged.putAll(fileMappings);
+        return AppNameMatcher.compile(merged);
+    }
+
+    public void install(AppNameMatcher compiled) {
+        matcher.set(compiled);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,79 @@
+/*
+ *
+ *  *
+ *  * Copyright 2025 HCL America, Inc.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *  * /
+ *
+ */
+
+package com.hcl.appscan.slackapp.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Java Flight Recorder event for one AppScan API request, from sending it until its response is closed.
+ * <p>
+ * The duration is split into the time until the response headers arrived and the time spent reading
+ * and parsing the body afterwards, so slow AppScan responses can be told apart from slow Jackson
+ * mapping. Emitted by {@link AppScanCallEventInterceptor}; a throttled request that is retried shows up
+ * once per attempt.
+ * </p>
+ */
+@Name("com.hcl.appscan.slackapp.AppScanCall")
+@Label("AppScan API Call")
+@Category({"AppScan Slack Bot", "AppScan"})
+@StackTrace(false)
+public class AppScanCallEvent extends Event {
+    @Label("Host")
+    public String host;
+
+    @Label("Method")
+    public String method;
+
+    @Label("Endpoint")
+    @Description("Request path with IDs replaced by {id}")
+    public String endpoint;
+
+    @Label("Priority")
+    public String priority;
+
+    @Label("Status")
+    @Description("HTTP status code, 0 if no response was received")
+    public int status;
+
+    @Label("Response Bytes")
+    @DataAmount
+    public long bytes;
+
+    @Label("Response Time")
+    @Description("Time until the response headers arrived")
+    @Timespan
+    public long responseTime;
+
+    @Label("Read and Parse Time")
+    @Description("Time from the response headers until the response was closed, i.e. reading and mapping the body")
+    @Timespan
+    public long parseTime;
+
+    @Label("Error")
+    public String error;
+}
@@ -0,0 +1,141 @@
+/*
+ *
+ *  *
+ *  * Copyright 2025 HCL America, Inc.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *  * /
+ *
+ */
+
+package com.hcl.appscan.slackapp.metrics;
+
+import com.hcl.appscan.slackapp.service.AppScanRateGovernor;
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.Buffer;
+import okio.BufferedSource;
+import okio.ForwardingSource;
+import okio.Okio;
+
+import java.io.IOException;
+import java.util.regex.Pattern;
+
+/**
+ * OkHttp interceptor that emits an {@link AppScanCallEvent} per AppScan request.
+ * <p>
+ * The event is committed when the response is closed rather than when the headers arrive, so it also
+ * covers reading and mapping the body. When no flight recording has the event enabled the interceptor
+ * passes requests through without wrapping anything.
+ * </p>
+ */
+public class AppScanCallEventInterceptor implements Interceptor {
+    // GUIDs and numeric path segments, so endpoints group by route rather than by object
+    private static final Pattern ID_SEGMENT = Pattern.compile("/([0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}|\\d+)(?=/|$)");
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        AppScanCallEvent event = new AppScanCallEvent();
+        if (!event.isEnabled()) {
+            return chain.proceed(chain.request());
+        }
+        Request request = chain.request();
+        AppScanRateGovernor.Priority priority = request.tag(AppScanRateGovernor.Priority.class);
+        event.host = request.url().host();
+        event.method = request.method();
+        event.endpoint = endpointOf(request.url().encodedPath());
+        event.priority = priority != null ? priority.name() : null;
+        event.begin();
+        long start = System.nanoTime();
+        Response response;
+        try {
+            response = chain.proceed(request);
+        } catch (IOException | RuntimeException e) {
+            event.responseTime = System.nanoTime() - start;
+            event.error = e.getClass().getSimpleName() + ": " + e.getMessage();
+            event.commit();
+            throw e;
+        }
+        long headersAt = System.nanoTime();
+        event.responseTime = headersAt - start;
+        event.status = response.code();
+        if (response.body() == null) {
+            event.commit();
+            return response;
+        }
+        return response.newBuilder().body(new RecordingBody(response.body(), event, headersAt)).build();
+    }
+
+    static String endpointOf(String path) {
+        return ID_SEGMENT.matcher(path).replaceAll("/{id}");
+    }
+
+    /**
+     * Counts the bytes read from the body and commits the event once the response is closed. Callers
+     * close the response after mapping the body, so the time until then includes Jackson parsing.
+     */
+    private static final class RecordingBody extends ResponseBody {
+        private final ResponseBody delegate;
+        private final AppScanCallEvent event;
+        private final long headersAt;
+        private final BufferedSource source;
+        private boolean committed;
+
+        RecordingBody(ResponseBody delegate, AppScanCallEvent event, long headersAt) {
+            this.delegate = delegate;
+            this.event = event;
+            this.headersAt = headersAt;
+            this.source = Okio.buffer(new ForwardingSource(delegate.source()) {
+                @Override
+                public long read(Buffer sink, long byteCount) throws IOException {
+                    long read = super.read(sink, byteCount);
+                    if (read > 0) {
+                        event.bytes += read;
+                    }
+                    return read;
+                }
+            });
+        }
+
+        @Override
+        public MediaType contentType() {
+            return delegate.contentType();
+        }
+
+        @Override
+        public long contentLength() {
+            return delegate.contentLength();
+        }
+
+        @Override
+        public BufferedSource source() {
+            return source;
+        }
+
+        @Override
+        public void close() {
+            super.close();
+            synchronized (this) {
+                if (committed) {
+                    return;
+                }
+                committed = true;
+            }
+            event.parseTime = System.nanoTime() - headersAt;
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ *
+ *  *
+ *  * Copyright 2025 HCL America, Inc.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *  * /
+ *
+ */
+
+package com.hcl.appscan.slackapp.metrics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free latency histogram with fixed bucket boundaries from 100 ms to one hour.
+ * <p>
+ * The boundaries are chosen for notification lag, which ranges from sub-second Slack posts to
+ * detection delays of several poll intervals. Percentiles are reported as the upper bound of the
+ * bucket they fall into, so they are conservative by at most one bucket width.
+ * </p>
+ */
+public final class LatencyHistogram {
+    private static final long[] BOUNDS_MS = {
+            100, 250, 500, 1_000, 2_500, 5_000, 10_000, 30_000, 60_000,
+            120_000, 300_000, 600_000, 1_800_000, 3_600_000
+    };
+
+    // One counter per bound plus the overflow bucket
+    private final AtomicLongArray counts = new AtomicLongArray(BOUNDS_MS.length + 1);
+    private final LongAdder totalMs = new LongAdder();
+    private final AtomicLong maxMs = new AtomicLong();
+
+    public void record(long millis) {
+        long value = Math.max(0, millis);
+        int bucket = 0;
+        while (bucket < BOUNDS_MS.length && value > BOUNDS_MS[bucket]) {
+            bucket++;
+        }
+        counts.incrementAndGet(bucket);
+        totalMs.add(value);
+        maxMs.accumulateAndGet(value, Math::max);
+    }
+
+    public long getCount() {
+        long count = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            count += counts.get(i);
+        }
+        return count;
+    }
+
+    /**
+     * Returns count, mean, p50/p90/p99, max and the non-empty buckets keyed by their upper bound.
+     */
+    public Map<String, Object> snapshot() {
+        long[] copy = new long[counts.length()];
+        long count = 0;
+        for (int i = 0; i < copy.length; i++) {
+            copy[i] = counts.get(i);
+            count += copy[i];
+        }
+        long max = maxMs.get();
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("count", count);
+        snapshot.put("meanMs", count > 0 ? totalMs.sum() / count : 0);
+        snapshot.put("p50Ms", percentile(copy, count, 0.50, max));
+        snapshot.put("p90Ms", percentile(copy, count, 0.90, max));
+        snapshot.put("p99Ms", percentile(copy, count, 0.99, max));
+        snapshot.put("maxMs", max);
+        Map<String, Long> buckets = new LinkedHashMap<>();
+        for (int i = 0; i < copy.length; i++) {
+            if (copy[i] > 0) {
+                buckets.put(i < BOUNDS_MS.length ? "le" + BOUNDS_MS[i] : "inf", copy[i]);
+            }
+        }
+        snapshot.put("buckets", buckets);
+        return snapshot;
+    }
+
+    private static long percentile(long[] counts, long total, double quantile, long max) {
+        if (total == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(quantile * total);
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                // Never report more than the largest value actually seen
+                return i < BOUNDS_MS.length ? Math.min(BOUNDS_MS[i], max) : max;
+            }
+        }
+        return max;
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ *
+ *  *
+ *  * Copyright 2025 HCL America, Inc.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *  * /
+ *
+ */
+
+package com.hcl.appscan.slackapp.metrics;
+
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tracks how long it takes from a scan finishing in AppScan until its notification is delivered to Slack.
+ * <p>
+ * Every successful delivery is split into three intervals:
+ * <ul>
+ *     <li>detection lag: scan end time (`LatestExecution.ScanEndTime`) until the poller saw the scan as ready,</li>
+ *     <li>delivery lag: detection until the Slack post succeeded,</li>
+ *     <li>total lag: scan end time until the Slack post succeeded.</li>
+ * </ul>
+ * Each interval is kept as a {@link LatencyHistogram} overall, per application and per channel or user.
+ * Scans without a usable end time only contribute to the delivery lag.
+ * </p>
+ */
+@Component
+public class NotificationLatencyRecorder {
+    private final Stages overall = new Stages();
+    private final Map<String, Stages> byApp = new ConcurrentHashMap<>();
+    private final Map<String, Stages> byTarget = new ConcurrentHashMap<>();
+
+    /**
+     * Records a successful delivery.
+     *
+     * @param scanEnd when the scan finished, or null if AppScan did not report it
+     */
+    public void recordDelivery(String appName, String target, Instant scanEnd, Instant detectedAt, Instant deliveredAt) {
+        long deliveryMs = deliveredAt.toEpochMilli() - detectedAt.toEpochMilli();
+        long detectionMs = scanEnd != null ? detectedAt.toEpochMilli() - scanEnd.toEpochMilli() : -1;
+        long totalMs = scanEnd != null ? deliveredAt.toEpochMilli() - scanEnd.toEpochMilli() : -1;
+        overall.record(detectionMs, deliveryMs, totalMs);
+        byApp.computeIfAbsent(appName, k -> new Stages()).record(detectionMs, deliveryMs, totalMs);
+        byTarget.computeIfAbsent(target, k -> new Stages()).record(detectionMs, deliveryMs, totalMs);
+    }
+
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("overall", overall.snapshot());
+        metrics.put("byApp", snapshot(byApp));
+        metrics.put("byChannel", snapshot(byTarget));
+        return metrics;
+    }
+
+    /**
+     * Parses an AppScan timestamp. AppScan normally returns ISO-8601 UTC, e.g. `2025-01-01T10:15:30.123Z`;
+     * timestamps without an offset are taken as UTC.
+     */
+    public static Instant parseTimestamp(String timestamp) {
+        if (timestamp == null || timestamp.isBlank()) {
+            return null;
+        }
+        try {
+            return OffsetDateTime.parse(timestamp).toInstant();
+        } catch (DateTimeParseException e) {
+            try {
+                return LocalDateTime.parse(timestamp).toInstant(ZoneOffset.UTC);
+            } catch (DateTimeParseException ignored) {
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Formats a lag for humans, e.g. "850 ms", "42 s" or "3 min 5 s".
+     */
+    public static String formatLag(long millis) {
+        if (millis < 1_000) {
+            return Math.max(0, millis) + " ms";
+        }
+        long seconds = millis / 1_000;
+        if (seconds < 60) {
+            return seconds + " s";
+        }
+        long minutes = seconds / 60;
+        return minutes < 60 ? minutes + " min " + seconds % 60 + " s" : minutes / 60 + " h " + minutes % 60 + " min";
+    }
+
+    private static Map<String, Object> snapshot(Map<String, Stages> stagesByKey) {
+        Map<String, Object> snapshot = new TreeMap<>();
+        stagesByKey.forEach((key, stages) -> snapshot.put(key, stages.snapshot()));
+        return snapshot;
+    }
+
+    private static final class Stages {
+        private final LatencyHistogram detection = new LatencyHistogram();
+        private final LatencyHistogram delivery = new LatencyHistogram();
+        private final LatencyHistogram total = new LatencyHistogram();
+
+        void record(long detectionMs, long deliveryMs, long totalMs) {
+            if (detectionMs >= 0) {
+                detection.record(detectionMs);
+            }
+            delivery.record(deliveryMs);
+            if (totalMs >= 0) {
+                total.record(totalMs);
+            }
+        }
+
+        Map<String, Object> snapshot() {
+            Map<String, Object> snapshot = new LinkedHashMap<>();
+            snapshot.put("detectionLag", detection.snapshot());
+            snapshot.put("deliveryLag", delivery.snapshot());
+            snapshot.put("totalLag", total.snapshot());
+            return snapshot;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ *
+ *  *
+ *  * Copyright 2025 HCL America, Inc.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *  * /
+ *
+ */
+
+package com.hcl.appscan.slackapp.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Java Flight Recorder event spanning one poll cycle of the scan completion poller, from its start until
+ * every owned application has been polled and its notifications sent.
+ */
+@Name("com.hcl.appscan.slackapp.PollCycle")
+@Label("Poll Cycle")
+@Category({"AppScan Slack Bot", "Poller"})
+@StackTrace(false)
+public class PollCycleEvent extends Event {
+    @Label("Tenants")
+    public int tenants;
+
+    @Label("Mapped Applications")
+    public int mappedApps;
+
+    @Label("Applications Checked")
+    public int appsChecked;
+
+    @Label("Applications Succeeded")
+    public int appsSucceeded;
+}
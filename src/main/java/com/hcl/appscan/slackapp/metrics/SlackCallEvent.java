@@ -0,0 +1,49 @@
+/*
+ *
+ *  *
+ *  * Copyright 2025 HCL America, Inc.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *  * /
+ *
+ */
+
+package com.hcl.appscan.slackapp.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Java Flight Recorder event for one Slack Web API call made for a notification, a report or a bulk
+ * summary. The duration is the latency of the call including Slack's own rate limit handling.
+ */
+@Name("com.hcl.appscan.slackapp.SlackCall")
+@Label("Slack API Call")
+@Category({"AppScan Slack Bot", "Slack"})
+@StackTrace(false)
+public class SlackCallEvent extends Event {
+    @Label("Method")
+    public String method;
+
+    @Label("Channel")
+    public String channel;
+
+    @Label("OK")
+    public boolean ok;
+
+    @Label("Error")
+    public String error;
+}
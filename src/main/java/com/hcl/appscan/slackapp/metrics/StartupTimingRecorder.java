@@ -0,0 +1,85 @@
+/*
+ *
+ *  *
+ *  * Copyright 2025 HCL America, Inc.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *  * /
+ *
+ */
+
+package com.hcl.appscan.slackapp.metrics;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Records how long it takes after JVM start until the bot is actually useful again:
+ * the Spring context is ready, socket mode is connected and the first poll cycle has succeeded.
+ * <p>
+ * Each milestone is logged once with a `startup-timing` prefix so rollouts can be compared
+ * (for example with and without the `fast-start` build profile) by grepping the logs.
+ * </p>
+ */
+@Component
+public class StartupTimingRecorder {
+    private static final Logger logger = LoggerFactory.getLogger(StartupTimingRecorder.class);
+    private final long jvmStartMillis = ManagementFactory.getRuntimeMXBean().getStartTime();
+    private final AtomicLong contextReadyMs = new AtomicLong(-1);
+    private final AtomicLong socketModeConnectedMs = new AtomicLong(-1);
+    private final AtomicLong firstSuccessfulPollMs = new AtomicLong(-1);
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        mark(contextReadyMs, "context ready");
+    }
+
+    public void markSocketModeConnected() {
+        mark(socketModeConnectedMs, "socket mode connected");
+    }
+
+    public void markFirstSuccessfulPoll() {
+        if (mark(firstSuccessfulPollMs, "first successful poll")) {
+            logger.info("startup-timing summary: contextReady={}ms socketModeConnected={}ms firstSuccessfulPoll={}ms",
+                    contextReadyMs.get(), socketModeConnectedMs.get(), firstSuccessfulPollMs.get());
+        }
+    }
+
+    public long getContextReadyMs() {
+        return contextReadyMs.get();
+    }
+
+    public long getSocketModeConnectedMs() {
+        return socketModeConnectedMs.get();
+    }
+
+    public long getFirstSuccessfulPollMs() {
+        return firstSuccessfulPollMs.get();
+    }
+
+    // Only the first occurrence of a milestone counts; returns true if this call recorded it
+    private boolean mark(AtomicLong milestone, String name) {
+        long elapsed = System.currentTimeMillis() - jvmStartMillis;
+        if (milestone.compareAndSet(-1, elapsed)) {
+            logger.info("startup-timing: {} after {} ms", name, elapsed);
+            return true;
+        }
+        return false;
+    }
+}
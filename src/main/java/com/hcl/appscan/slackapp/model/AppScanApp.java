@@ -22,8 +22,6 @@ package com.hcl.appscan.slackapp.model;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
-
-import java.util.Map;
 // This class represents the application details returned by the AppScan API.
 // It contains various properties related to the application, including risk ratings, issue counts, and metadata.
 @JsonIgnoreProperties(ignoreUnknown = true)
@@ -44,8 +42,6 @@ public class AppScanApp {
     private int mediumIssues;
     @JsonProperty("LowIssues")
     private int lowIssues;
-    @JsonProperty("LastScanExecution")
-    private Map<String, Object> lastScanExecution;
     @JsonProperty("BusinessImpact")
     private String businessImpact;
     @JsonProperty("CreatedBy")
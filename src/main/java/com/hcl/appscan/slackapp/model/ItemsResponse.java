@@ -0,0 +1,42 @@
+/*
+ *
+ *  *
+ *  * Copyright 2025 HCL America, Inc.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *  * /
+ *
+ */
+
+package com.hcl.appscan.slackapp.model;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+
+// Generic wrapper for AppScan list responses ({"Items": [...]}), used with the projected models
+@JsonIgnoreProperties(ignoreUnknown = true)
+public final class ItemsResponse<T> {
+    private final List<T> items;
+
+    @JsonCreator
+    public ItemsResponse(@JsonProperty("Items") List<T> items) {
+        this.items = items != null ? List.copyOf(items) : List.of();
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+}
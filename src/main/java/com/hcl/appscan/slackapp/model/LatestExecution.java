@@ -42,6 +42,8 @@ public class LatestExecution {
     private int nLowIssues;
     @JsonProperty("NInfoIssues")
     private int nInfoIssues;
+    @JsonProperty("ScanEndTime")
+    private String scanEndTime;
 
     public String getStatus() {
         return status;
@@ -70,4 +72,8 @@ public class LatestExecution {
     public int getNIssuesFound() {
         return nIssuesFound;
     }
+
+    public String getScanEndTime() {
+        return scanEndTime;
+    }
 }
@@ -0,0 +1,118 @@
+/*
+ *
+ *  *
+ *  * Copyright 2025 HCL America, Inc.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *  * /
+ *
+ */
+
+package com.hcl.appscan.slackapp.model;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+// Immutable view of an application for the portfolio overview: risk rating, open issue counts and
+// when it was last updated and scanned. Requested with $select on the portfolio fields and
+// $expand=LastScanExecution($select=ScanEndTime); the nested execution is flattened into this object.
+@JsonIgnoreProperties(ignoreUnknown = true)
+public final class PortfolioApp {
+    private final String id;
+    private final String name;
+    private final String riskRating;
+    private final int criticalIssues;
+    private final int highIssues;
+    private final int mediumIssues;
+    private final int lowIssues;
+    private final int totalIssues;
+    private final String lastUpdated;
+    private final String lastScanEndTime;
+
+    @JsonCreator
+    public PortfolioApp(@JsonProperty("Id") String id,
+                        @JsonProperty("Name") String name,
+                        @JsonProperty("RiskRating") String riskRating,
+                        @JsonProperty("CriticalIssues") int criticalIssues,
+                        @JsonProperty("HighIssues") int highIssues,
+                        @JsonProperty("MediumIssues") int mediumIssues,
+                        @JsonProperty("LowIssues") int lowIssues,
+                        @JsonProperty("TotalIssues") int totalIssues,
+                        @JsonProperty("LastUpdated") String lastUpdated,
+                        @JsonProperty("LastScanExecution") LastScan lastScanExecution) {
+        this.id = id != null ? id : "";
+        this.name = name != null ? name : "Unknown";
+        this.riskRating = riskRating != null && !riskRating.isBlank() ? riskRating : "Unknown";
+        this.criticalIssues = criticalIssues;
+        this.highIssues = highIssues;
+        this.mediumIssues = mediumIssues;
+        this.lowIssues = lowIssues;
+        this.totalIssues = totalIssues;
+        this.lastUpdated = lastUpdated;
+        this.lastScanEndTime = lastScanExecution != null ? lastScanExecution.scanEndTime : null;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getRiskRating() {
+        return riskRating;
+    }
+
+    public int getCriticalIssues() {
+        return criticalIssues;
+    }
+
+    public int getHighIssues() {
+        return highIssues;
+    }
+
+    public int getMediumIssues() {
+        return mediumIssues;
+    }
+
+    public int getLowIssues() {
+        return lowIssues;
+    }
+
+    public int getTotalIssues() {
+        return totalIssues;
+    }
+
+    public String getLastUpdated() {
+        return lastUpdated;
+    }
+
+    /**
+     * End time of the application's last scan, or null if it has never been scanned.
+     */
+    public String getLastScanEndTime() {
+        return lastScanEndTime;
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    static final class LastScan {
+        private final String scanEndTime;
+
+        @JsonCreator
+        LastScan(@JsonProperty("ScanEndTime") String scanEndTime) {
+            this.scanEndTime = scanEndTime;
+        }
+    }
+}
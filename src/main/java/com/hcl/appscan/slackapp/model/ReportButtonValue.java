@@ -0,0 +1,47 @@
+/*
+ *
+ *  *
+ *  * Copyright 2025 HCL America, Inc.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *  * /
+ *
+ */
+
+package com.hcl.appscan.slackapp.model;
+
+// What the Generate Report button carries back to the bot: the scan, its name for the report title, and
+// the tenant for scans of a non-default AppScan instance (null otherwise). Encoded by JsonCodec.
+public final class ReportButtonValue {
+    private final String scanId;
+    private final String scanName;
+    private final String tenant;
+
+    public ReportButtonValue(String scanId, String scanName, String tenant) {
+        this.scanId = scanId;
+        this.scanName = scanName;
+        this.tenant = tenant;
+    }
+
+    public String getScanId() {
+        return scanId;
+    }
+
+    public String getScanName() {
+        return scanName;
+    }
+
+    public String getTenant() {
+        return tenant;
+    }
+}
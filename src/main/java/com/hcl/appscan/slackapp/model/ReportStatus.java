@@ -0,0 +1,58 @@
+/*
+ *
+ *  *
+ *  * Copyright 2025 HCL America, Inc.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *  * /
+ *
+ */
+
+package com.hcl.appscan.slackapp.model;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+// A report job as returned when it is created and when its status is checked; the download link is
+// only set once the status is Ready.
+@JsonIgnoreProperties(ignoreUnknown = true)
+public final class ReportStatus {
+    private final String id;
+    private final String status;
+    private final String downloadLink;
+
+    @JsonCreator
+    public ReportStatus(@JsonProperty("Id") String id, @JsonProperty("Status") String status,
+                        @JsonProperty("DownloadLink") String downloadLink) {
+        this.id = id != null ? id : "";
+        this.status = status != null ? status : "";
+        this.downloadLink = downloadLink != null ? downloadLink : "";
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public String getDownloadLink() {
+        return downloadLink;
+    }
+
+    public boolean isReady() {
+        return "Ready".equalsIgnoreCase(status) && !downloadLink.isEmpty();
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ *
+ *  *
+ *  * Copyright 2025 HCL America, Inc.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *  * /
+ *
+ */
+
+package com.hcl.appscan.slackapp.model;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+// Minimal, immutable view of a scan used by the completion poller: ID, application and execution status.
+// Requested with $select=Id,AppName and $expand=LatestExecution($select=Status,ScanEndTime); the nested
+// execution is flattened into this object. With live progress messages enabled the expand also selects
+// Progress and the issue counts, which are null otherwise.
+@JsonIgnoreProperties(ignoreUnknown = true)
+public final class ScanStatus {
+    private final String id;
+    private final String appName;
+    private final String status;
+    private final String scanEndTime;
+    private final Integer progress;
+    private final int[] issueCounts;
+
+    @JsonCreator
+    public ScanStatus(@JsonProperty("Id") String id,
+                      @JsonProperty("AppName") String appName,
+                      @JsonProperty("LatestExecution") Execution latestExecution) {
+        this.id = id;
+        this.appName = appName;
+        this.status = latestExecution != null && latestExecution.status != null ? latestExecution.status : "Unknown";
+        this.scanEndTime = latestExecution != null ? latestExecution.scanEndTime : null;
+        this.progress = latestExecution != null ? latestExecution.progress : null;
+        this.issueCounts = latestExecution != null ? latestExecution.issueCounts : null;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getAppName() {
+        return appName;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public String getScanEndTime() {
+        return scanEndTime;
+    }
+
+    // Percent complete, or null if not requested or not reported
+    public Integer getProgress() {
+        return progress;
+    }
+
+    // Critical, high, medium and low issues found so far, or null if not requested
+    public int[] getIssueCounts() {
+        return issueCounts != null ? issueCounts.clone() : null;
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    static final class Execution {
+        private final String status;
+        private final String scanEndTime;
+        private final Integer progress;
+        private final int[] issueCounts;
+
+        @JsonCreator
+        Execution(@JsonProperty("Status") String status, @JsonProperty("ScanEndTime") String scanEndTime,
+                  @JsonProperty("Progress") Integer progress,
+                  @JsonProperty("NCriticalIssues") Integer critical, @JsonProperty("NHighIssues") Integer high,
+                  @JsonProperty("NMediumIssues") Integer medium, @JsonProperty("NLowIssues") Integer low) {
+            this.status = status;
+            this.scanEndTime = scanEndTime;
+            this.progress = progress;
+            this.issueCounts = critical == null && high == null && medium == null && low == null ? null
+                    : new int[]{orZero(critical), orZero(high), orZero(medium), orZero(low)};
+        }
+
+        private static int orZero(Integer value) {
+            return value != null ? value : 0;
+        }
+    }
+}
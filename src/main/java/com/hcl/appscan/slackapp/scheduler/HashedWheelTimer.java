@@ -0,0 +1,421 @@
+/*
+ *
+ *  *
+ *  * Copyright 2025 HCL America, Inc.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *  * /
+ *
+ */
+
+package com.hcl.appscan.slackapp.scheduler;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hashed timing wheel for large numbers of short-lived timers: staggered per-application polls,
+ * report status checks and notification retries.
+ * <p>
+ * Time is divided into ticks and the wheel has a power-of-two number of buckets, each a doubly linked
+ * list of timers. A timer due in {@code n} ticks goes into bucket {@code (now + n) mod size} with
+ * {@code n / size} remaining rounds. Scheduling and cancelling only append to a lock-free queue, so
+ * both are O(1) for the caller; the single tick thread moves new timers into their buckets, unlinks
+ * cancelled ones, and on each tick expires one bucket. Expired timers are handed to the executor in
+ * batches, so ten thousand timers due on the same tick cost a few hundred executor tasks rather than
+ * ten thousand, and the tick thread never runs user code.
+ * </p>
+ * <p>
+ * Timers fire up to one tick late, which is fine for delays measured in seconds. For a comparison
+ * with {@link java.util.concurrent.ScheduledThreadPoolExecutor} see
+ * {@code com.hcl.appscan.slackapp.benchmark.TimerBenchmark} in the benchmark sources.
+ * </p>
+ */
+public class HashedWheelTimer {
+    private static final Logger logger = LoggerFactory.getLogger(HashedWheelTimer.class);
+    // Bounds the work per tick when a burst of timers is scheduled at once
+    private static final int MAX_TRANSFERS_PER_TICK = 100_000;
+
+    private final long tickNanos;
+    private final Bucket[] wheel;
+    private final int mask;
+    private final Executor executor;
+    private final int dispatchBatchSize;
+    private final Queue<WheelTimeout> additions = new ConcurrentLinkedQueue<>();
+    private final Queue<WheelTimeout> cancellations = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final AtomicLong expired = new AtomicLong();
+    private final AtomicLong cancelled = new AtomicLong();
+    private final AtomicLong dispatchBatches = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final long startTime = System.nanoTime();
+    private final Thread worker;
+    private volatile boolean stopped;
+    private volatile long maxLatenessNanos;
+    // Only touched by the tick thread
+    private long tick;
+
+    public HashedWheelTimer(Executor executor, long tickDuration, TimeUnit unit, int wheelSize, int dispatchBatchSize) {
+        if (tickDuration <= 0 || wheelSize <= 0 || dispatchBatchSize <= 0) {
+            throw new IllegalArgumentException("Tick duration, wheel size and batch size must be positive");
+        }
+        this.executor = executor;
+        this.tickNanos = unit.toNanos(tickDuration);
+        int size = Integer.highestOneBit(wheelSize - 1) << 1;
+        this.wheel = new Bucket[Math.max(1, size)];
+        for (int i = 0; i < wheel.length; i++) {
+            wheel[i] = new Bucket();
+        }
+        this.mask = wheel.length - 1;
+        this.dispatchBatchSize = dispatchBatchSize;
+        this.worker = new Thread(this::run, "wheel-timer");
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    /**
+     * Runs the task on the executor after the delay. The task must not block for long, since it
+     * shares its executor task with the rest of its batch.
+     */
+    public Timeout newTimeout(Runnable task, long delay, TimeUnit unit) {
+        return schedule(task, null, delay, unit);
+    }
+
+    /**
+     * Returns a future completed on the executor after the delay. Cancelling the future cancels the
+     * timer. If the timer is stopped first, the future completes with a {@link CancellationException}.
+     */
+    public CompletableFuture<Void> delay(long delay, TimeUnit unit) {
+        TimerFuture future = new TimerFuture();
+        future.timeout = schedule(null, future, delay, unit);
+        return future;
+    }
+
+    private Timeout schedule(Runnable task, CompletableFuture<Void> future, long delay, TimeUnit unit) {
+        if (stopped) {
+            throw new RejectedExecutionException("Timer is stopped");
+        }
+        long deadline = System.nanoTime() - startTime + Math.max(0, unit.toNanos(delay));
+        WheelTimeout timeout = new WheelTimeout(task, future, deadline);
+        pending.incrementAndGet();
+        additions.add(timeout);
+        return timeout;
+    }
+
+    /**
+     * Number of timers that have neither fired nor been cancelled.
+     */
+    public int getPendingCount() {
+        return pending.get();
+    }
+
+    /**
+     * Stops the tick thread. Timers that have not fired are cancelled, and futures from
+     * {@link #delay(long, TimeUnit)} complete with a {@link CancellationException}, so work waiting
+     * on them can clean up. Returns the number of cancelled timers.
+     */
+    public int stop() {
+        if (stopped) {
+            return 0;
+        }
+        stopped = true;
+        worker.interrupt();
+        try {
+            worker.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        List<WheelTimeout> unprocessed = new ArrayList<>();
+        for (Bucket bucket : wheel) {
+            bucket.drainTo(unprocessed);
+        }
+        for (WheelTimeout timeout = additions.poll(); timeout != null; timeout = additions.poll()) {
+            unprocessed.add(timeout);
+        }
+        int count = 0;
+        for (WheelTimeout timeout : unprocessed) {
+            if (timeout.state.compareAndSet(WheelTimeout.INIT, WheelTimeout.CANCELLED)) {
+                pending.decrementAndGet();
+                count++;
+                if (timeout.future != null) {
+                    timeout.future.completeExceptionally(new CancellationException("Timer stopped"));
+                }
+            }
+        }
+        return count;
+    }
+
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("pending", pending.get());
+        metrics.put("expired", expired.get());
+        metrics.put("cancelled", cancelled.get());
+        metrics.put("dispatchBatches", dispatchBatches.get());
+        metrics.put("rejected", rejected.get());
+        metrics.put("tickMs", TimeUnit.NANOSECONDS.toMillis(tickNanos));
+        metrics.put("wheelSize", wheel.length);
+        metrics.put("maxLatenessMs", TimeUnit.NANOSECONDS.toMillis(maxLatenessNanos));
+        return metrics;
+    }
+
+    private void run() {
+        List<WheelTimeout> due = new ArrayList<>();
+        while (!stopped) {
+            long tickDeadline = tickNanos * (tick + 1);
+            if (!sleepUntil(tickDeadline)) {
+                break;
+            }
+            processCancellations();
+            transferAdditions();
+            wheel[(int) (tick & mask)].expire(tickDeadline, due);
+            if (!due.isEmpty()) {
+                dispatch(due);
+                due = new ArrayList<>();
+            }
+            tick++;
+        }
+    }
+
+    // Returns false if the timer was stopped while sleeping
+    private boolean sleepUntil(long tickDeadline) {
+        while (true) {
+            long sleepNanos = tickDeadline - (System.nanoTime() - startTime);
+            if (sleepNanos <= 0) {
+                return true;
+            }
+            try {
+                TimeUnit.NANOSECONDS.sleep(sleepNanos);
+            } catch (InterruptedException e) {
+                if (stopped) {
+                    return false;
+                }
+            }
+        }
+    }
+
+    private void processCancellations() {
+        for (WheelTimeout timeout = cancellations.poll(); timeout != null; timeout = cancellations.poll()) {
+            if (timeout.bucket != null) {
+                timeout.bucket.remove(timeout);
+            }
+        }
+    }
+
+    private void transferAdditions() {
+        for (int i = 0; i < MAX_TRANSFERS_PER_TICK; i++) {
+            WheelTimeout timeout = additions.poll();
+            if (timeout == null) {
+                return;
+            }
+            if (timeout.state.get() != WheelTimeout.INIT) {
+                continue;
+            }
+            long dueTick = timeout.deadline / tickNanos;
+            timeout.remainingRounds = (dueTick - tick) / wheel.length;
+            // Timers already overdue go into the current bucket
+            long ticks = Math.max(dueTick, tick);
+            wheel[(int) (ticks & mask)].add(timeout);
+        }
+    }
+
+    private void dispatch(List<WheelTimeout> due) {
+        long now = System.nanoTime() - startTime;
+        long lateness = now - due.get(0).deadline;
+        if (lateness > maxLatenessNanos) {
+            maxLatenessNanos = lateness;
+        }
+        for (int from = 0; from < due.size(); from += dispatchBatchSize) {
+            List<WheelTimeout> batch = due.subList(from, Math.min(due.size(), from + dispatchBatchSize));
+            dispatchBatches.incrementAndGet();
+            try {
+                executor.execute(() -> batch.forEach(WheelTimeout::fire));
+            } catch (RejectedExecutionException e) {
+                rejected.addAndGet(batch.size());
+                logger.warn("Executor rejected {} expired timers", batch.size());
+                batch.forEach(timeout -> {
+                    if (timeout.future != null) {
+                        timeout.future.completeExceptionally(e);
+                    }
+                });
+            }
+        }
+    }
+
+    /**
+     * Handle for a scheduled timer.
+     */
+    public interface Timeout {
+        /**
+         * Cancels the timer. Returns false if it has already fired or been cancelled.
+         */
+        boolean cancel();
+
+        boolean isCancelled();
+
+        boolean isExpired();
+    }
+
+    private final class WheelTimeout implements Timeout {
+        static final int INIT = 0;
+        static final int CANCELLED = 1;
+        static final int EXPIRED = 2;
+
+        private final Runnable task;
+        private final CompletableFuture<Void> future;
+        private final long deadline;
+        private final AtomicInteger state = new AtomicInteger(INIT);
+        // Bucket bookkeeping, only touched by the tick thread
+        private long remainingRounds;
+        private Bucket bucket;
+        private WheelTimeout next;
+        private WheelTimeout prev;
+
+        WheelTimeout(Runnable task, CompletableFuture<Void> future, long deadline) {
+            this.task = task;
+            this.future = future;
+            this.deadline = deadline;
+        }
+
+        @Override
+        public boolean cancel() {
+            if (!state.compareAndSet(INIT, CANCELLED)) {
+                return false;
+            }
+            pending.decrementAndGet();
+            cancelled.incrementAndGet();
+            cancellations.add(this);
+            return true;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return state.get() == CANCELLED;
+        }
+
+        @Override
+        public boolean isExpired() {
+            return state.get() == EXPIRED;
+        }
+
+        boolean expire() {
+            if (!state.compareAndSet(INIT, EXPIRED)) {
+                return false;
+            }
+            pending.decrementAndGet();
+            expired.incrementAndGet();
+            return true;
+        }
+
+        void fire() {
+            try {
+                if (future != null) {
+                    future.complete(null);
+                } else {
+                    task.run();
+                }
+            } catch (Throwable t) {
+                logger.error("Timer task failed", t);
+            }
+        }
+    }
+
+    /**
+     * Doubly linked list of timers, so a cancelled timer is unlinked in O(1).
+     */
+    private static final class Bucket {
+        private WheelTimeout head;
+        private WheelTimeout tail;
+
+        void add(WheelTimeout timeout) {
+            timeout.bucket = this;
+            if (head == null) {
+                head = tail = timeout;
+            } else {
+                tail.next = timeout;
+                timeout.prev = tail;
+                tail = timeout;
+            }
+        }
+
+        void expire(long tickDeadline, List<WheelTimeout> due) {
+            WheelTimeout timeout = head;
+            while (timeout != null) {
+                WheelTimeout next = timeout.next;
+                if (timeout.remainingRounds <= 0 && timeout.deadline <= tickDeadline) {
+                    remove(timeout);
+                    if (timeout.expire()) {
+                        due.add(timeout);
+                    }
+                } else if (timeout.isCancelled()) {
+                    remove(timeout);
+                } else {
+                    timeout.remainingRounds--;
+                }
+                timeout = next;
+            }
+        }
+
+        void remove(WheelTimeout timeout) {
+            if (timeout.bucket != this) {
+                return;
+            }
+            if (timeout.prev != null) {
+                timeout.prev.next = timeout.next;
+            } else {
+                head = timeout.next;
+            }
+            if (timeout.next != null) {
+                timeout.next.prev = timeout.prev;
+            } else {
+                tail = timeout.prev;
+            }
+            timeout.prev = null;
+            timeout.next = null;
+            timeout.bucket = null;
+        }
+
+        void drainTo(List<WheelTimeout> into) {
+            for (WheelTimeout timeout = head; timeout != null; timeout = timeout.next) {
+                into.add(timeout);
+            }
+            head = tail = null;
+        }
+    }
+
+    private static final class TimerFuture extends CompletableFuture<Void> {
+        private volatile Timeout timeout;
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            Timeout t = timeout;
+            if (t != null) {
+                t.cancel();
+            }
+            return super.cancel(mayInterruptIfRunning);
+        }
+    }
+}
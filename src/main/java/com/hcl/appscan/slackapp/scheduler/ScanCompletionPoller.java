@@ -20,26 +20,39 @@
 
 package com.hcl.appscan.slackapp.scheduler;
 
-import com.hcl.appscan.slackapp.config.ChannelAppMappingConfig;
+import com.hcl.appscan.slackapp.cluster.ClusterService;
+import com.hcl.appscan.slackapp.metrics.NotificationLatencyRecorder;
+import com.hcl.appscan.slackapp.metrics.PollCycleEvent;
+import com.hcl.appscan.slackapp.metrics.StartupTimingRecorder;
 import com.hcl.appscan.slackapp.model.FullScanDetails;
-import com.hcl.appscan.slackapp.model.LatestExecution;
-import com.hcl.appscan.slackapp.service.AppScanService;
+import com.hcl.appscan.slackapp.model.ScanStatus;
+import com.hcl.appscan.slackapp.service.AppScanRateGovernor;
 import com.hcl.appscan.slackapp.service.NotificationService;
+import com.hcl.appscan.slackapp.service.ScanHistoryService;
+import com.hcl.appscan.slackapp.service.ScanProgressService;
+import com.hcl.appscan.slackapp.tenant.AppScanTenant;
+import com.hcl.appscan.slackapp.tenant.TenantRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 /**
  * Scheduled component that polls AppScan for completed scans of monitored applications.
  * <p>
- * Periodically checks the status of the latest scan for each configured application.
+ * Periodically checks the status of the latest scan for each configured application of every
+ * AppScan tenant. Applications matched by pattern mappings are found by resolving the patterns
+ * against the tenant's application index.
  * If a scan is found to be complete ("Ready" status) and has not been notified yet,
  * sends a notification using the {@link NotificationService}.
  * </p>
@@ -47,56 +60,257 @@ import java.util.concurrent.ConcurrentHashMap;
  * Uses a concurrent map to track the last notified scan ID for each application,
  * ensuring notifications are only sent once per completed scan.
  * </p>
+ * <p>
+ * When several replicas run, each polls only the applications it owns according to the
+ * {@link ClusterService}, and claims an idempotency key per scan before notifying so a scan seen by
+ * two replicas during a rebalance is notified once.
+ * </p>
+ * <p>
+ * With `appscan.poller.spread.ms` set, the applications of a cycle are not polled all at once but
+ * spread evenly over that window using one {@link HashedWheelTimer} timeout per application, which
+ * smooths the load on the AppScan API for large portfolios.
+ * </p>
+ * <p>
+ * Scans that are still running are reported to the {@link ScanProgressService}, which keeps live
+ * progress messages up to date when enabled.
+ * </p>
  */
 
 @Component
 public class ScanCompletionPoller {
     private static final Logger logger = LoggerFactory.getLogger(ScanCompletionPoller.class);
-    private final AppScanService appScanService;
+    private final TenantRegistry tenantRegistry;
     private final NotificationService notificationService;
-    private final ChannelAppMappingConfig channelAppMappingConfig;
+    private final ScanHistoryService scanHistoryService;
+    private final StartupTimingRecorder startupTimingRecorder;
+    private final ClusterService clusterService;
+    private final HashedWheelTimer wheelTimer;
+    private final ScanProgressService scanProgress;
+    // Keyed by tenant-qualified application name, see AppScanTenant.qualify. Rebuilt from the scan history after a restart
     private final Map<String, String> lastNotifiedScanIds = new ConcurrentHashMap<>();
+    private final Map<String, String> appIds = new ConcurrentHashMap<>();
+    private volatile Instant lastSuccessfulCycleEnd;
+    private volatile long lastCycleDurationMs = -1;
+    // Tenants with at least one application polled by this replica in the latest cycle
+    private volatile Set<String> polledTenantIds = Set.of();
+    private final Set<CompletableFuture<Void>> inFlightCycles = ConcurrentHashMap.newKeySet();
+    // Staggered polls of the current cycle that have not started yet
+    private final Set<CompletableFuture<Void>> pendingPolls = ConcurrentHashMap.newKeySet();
+    private volatile boolean stopped;
+    @Value("${appscan.poller.spread.ms:0}")
+    private long spreadMs;
 
-    public ScanCompletionPoller(AppScanService appScanService, NotificationService notificationService, ChannelAppMappingConfig channelAppMappingConfig) {
-        this.appScanService = appScanService;
+    public ScanCompletionPoller(TenantRegistry tenantRegistry, NotificationService notificationService, ScanHistoryService scanHistoryService,
+                                StartupTimingRecorder startupTimingRecorder, ClusterService clusterService, HashedWheelTimer wheelTimer,
+                                ScanProgressService scanProgress) {
+        this.tenantRegistry = tenantRegistry;
         this.notificationService = notificationService;
-        this.channelAppMappingConfig = channelAppMappingConfig;
+        this.scanHistoryService = scanHistoryService;
+        this.startupTimingRecorder = startupTimingRecorder;
+        this.clusterService = clusterService;
+        this.wheelTimer = wheelTimer;
+        this.scanProgress = scanProgress;
     }
 
     @Scheduled(fixedRateString = "${appscan.poller.rate.ms}")
     public void checkForCompletedScans() {
+        runPollCycle();
+    }
+
+    /**
+     * Polls every monitored application once. The returned future completes when all applications
+     * have been polled and their notifications sent. If a cycle is already running no new one is
+     * started, and the returned future completes when the running cycle does.
+     */
+    public CompletableFuture<Void> runPollCycle() {
+        if (stopped) {
+            logger.info("Poller is stopped. Skipping poll cycle.");
+            return CompletableFuture.completedFuture(null);
+        }
+        if (!inFlightCycles.isEmpty()) {
+            // With a rate-limited API a large portfolio can take longer than the poll interval
+            logger.warn("Previous poll cycle is still running. Skipping this poll cycle.");
+            return CompletableFuture.allOf(inFlightCycles.toArray(new CompletableFuture[0]));
+        }
         logger.info("Polling for completed scans for monitored applications...");
-        Set<String> monitoredApps = channelAppMappingConfig.getAllAppNames();
-        if (monitoredApps.isEmpty()) {
+        PollCycleEvent event = new PollCycleEvent();
+        event.begin();
+        int mappedCount = 0;
+        long cycleStart = System.currentTimeMillis();
+        List<AppScanTenant> ownedTenants = new ArrayList<>();
+        List<String> ownedApps = new ArrayList<>();
+        for (AppScanTenant tenant : tenantRegistry.getAll()) {
+            // Pattern mappings such as "payments-*" are expanded against the application index
+            Set<String> mappedApps = tenant.getChannelMappings().resolveAppNames(tenant.getAppIndex().getAllNames());
+            if (tenant.getChannelMappings().hasPatternMappings() && tenant.getAppIndex().isEmpty()) {
+                logger.info("Application index of tenant {} is not loaded yet. Only exactly mapped applications are polled this cycle.", tenant.getId());
+            }
+            mappedCount += mappedApps.size();
+            for (String appName : mappedApps) {
+                if (clusterService.owns(tenant.qualify(appName))) {
+                    ownedTenants.add(tenant);
+                    ownedApps.add(appName);
+                }
+            }
+        }
+        polledTenantIds = ownedTenants.stream().map(AppScanTenant::getId).collect(Collectors.toUnmodifiableSet());
+        if (mappedCount == 0) {
             logger.warn("No applications configured for monitoring. Skipping poll cycle.");
-            return;
+            // Nothing to poll is not a failure, so readiness must not degrade because of it
+            lastSuccessfulCycleEnd = Instant.now();
+            return CompletableFuture.completedFuture(null);
+        }
+        if (ownedApps.size() < mappedCount) {
+            logger.info("Node {} owns {} of {} monitored applications.", clusterService.getNodeId(), ownedApps.size(), mappedCount);
+        }
+        int mappedTotal = mappedCount;
+        List<CompletableFuture<Boolean>> polls = new ArrayList<>(ownedApps.size());
+        for (int i = 0; i < ownedApps.size(); i++) {
+            long offsetMs = spreadMs > 0 ? spreadMs * i / ownedApps.size() : 0;
+            polls.add(schedulePoll(ownedTenants.get(i), ownedApps.get(i), offsetMs));
+        }
+        CompletableFuture<Void> cycle = CompletableFuture.allOf(polls.toArray(new CompletableFuture[0])).thenRun(() -> {
+            long succeeded = polls.stream().filter(CompletableFuture::join).count();
+            long duration = System.currentTimeMillis() - cycleStart;
+            logger.info("Poll cycle finished in {} ms: {} of {} applications polled successfully.", duration, succeeded, polls.size());
+            lastCycleDurationMs = duration;
+            event.tenants = tenantRegistry.getAll().size();
+            event.mappedApps = mappedTotal;
+            event.appsChecked = polls.size();
+            event.appsSucceeded = (int) succeeded;
+            event.commit();
+            // A cycle counts as successful if AppScan answered for at least one application, or if this
+            // replica owns none of the mapped applications (more replicas than applications, or after a rebalance)
+            if (succeeded > 0) {
+                lastSuccessfulCycleEnd = Instant.now();
+                startupTimingRecorder.markFirstSuccessfulPoll();
+            } else if (polls.isEmpty()) {
+                lastSuccessfulCycleEnd = Instant.now();
+            }
+        });
+        inFlightCycles.add(cycle);
+        cycle.whenComplete((ignored, ex) -> inFlightCycles.remove(cycle));
+        return cycle;
+    }
+
+    /**
+     * Stops starting new poll cycles. The returned future completes when the cycles already
+     * running, including their notifications, have finished.
+     */
+    public CompletableFuture<Void> stop() {
+        stopped = true;
+        // Polls still waiting for their slot in the spread window are dropped
+        pendingPolls.forEach(pending -> pending.cancel(false));
+        return CompletableFuture.allOf(inFlightCycles.toArray(new CompletableFuture[0]));
+    }
+
+    public Instant getLastSuccessfulCycleEnd() {
+        return lastSuccessfulCycleEnd;
+    }
+
+    public long getLastCycleDurationMs() {
+        return lastCycleDurationMs;
+    }
+
+    /**
+     * IDs of the tenants this replica polled applications of in the latest cycle.
+     */
+    public Set<String> getPolledTenantIds() {
+        return polledTenantIds;
+    }
+
+    private CompletableFuture<Boolean> schedulePoll(AppScanTenant tenant, String appName, long offsetMs) {
+        if (offsetMs <= 0) {
+            return pollApplication(tenant, appName);
         }
-        monitoredApps.forEach(appName -> {
-            appScanService.getApplicationDetailsByName(appName)
-                    .thenCompose(appDetails -> appScanService.getLatestScanForApp(appDetails.getId()))
-                    .thenAccept(latestScanOpt -> {
-                        if (latestScanOpt.isPresent()) {
-                            FullScanDetails latestScan = latestScanOpt.get();
-                            String currentScanId = latestScan.getId();
-                            String lastNotifiedScanId = lastNotifiedScanIds.get(appName);
-                            if (currentScanId != null && !currentScanId.equals(lastNotifiedScanId)) {
-                                String status = Optional.ofNullable(latestScan.getLatestExecution()).map(LatestExecution::getStatus).orElse("Unknown");
-                                logger.info("Found latest scan {} for application {}. Status: {}", currentScanId, appName, status);
-                                if ("Ready".equalsIgnoreCase(status)) {
-                                    logger.info("Scan {} is complete. Sending notification.", currentScanId);
-                                    notificationService.sendScanCompletionNotification(latestScan);
-                                    lastNotifiedScanIds.put(appName, currentScanId);
-                                } else {
-                                    logger.info("Scan {} is not 'Ready' yet. Will check again on the next poll cycle.", currentScanId);
-                                }
+        CompletableFuture<Void> delay = wheelTimer.delay(offsetMs, TimeUnit.MILLISECONDS);
+        pendingPolls.add(delay);
+        return delay
+                .whenComplete((ignored, ex) -> pendingPolls.remove(delay))
+                .thenCompose(ignored -> stopped ? CompletableFuture.completedFuture(false) : pollApplication(tenant, appName))
+                .exceptionally(ex -> false);
+    }
+
+    // Completes with true if the application was polled successfully, false if any step failed
+    private CompletableFuture<Boolean> pollApplication(AppScanTenant tenant, String appName) {
+        String key = tenant.qualify(appName);
+        return resolveAppId(tenant, appName)
+                .thenCompose(appId -> tenant.getAppScanService().getLatestScanStatus(appId, AppScanRateGovernor.Priority.BACKGROUND, scanProgress.isEnabled()))
+                .thenCompose(latestScanOpt -> {
+                    if (latestScanOpt.isPresent()) {
+                        ScanStatus latestScan = latestScanOpt.get();
+                        String currentScanId = latestScan.getId();
+                        String lastNotifiedScanId = lastNotifiedScanIds.get(key);
+                        if (lastNotifiedScanId == null && currentScanId != null && scanHistoryService.isLatest(key, currentScanId)) {
+                            // Notified before a restart; the history snapshot remembers it after the claim has been purged
+                            lastNotifiedScanId = currentScanId;
+                            lastNotifiedScanIds.put(key, currentScanId);
+                        }
+                        if (currentScanId != null && !currentScanId.equals(lastNotifiedScanId)) {
+                            String status = latestScan.getStatus();
+                            logger.info("Found latest scan {} for application {}. Status: {}", currentScanId, key, status);
+                            scanProgress.onScanStatus(tenant, appName, latestScan);
+                            if ("Ready".equalsIgnoreCase(status)) {
+                                Instant detectedAt = Instant.now();
+                                Instant scanEnd = NotificationLatencyRecorder.parseTimestamp(latestScan.getScanEndTime());
+                                logger.info("Scan {} is complete. Sending notification. (scanEndTime={} detectionLagMs={})", currentScanId,
+                                        scanEnd, scanEnd != null ? detectedAt.toEpochMilli() - scanEnd.toEpochMilli() : "n/a");
+                                lastNotifiedScanIds.put(key, currentScanId);
+                                return notifyCompletedScan(tenant, appName, currentScanId, detectedAt);
+                            } else {
+                                logger.info("Scan {} is not 'Ready' yet. Will check again on the next poll cycle.", currentScanId);
                             }
-                        } else {
-                            logger.info("No scans found for application {}", appName);
                         }
-                    }).exceptionally(ex -> {
-                        logger.error("Failed to poll application: " + appName, ex);
-                        return null;
-                    });
+                    } else {
+                        logger.info("No scans found for application {}", key);
+                    }
+                    return CompletableFuture.<Void>completedFuture(null);
+                })
+                .thenApply(ignored -> true)
+                .exceptionally(ex -> {
+                    // The application may have been deleted and recreated under the same name
+                    appIds.remove(key);
+                    logger.error("Failed to poll application: " + key, ex);
+                    return false;
+                });
+    }
+
+    // Application IDs never change, so the name lookup is only needed once per application
+    private CompletableFuture<String> resolveAppId(AppScanTenant tenant, String appName) {
+        String key = tenant.qualify(appName);
+        String appId = appIds.get(key);
+        if (appId != null) {
+            return CompletableFuture.completedFuture(appId);
+        }
+        return tenant.getAppScanService().getApplicationRef(appName, AppScanRateGovernor.Priority.BACKGROUND).thenApply(app -> {
+            appIds.put(key, app.getId());
+            return app.getId();
         });
     }
-}
\ No newline at end of file
+
+    // Polling only fetches the scan status; the full details for the message are fetched once the scan is ready
+    private CompletableFuture<Void> notifyCompletedScan(AppScanTenant tenant, String appName, String scanId, Instant detectedAt) {
+        String key = tenant.qualify(appName);
+        if (!clusterService.claimNotification(scanId)) {
+            logger.info("Scan {} of application {} was already notified by another replica.", scanId, key);
+            return CompletableFuture.completedFuture(null);
+        }
+        return tenant.getAppScanService().getScanSummaryById(scanId, AppScanRateGovernor.Priority.BACKGROUND)
+                .whenComplete((details, ex) -> {
+                    if (ex != null || details.isEmpty()) {
+                        // Try again on the next poll cycle, on whichever node owns the application by then
+                        lastNotifiedScanIds.remove(key, scanId);
+                        clusterService.releaseNotification(scanId);
+                    }
+                })
+                .thenCompose(details -> {
+                    if (details.isEmpty()) {
+                        logger.warn("Scan {} of application {} disappeared before its details could be fetched.", scanId, key);
+                        return CompletableFuture.<Void>completedFuture(null);
+                    }
+                    FullScanDetails scan = details.get();
+                    scanHistoryService.record(key, scanId, scan.getLatestExecution());
+                    return notificationService.sendScanCompletionNotification(tenant, scan, detectedAt);
+                });
+    }
+}
@@ -0,0 +1,283 @@
+/*
+ *
+ *  *
+ *  * Copyright 2025 HCL America, Inc.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *  * /
+ *
+ */
+
+package com.hcl.appscan.slackapp.service;
+
+import com.hcl.appscan.slackapp.model.AppRef;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * In-memory index of all AppScan application names, refreshed in the background from `/Apps` paging.
+ * <p>
+ * Serves prefix and fuzzy lookups for the Slack app picker and "did you mean" suggestions without
+ * calling AppScan. Prefix matches use binary search over a sorted array of lower-cased names; fuzzy
+ * matches rank names by trigram overlap (Dice coefficient) using an inverted index from trigram to
+ * name positions. The whole index is rebuilt off to the side and swapped in with a single volatile
+ * write, so lookups never block. At 50k applications the index takes a few tens of megabytes.
+ * </p>
+ */
+@Component
+public class AppIndexService {
+    private static final Logger logger = LoggerFactory.getLogger(AppIndexService.class);
+    private static final double MIN_FUZZY_SCORE = 0.3;
+
+    private final AppScanService appScanService;
+    private final int pageSize;
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+    private volatile Index index = Index.build(List.of());
+
+    public AppIndexService(AppScanService appScanService, @Value("${appscan.app.index.page.size:500}") int pageSize) {
+        this.appScanService = appScanService;
+        this.pageSize = pageSize;
+    }
+
+    @Scheduled(fixedDelayString = "${appscan.app.index.refresh.ms:600000}")
+    public void refresh() {
+        if (!refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        loadPages(0, new ArrayList<>())
+                .thenAccept(names -> {
+                    index = Index.build(names);
+                    logger.info("Application index refreshed with {} applications in {} ms", names.size(), System.currentTimeMillis() - start);
+                })
+                .exceptionally(ex -> {
+                    logger.error("Failed to refresh application index. Keeping the previous index of {} applications.", index.size(), ex);
+                    return null;
+                })
+                .whenComplete((ignored, ex) -> refreshing.set(false));
+    }
+
+    // Pages through /Apps without blocking the scheduler thread
+    private CompletableFuture<List<String>> loadPages(int skip, List<String> names) {
+        return appScanService.getApplicationsPage(skip, pageSize).thenCompose(page -> {
+            for (AppRef app : page) {
+                names.add(app.getName());
+            }
+            if (page.size() < pageSize) {
+                return CompletableFuture.completedFuture(names);
+            }
+            return loadPages(skip + page.size(), names);
+        });
+    }
+
+    public int size() {
+        return index.size();
+    }
+
+    public boolean isEmpty() {
+        return index.size() == 0;
+    }
+
+    /**
+     * All application names in alphabetical order. The same list instance is returned until the index
+     * is next rebuilt, so callers can cache work derived from it by identity.
+     */
+    public List<String> getAllNames() {
+        return index.nameList;
+    }
+
+    /**
+     * Returns the canonical application name if the query matches one ignoring case.
+     */
+    public Optional<String> findExact(String query) {
+        return Optional.ofNullable(index.exact(normalize(query)));
+    }
+
+    /**
+     * Names starting with the query (ignoring case), in alphabetical order.
+     */
+    public List<String> prefixMatches(String query, int limit) {
+        return index.prefix(normalize(query), limit);
+    }
+
+    /**
+     * Names similar to the query, best match first.
+     */
+    public List<String> fuzzyMatches(String query, int limit) {
+        return index.fuzzy(normalize(query), limit);
+    }
+
+    /**
+     * Prefix matches first, then fuzzy matches, used for autocomplete and "did you mean" suggestions.
+     */
+    public List<String> suggest(String query, int limit) {
+        Set<String> results = new LinkedHashSet<>(prefixMatches(query, limit));
+        if (results.size() < limit) {
+            results.addAll(fuzzyMatches(query, limit));
+        }
+        return new ArrayList<>(results).subList(0, Math.min(limit, results.size()));
+    }
+
+    private static String normalize(String query) {
+        return query == null ? "" : query.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Immutable snapshot of the index. Positions refer to the sorted name arrays.
+     */
+    private static final class Index {
+        private final String[] names;
+        private final List<String> nameList;
+        private final String[] lowerNames;
+        private final int[] trigramCounts;
+        private final Map<Long, int[]> postings;
+
+        private Index(String[] names, String[] lowerNames, int[] trigramCounts, Map<Long, int[]> postings) {
+            this.names = names;
+            this.nameList = List.of(names);
+            this.lowerNames = lowerNames;
+            this.trigramCounts = trigramCounts;
+            this.postings = postings;
+        }
+
+        static Index build(List<String> source) {
+            String[] names = source.stream().distinct()
+                    .sorted(Comparator.comparing((String name) -> name.toLowerCase(Locale.ROOT)))
+                    .toArray(String[]::new);
+            String[] lowerNames = new String[names.length];
+            int[] trigramCounts = new int[names.length];
+            Map<Long, int[]> builder = new HashMap<>();
+            Map<Long, Integer> sizes = new HashMap<>();
+            for (int i = 0; i < names.length; i++) {
+                lowerNames[i] = names[i].toLowerCase(Locale.ROOT);
+                long[] grams = trigrams(lowerNames[i]);
+                trigramCounts[i] = grams.length;
+                for (long gram : grams) {
+                    int[] list = builder.get(gram);
+                    int size = sizes.getOrDefault(gram, 0);
+                    if (list == null) {
+                        list = new int[4];
+                    } else if (size == list.length) {
+                        list = Arrays.copyOf(list, size * 2);
+                    }
+                    list[size] = i;
+                    builder.put(gram, list);
+                    sizes.put(gram, size + 1);
+                }
+            }
+            Map<Long, int[]> postings = new HashMap<>(builder.size() * 2);
+            builder.forEach((gram, list) -> postings.put(gram, Arrays.copyOf(list, sizes.get(gram))));
+            return new Index(names, lowerNames, trigramCounts, postings);
+        }
+
+        int size() {
+            return names.length;
+        }
+
+        String exact(String query) {
+            int pos = lowerBound(query);
+            return pos < lowerNames.length && lowerNames[pos].equals(query) ? names[pos] : null;
+        }
+
+        List<String> prefix(String query, int limit) {
+            if (query.isEmpty()) {
+                return Arrays.asList(names).subList(0, Math.min(limit, names.length));
+            }
+            List<String> results = new ArrayList<>();
+            for (int i = lowerBound(query); i < lowerNames.length && results.size() < limit && lowerNames[i].startsWith(query); i++) {
+                results.add(names[i]);
+            }
+            return results;
+        }
+
+        List<String> fuzzy(String query, int limit) {
+            long[] queryGrams = trigrams(query);
+            if (queryGrams.length == 0 || names.length == 0) {
+                return Collections.emptyList();
+            }
+            int[] overlap = new int[names.length];
+            int[] touched = new int[names.length];
+            int touchedCount = 0;
+            for (long gram : queryGrams) {
+                int[] list = postings.get(gram);
+                if (list == null) {
+                    continue;
+                }
+                for (int pos : list) {
+                    if (overlap[pos]++ == 0) {
+                        touched[touchedCount++] = pos;
+                    }
+                }
+            }
+            // Rank candidates by Dice coefficient over their trigram sets
+            List<double[]> scored = new ArrayList<>();
+            for (int i = 0; i < touchedCount; i++) {
+                int pos = touched[i];
+                double score = 2.0 * overlap[pos] / (queryGrams.length + trigramCounts[pos]);
+                if (score >= MIN_FUZZY_SCORE) {
+                    scored.add(new double[]{score, pos});
+                }
+            }
+            scored.sort((a, b) -> Double.compare(b[0], a[0]));
+            List<String> results = new ArrayList<>();
+            for (int i = 0; i < scored.size() && results.size() < limit; i++) {
+                results.add(names[(int) scored.get(i)[1]]);
+            }
+            return results;
+        }
+
+        private int lowerBound(String query) {
+            int low = 0;
+            int high = lowerNames.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (lowerNames[mid].compareTo(query) < 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        // Distinct trigrams of the padded string, each packed into a long (three 16-bit chars)
+        private static long[] trigrams(String value) {
+            if (value.isEmpty()) {
+                return new long[0];
+            }
+            String padded = "  " + value + " ";
+            Set<Long> grams = new LinkedHashSet<>();
+            for (int i = 0; i + 3 <= padded.length(); i++) {
+                grams.add(((long) padded.charAt(i) << 32) | ((long) padded.charAt(i + 1) << 16) | padded.charAt(i + 2));
+            }
+            return grams.stream().mapToLong(Long::longValue).toArray();
+        }
+    }
+}
@@ -0,0 +1,312 @@
+/*
+ *
+ *  *
+ *  * Copyright 2025 HCL America, Inc.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *  * /
+ *
+ */
+
+package com.hcl.appscan.slackapp.service;
+
+import com.hcl.appscan.slackapp.metrics.LatencyHistogram;
+import jakarta.annotation.PreDestroy;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Client-side request budget shared by all AppScan API calls.
+ * <p>
+ * Requests are admitted by a token bucket refilled at `appscan.api.rate.limit.rps` with bursts of up to
+ * `appscan.api.rate.limit.burst`. Waiting requests are admitted strictly by priority: interactive
+ * commands first, then report generation, then background polling and index refreshes. Waiting happens
+ * before a request is handed to the I/O executor, so queued background work does not hold threads that
+ * an interactive command needs.
+ * </p>
+ * <p>
+ * As an OkHttp interceptor it also adapts to the server: a `429 Too Many Requests` halves the current
+ * rate and pauses all admissions for the `Retry-After` period before the request is retried (up to
+ * `appscan.api.rate.limit.max.retries` times). Successful responses raise the rate back towards the
+ * configured budget in small steps.
+ * </p>
+ * <p>
+ * All scheduling state is confined to a single dispatcher thread, so no locks are needed.
+ * </p>
+ */
+@Component
+public class AppScanRateGovernor implements Interceptor {
+    private static final Logger logger = LoggerFactory.getLogger(AppScanRateGovernor.class);
+    private static final long DEFAULT_RETRY_AFTER_MS = 1_000;
+    private static final long MAX_RETRY_AFTER_MS = 60_000;
+
+    /**
+     * Priority classes, highest first.
+     */
+    public enum Priority {
+        INTERACTIVE, REPORT, BACKGROUND
+    }
+
+    private final double configuredRate;
+    private final double burst;
+    private final int maxRetries;
+    private final ScheduledExecutorService dispatcher;
+    private final List<ArrayDeque<Waiter>> queues = new ArrayList<>();
+    private final ClassMetrics[] classMetrics = new ClassMetrics[Priority.values().length];
+    private final AtomicLong throttledResponses = new AtomicLong();
+    private final AtomicLong retries = new AtomicLong();
+
+    // Dispatcher thread state
+    private double currentRate;
+    private double tokens;
+    private long lastRefillNanos = System.nanoTime();
+    private long pausedUntilNanos = lastRefillNanos;
+    private ScheduledFuture<?> nextDispatch;
+
+    public AppScanRateGovernor(@Value("${appscan.api.rate.limit.rps:20}") double requestsPerSecond,
+                               @Value("${appscan.api.rate.limit.burst:20}") int burst,
+                               @Value("${appscan.api.rate.limit.max.retries:3}") int maxRetries) {
+        this.configuredRate = requestsPerSecond;
+        this.currentRate = requestsPerSecond;
+        this.burst = Math.max(1, burst);
+        this.tokens = this.burst;
+        this.maxRetries = maxRetries;
+        for (Priority priority : Priority.values()) {
+            queues.add(new ArrayDeque<>());
+            classMetrics[priority.ordinal()] = new ClassMetrics();
+        }
+        this.dispatcher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "appscan-rate-governor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (!isEnabled()) {
+            logger.info("AppScan API rate limiting is disabled (appscan.api.rate.limit.rps <= 0).");
+        }
+    }
+
+    public boolean isEnabled() {
+        return configuredRate > 0;
+    }
+
+    /**
+     * Returns a future that completes once a request of the given priority may be sent.
+     */
+    public CompletableFuture<Void> acquire(Priority priority) {
+        ClassMetrics metrics = classMetrics[priority.ordinal()];
+        if (!isEnabled()) {
+            metrics.admitted.incrementAndGet();
+            return CompletableFuture.completedFuture(null);
+        }
+        Waiter waiter = new Waiter(System.nanoTime());
+        metrics.queued.incrementAndGet();
+        dispatcher.execute(() -> {
+            queues.get(priority.ordinal()).add(waiter);
+            dispatch();
+        });
+        return waiter.future;
+    }
+
+    /**
+     * Blocking variant of {@link #acquire(Priority)} for the synchronous report flow.
+     */
+    public void acquireSync(Priority priority) throws InterruptedException {
+        try {
+            acquire(priority).get();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Rate governor failed", e.getCause());
+        }
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        Priority priority = request.tag(Priority.class) != null ? request.tag(Priority.class) : Priority.INTERACTIVE;
+        Response response = chain.proceed(request);
+        for (int attempt = 0; response.code() == 429 && isEnabled() && attempt < maxRetries; attempt++) {
+            long retryAfterMs = parseRetryAfter(response.header("Retry-After"));
+            response.close();
+            onThrottled(retryAfterMs);
+            retries.incrementAndGet();
+            logger.warn("AppScan API throttled {} {} (retry after {} ms). Retrying as {} request.",
+                    request.method(), request.url().encodedPath(), retryAfterMs, priority);
+            try {
+                acquireSync(priority);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting to retry a throttled AppScan request");
+            }
+            response = chain.proceed(request);
+        }
+        if (response.code() == 429 && isEnabled()) {
+            onThrottled(parseRetryAfter(response.header("Retry-After")));
+        } else if (response.isSuccessful() && isEnabled()) {
+            dispatcher.execute(this::onSuccess);
+        }
+        return response;
+    }
+
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("configuredRequestsPerSecond", configuredRate);
+        metrics.put("currentRequestsPerSecond", Math.round(currentRate * 100) / 100.0);
+        metrics.put("throttledResponses", throttledResponses.get());
+        metrics.put("retries", retries.get());
+        for (Priority priority : Priority.values()) {
+            ClassMetrics classMetric = classMetrics[priority.ordinal()];
+            Map<String, Object> perClass = new LinkedHashMap<>();
+            perClass.put("admitted", classMetric.admitted.get());
+            perClass.put("waiting", classMetric.queued.get());
+            perClass.put("waitTime", classMetric.waitTime.snapshot());
+            metrics.put(priority.name().toLowerCase(), perClass);
+        }
+        return metrics;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        dispatcher.shutdownNow();
+    }
+
+    // Admits as many waiters as the bucket allows, highest priority first; runs on the dispatcher thread
+    private void dispatch() {
+        long now = System.nanoTime();
+        tokens = Math.min(burst, tokens + (now - lastRefillNanos) / 1e9 * currentRate);
+        lastRefillNanos = now;
+        if (now >= pausedUntilNanos) {
+            Waiter waiter;
+            while (tokens >= 1 && (waiter = nextWaiter()) != null) {
+                tokens--;
+                admit(waiter, now);
+            }
+        }
+        if (hasWaiters() && (nextDispatch == null || nextDispatch.isDone())) {
+            long untilToken = (long) Math.ceil((1 - tokens) / currentRate * 1e9);
+            long delay = Math.max(Math.max(0, pausedUntilNanos - now), untilToken);
+            nextDispatch = dispatcher.schedule(this::scheduledDispatch, Math.max(1_000_000, delay), TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void scheduledDispatch() {
+        nextDispatch = null;
+        dispatch();
+    }
+
+    private Waiter nextWaiter() {
+        for (int i = 0; i < queues.size(); i++) {
+            Waiter waiter = queues.get(i).poll();
+            if (waiter != null) {
+                waiter.priority = i;
+                return waiter;
+            }
+        }
+        return null;
+    }
+
+    private boolean hasWaiters() {
+        for (ArrayDeque<Waiter> queue : queues) {
+            if (!queue.isEmpty()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void admit(Waiter waiter, long now) {
+        ClassMetrics metrics = classMetrics[waiter.priority];
+        metrics.queued.decrementAndGet();
+        metrics.admitted.incrementAndGet();
+        metrics.waitTime.record((now - waiter.enqueuedNanos) / 1_000_000);
+        waiter.future.complete(null);
+    }
+
+    private void onThrottled(long retryAfterMs) {
+        throttledResponses.incrementAndGet();
+        dispatcher.execute(() -> {
+            long resumeAt = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(retryAfterMs);
+            pausedUntilNanos = Math.max(pausedUntilNanos, resumeAt);
+            // Multiplicative decrease, never below one request every ten seconds
+            currentRate = Math.max(0.1, currentRate / 2);
+            tokens = 0;
+            logger.warn("AppScan API returned 429. Pausing requests for {} ms and lowering the rate to {} requests/s.",
+                    retryAfterMs, String.format("%.2f", currentRate));
+            dispatch();
+        });
+    }
+
+    // Additive increase back to the configured budget
+    private void onSuccess() {
+        if (currentRate < configuredRate) {
+            currentRate = Math.min(configuredRate, currentRate + configuredRate / 100);
+        }
+    }
+
+    // Retry-After is either a number of seconds or an HTTP date
+    static long parseRetryAfter(String retryAfter) {
+        if (retryAfter == null || retryAfter.isBlank()) {
+            return DEFAULT_RETRY_AFTER_MS;
+        }
+        try {
+            return Math.min(MAX_RETRY_AFTER_MS, Math.max(0, Long.parseLong(retryAfter.trim()) * 1000));
+        } catch (NumberFormatException e) {
+            try {
+                Instant until = ZonedDateTime.parse(retryAfter.trim(), DateTimeFormatter.RFC_1123_DATE_TIME).toInstant();
+                return Math.min(MAX_RETRY_AFTER_MS, Math.max(0, Duration.between(Instant.now(), until).toMillis()));
+            } catch (DateTimeParseException ignored) {
+                return DEFAULT_RETRY_AFTER_MS;
+            }
+        }
+    }
+
+    private static final class Waiter {
+        private final CompletableFuture<Void> future = new CompletableFuture<>();
+        private final long enqueuedNanos;
+        private int priority;
+
+        Waiter(long enqueuedNanos) {
+            this.enqueuedNanos = enqueuedNanos;
+        }
+    }
+
+    private static final class ClassMetrics {
+        private final AtomicLong admitted = new AtomicLong();
+        private final AtomicInteger queued = new AtomicInteger();
+        private final LatencyHistogram waitTime = new LatencyHistogram();
+    }
+}
@@ -20,24 +20,31 @@
 
 package com.hcl.appscan.slackapp.service;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hcl.appscan.slackapp.metrics.AppScanCallEventInterceptor;
 import com.hcl.appscan.slackapp.model.*;
+import com.hcl.appscan.slackapp.scheduler.HashedWheelTimer;
+import com.hcl.appscan.slackapp.util.DecodedResponseCache;
+import com.hcl.appscan.slackapp.util.JsonCodec;
 import okhttp3.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import javax.net.ssl.SSLContext;
 import javax.net.ssl.TrustManager;
 import javax.net.ssl.X509TrustManager;
+import java.io.File;
 import java.io.IOException;
 import java.security.cert.X509Certificate;
 import java.time.Instant;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
 
 // This service handles communication with the AppScan API, including authentication and fetching application details.
 // --- AppScan API Service ---
@@ -45,29 +52,75 @@ import java.util.concurrent.atomic.AtomicReference;
 public class AppScanService {
     private static final Logger logger = LoggerFactory.getLogger(AppScanService.class);
     private final OkHttpClient httpClient;
-    private final ObjectMapper objectMapper;
+    private final JsonCodec jsonCodec;
+    private final DecodedResponseCache decodedResponses = new DecodedResponseCache(DECODED_RESPONSES_MAX_ENTRIES);
     private final String apiKey;
     private final String apiSecret;
     private final String apiBaseUrl;
+    private final ExecutorService ioExecutor;
+    private final AppScanRateGovernor rateGovernor;
+    private final HashedWheelTimer wheelTimer;
     private final AtomicReference<ApiKeyLoginResponse> currentToken = new AtomicReference<>();
+    // Single in-flight token refresh shared by all callers; avoids a lock (and virtual thread pinning) around the login call
+    private final AtomicReference<CompletableFuture<String>> tokenRefresh = new AtomicReference<>();
+    private volatile boolean loginFailing;
     private static String clientType;
     private static final String CLIENT_NAME = "slack";
+    // OData projections, one per use case, so AppScan only sends the fields that are actually read
+    public static final String APP_REF_FIELDS = "Id,Name";
+    public static final String APP_LIST_FIELDS = "Id,Name,TotalIssues";
+    public static final String SCAN_STATUS_FIELDS = "Id,AppName";
+    public static final String SCAN_STATUS_EXPAND = "LatestExecution($select=Status,ScanEndTime)";
+    public static final String SCAN_PROGRESS_EXPAND = "LatestExecution($select=Status,ScanEndTime,Progress,NCriticalIssues,NHighIssues,NMediumIssues,NLowIssues)";
+    public static final String SCAN_REF_FIELDS = "Id,Name";
+    public static final String PORTFOLIO_FIELDS = "Id,Name,RiskRating,CriticalIssues,HighIssues,MediumIssues,LowIssues,TotalIssues,LastUpdated";
+    public static final String PORTFOLIO_EXPAND = "LastScanExecution($select=ScanEndTime)";
+    private static final int REPORT_STATUS_MAX_ATTEMPTS = 12;
+    private static final long REPORT_STATUS_INTERVAL_MS = 5000;
+    // One entry per polled URL: the latest scan status of every mapped application plus index and portfolio pages
+    private static final int DECODED_RESPONSES_MAX_ENTRIES = 20000;
+    // Stored responses are always revalidated, so a poll never sees data older than the server's
+    private static final CacheControl REVALIDATE = new CacheControl.Builder().maxAge(0, TimeUnit.SECONDS).build();
 
     public AppScanService(
             @Value("${appscan.api.key}") String apiKey,
             @Value("${appscan.api.secret}") String apiSecret,
             @Value("${appscan.api.baseurl}") String apiBaseUrl,
             @Value("${appscan.allowUntrusted:false}") boolean allowUntrusted,
-            ObjectMapper objectMapper
+            @Value("${appscan.http.cache.dir:}") String httpCacheDir,
+            @Value("${appscan.http.cache.max.bytes:52428800}") long httpCacheMaxBytes,
+            JsonCodec jsonCodec,
+            @Qualifier("ioExecutor") ExecutorService ioExecutor,
+            AppScanRateGovernor rateGovernor,
+            HashedWheelTimer wheelTimer
     ) {
         this.apiKey = apiKey;
         this.apiSecret = apiSecret;
         this.apiBaseUrl = apiBaseUrl + "/api/v4"; // Append the API version path
-        this.objectMapper = objectMapper;
-        this.httpClient = createHttpClient(allowUntrusted);
+        this.jsonCodec = jsonCodec;
+        this.ioExecutor = ioExecutor;
+        this.rateGovernor = rateGovernor;
+        this.wheelTimer = wheelTimer;
+        this.httpClient = createHttpClient(allowUntrusted, httpCacheDir, httpCacheMaxBytes);
     }
 
-    private OkHttpClient createHttpClient(boolean allowUntrusted) {
+    private OkHttpClient createHttpClient(boolean allowUntrusted, String httpCacheDir, long httpCacheMaxBytes) {
+        OkHttpClient.Builder builder = new OkHttpClient.Builder()
+                // GETs without an explicit cache policy are revalidated with If-None-Match/If-Modified-Since
+                .addInterceptor(chain -> {
+                    Request request = chain.request();
+                    if ("GET".equals(request.method()) && request.header("Cache-Control") == null) {
+                        request = request.newBuilder().cacheControl(REVALIDATE).build();
+                    }
+                    return chain.proceed(request);
+                })
+                .addInterceptor(rateGovernor)
+                // Inside the governor, so each retried attempt is recorded separately
+                .addInterceptor(new AppScanCallEventInterceptor());
+        if (httpCacheDir != null && !httpCacheDir.isBlank()) {
+            builder.cache(new Cache(new File(httpCacheDir), httpCacheMaxBytes));
+            logger.info("Caching AppScan API responses in {} (up to {} bytes).", httpCacheDir, httpCacheMaxBytes);
+        }
         if (allowUntrusted) {
             logger.warn("!!! SSL/TLS certificate verification is disabled. This is for testing only and is insecure. !!!");
             try {
@@ -91,16 +144,16 @@ public class AppScanService {
                 final SSLContext sslContext = SSLContext.getInstance("SSL");
                 sslContext.init(null, trustAllCerts, new java.security.SecureRandom());
 
-                return new OkHttpClient.Builder()
+                return builder
                         .sslSocketFactory(sslContext.getSocketFactory(), (X509TrustManager) trustAllCerts[0])
                         .hostnameVerifier((hostname, session) -> true)
                         .build();
             } catch (Exception e) {
                 logger.error("Error creating untrusted SSL context. Falling back to default client.", e);
-                return new OkHttpClient();
+                return builder.build();
             }
         } else {
-            return new OkHttpClient();
+            return builder.build();
         }
     }
 
@@ -108,41 +161,114 @@ public class AppScanService {
         ApiKeyLoginResponse token = currentToken.get();
         // Refresh token if null or expiring within 30 minutes
         if (token == null || token.getExpire().isBefore(Instant.now().plusSeconds(1800))) {
+            CompletableFuture<String> inFlight = tokenRefresh.get();
+            if (inFlight != null) {
+                return inFlight;
+            }
+            CompletableFuture<String> refresh = new CompletableFuture<>();
+            if (!tokenRefresh.compareAndSet(null, refresh)) {
+                return getAuthToken();
+            }
             logger.info("Auth token is invalid or expiring soon. Refreshing...");
             Map<String, String> loginPayload = Map.of("KeyId", apiKey, "KeySecret", apiSecret, "ClientType", getClientType());
             try {
-                String jsonPayload = objectMapper.writeValueAsString(loginPayload);
+                String jsonPayload = jsonCodec.write(loginPayload);
                 okhttp3.RequestBody body = okhttp3.RequestBody.create(jsonPayload, MediaType.parse("application/json; charset=utf-8"));
                 Request request = new Request.Builder().url(apiBaseUrl + "/Account/ApiKeyLogin").post(body).header("ClientType", getClientType()).build();
-                return CompletableFuture.supplyAsync(() -> {
+                ioExecutor.execute(() -> {
                     try (Response response = httpClient.newCall(request).execute()) {
                         if (!response.isSuccessful() || response.body() == null)
                             throw new IOException("Failed to authenticate with AppScan API: " + response);
-                        ApiKeyLoginResponse newResponse = objectMapper.readValue(response.body().string(), ApiKeyLoginResponse.class);
+                        ApiKeyLoginResponse newResponse = jsonCodec.read(response.body().byteStream(), ApiKeyLoginResponse.class);
                         currentToken.set(newResponse);
+                        loginFailing = false;
                         logger.info("Successfully refreshed AppScan auth token.");
-                        return newResponse.getToken();
-                    } catch (IOException e) {
-                        throw new RuntimeException(e);
+                        refresh.complete(newResponse.getToken());
+                    } catch (Exception e) {
+                        loginFailing = true;
+                        refresh.completeExceptionally(new RuntimeException(e));
+                    } finally {
+                        tokenRefresh.compareAndSet(refresh, null);
                     }
                 });
             } catch (Exception e) {
-                return CompletableFuture.failedFuture(e);
+                loginFailing = true;
+                tokenRefresh.compareAndSet(refresh, null);
+                refresh.completeExceptionally(e);
             }
+            return refresh;
         }
         return CompletableFuture.completedFuture(token.getToken());
     }
 
+    /**
+     * Releases the HTTP client's dispatcher threads and pooled connections. Called last during shutdown.
+     */
+    public void close() {
+        httpClient.dispatcher().executorService().shutdown();
+        httpClient.connectionPool().evictAll();
+        Cache cache = httpClient.cache();
+        if (cache != null) {
+            try {
+                cache.close();
+            } catch (IOException e) {
+                logger.warn("Failed to close the AppScan HTTP cache", e);
+            }
+        }
+    }
+
+    /**
+     * Hit counts of the on-disk HTTP cache (full and 304 hits) and of the decode step skipped for unchanged bodies.
+     */
+    public Map<String, Object> getHttpCacheMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        Cache cache = httpClient.cache();
+        metrics.put("enabled", cache != null);
+        if (cache != null) {
+            int requests = cache.requestCount();
+            metrics.put("requests", requests);
+            metrics.put("network", cache.networkCount());
+            metrics.put("hits", cache.hitCount());
+            metrics.put("hitRate", requests == 0 ? 0.0 : (double) cache.hitCount() / requests);
+            try {
+                metrics.put("sizeBytes", cache.size());
+            } catch (IOException e) {
+                metrics.put("sizeBytes", -1L);
+            }
+            metrics.put("maxSizeBytes", cache.maxSize());
+        }
+        metrics.put("decode", decodedResponses.getMetrics());
+        return metrics;
+    }
+
+    /**
+     * Expiry of the cached AppScan auth token, or empty if no token has been obtained yet.
+     */
+    public Optional<Instant> getTokenExpiry() {
+        return Optional.ofNullable(currentToken.get()).map(ApiKeyLoginResponse::getExpire);
+    }
+
+    /**
+     * True if the latest login attempt failed, for example because of bad credentials.
+     */
+    public boolean isLoginFailing() {
+        return loginFailing;
+    }
+
     public CompletableFuture<AppScanApp> getApplicationDetailsByName(String appName) {
+        return getApplicationDetailsByName(appName, AppScanRateGovernor.Priority.INTERACTIVE);
+    }
+
+    public CompletableFuture<AppScanApp> getApplicationDetailsByName(String appName, AppScanRateGovernor.Priority priority) {
         return getAuthToken().thenCompose(token -> {
             HttpUrl.Builder urlBuilder = HttpUrl.parse(apiBaseUrl + "/Apps").newBuilder();
             urlBuilder.addQueryParameter("$filter", "Name eq '" + appName.replace("'", "''") + "'");
-            Request request = new Request.Builder().url(urlBuilder.build()).header("Authorization", "Bearer " + token).build();
-            return CompletableFuture.supplyAsync(() -> {
+            Request request = new Request.Builder().url(urlBuilder.build()).header("Authorization", "Bearer " + token).tag(AppScanRateGovernor.Priority.class, priority).build();
+            return callAsync(priority, () -> {
                 try (Response response = httpClient.newCall(request).execute()) {
                     if (!response.isSuccessful() || response.body() == null)
                         throw new IOException("Failed to fetch application by name from AppScan API: " + response);
-                    AppScanAppListResponse appListResponse = objectMapper.readValue(response.body().string(), AppScanAppListResponse.class);
+                    AppScanAppListResponse appListResponse = jsonCodec.read(response.body().byteStream(), AppScanAppListResponse.class);
                     if (appListResponse == null || appListResponse.getItems() == null || appListResponse.getItems().isEmpty()) {
                         throw new RuntimeException("Application not found: " + appName);
                     }
@@ -154,18 +280,137 @@ public class AppScanService {
         });
     }
 
-    // method to return a list of first 30 applications as slack has a limit on number of characters in a message
-    public CompletableFuture<List<AppScanApp>> getAllApplications() {
+    // Returns up to 'top' applications; large lists are split across messages by the caller
+    public CompletableFuture<List<AppScanApp>> getAllApplications(int top) {
+        AppScanRateGovernor.Priority priority = AppScanRateGovernor.Priority.INTERACTIVE;
         return getAuthToken().thenCompose(token -> {
             HttpUrl.Builder urlBuilder = HttpUrl.parse(apiBaseUrl + "/Apps").newBuilder();
-            urlBuilder.addQueryParameter("$top", "30");
-            Request request = new Request.Builder().url(urlBuilder.build()).header("Authorization", "Bearer " + token).build();
-            return CompletableFuture.supplyAsync(() -> {
+            urlBuilder.addQueryParameter("$select", APP_LIST_FIELDS);
+            urlBuilder.addQueryParameter("$top", String.valueOf(top));
+            Request request = new Request.Builder().url(urlBuilder.build()).header("Authorization", "Bearer " + token).tag(AppScanRateGovernor.Priority.class, priority).build();
+            return callAsync(priority, () -> {
                 try (Response response = httpClient.newCall(request).execute()) {
                     if (!response.isSuccessful() || response.body() == null)
                         throw new IOException("Failed to fetch all applications from AppScan API: " + response);
-                    AppScanAppListResponse appListResponse = objectMapper.readValue(response.body().string(), AppScanAppListResponse.class);
-                    return appListResponse != null ? appListResponse.getItems() : new ArrayList<>();
+                    // Cache the item list rather than the mutable response wrapper
+                    return decodedResponses.decode(response, body -> {
+                        AppScanAppListResponse appListResponse = jsonCodec.read(body, AppScanAppListResponse.class);
+                        return readOnly(appListResponse != null ? appListResponse.getItems() : null);
+                    });
+                } catch (IOException e) {
+                    throw new RuntimeException(e);
+                }
+            });
+        });
+    }
+
+    /**
+     * Fetches one page of applications ordered by name, used to build the in-memory application index.
+     */
+    public CompletableFuture<List<AppRef>> getApplicationsPage(int skip, int top) {
+        AppScanRateGovernor.Priority priority = AppScanRateGovernor.Priority.BACKGROUND;
+        return getAuthToken().thenCompose(token -> {
+            HttpUrl.Builder urlBuilder = HttpUrl.parse(apiBaseUrl + "/Apps").newBuilder();
+            urlBuilder.addQueryParameter("$select", APP_REF_FIELDS);
+            urlBuilder.addQueryParameter("$orderby", "Name");
+            urlBuilder.addQueryParameter("$skip", String.valueOf(skip));
+            urlBuilder.addQueryParameter("$top", String.valueOf(top));
+            Request request = new Request.Builder().url(urlBuilder.build()).header("Authorization", "Bearer " + token).tag(AppScanRateGovernor.Priority.class, priority).build();
+            return callAsync(priority, () -> {
+                try (Response response = httpClient.newCall(request).execute()) {
+                    if (!response.isSuccessful() || response.body() == null)
+                        throw new IOException("Failed to fetch applications page from AppScan API: " + response);
+                    return decodedResponses.decode(response, body -> readOnly(jsonCodec.readItems(body, AppRef.class)));
+                } catch (IOException e) {
+                    throw new RuntimeException(e);
+                }
+            });
+        });
+    }
+
+    /**
+     * Fetches one page of applications ordered by name with the fields of the portfolio overview.
+     *
+     * @param updatedSince if not null, only applications updated after this time are returned
+     */
+    public CompletableFuture<List<PortfolioApp>> getPortfolioPage(int skip, int top, Instant updatedSince) {
+        AppScanRateGovernor.Priority priority = AppScanRateGovernor.Priority.BACKGROUND;
+        return getAuthToken().thenCompose(token -> {
+            HttpUrl.Builder urlBuilder = HttpUrl.parse(apiBaseUrl + "/Apps").newBuilder();
+            urlBuilder.addQueryParameter("$select", PORTFOLIO_FIELDS);
+            urlBuilder.addQueryParameter("$expand", PORTFOLIO_EXPAND);
+            if (updatedSince != null) {
+                urlBuilder.addQueryParameter("$filter", "LastUpdated gt " + updatedSince);
+            }
+            urlBuilder.addQueryParameter("$orderby", "Name");
+            urlBuilder.addQueryParameter("$skip", String.valueOf(skip));
+            urlBuilder.addQueryParameter("$top", String.valueOf(top));
+            Request request = new Request.Builder().url(urlBuilder.build()).header("Authorization", "Bearer " + token).tag(AppScanRateGovernor.Priority.class, priority).build();
+            return callAsync(priority, () -> {
+                try (Response response = httpClient.newCall(request).execute()) {
+                    if (!response.isSuccessful() || response.body() == null)
+                        throw new IOException("Failed to fetch portfolio page from AppScan API: " + response);
+                    return decodedResponses.decode(response, body -> readOnly(jsonCodec.readItems(body, PortfolioApp.class)));
+                } catch (IOException e) {
+                    throw new RuntimeException(e);
+                }
+            });
+        });
+    }
+
+    /**
+     * Looks up an application's ID by exact name, fetching only `Id` and `Name`.
+     */
+    public CompletableFuture<AppRef> getApplicationRef(String appName, AppScanRateGovernor.Priority priority) {
+        return getAuthToken().thenCompose(token -> {
+            HttpUrl.Builder urlBuilder = HttpUrl.parse(apiBaseUrl + "/Apps").newBuilder();
+            urlBuilder.addQueryParameter("$filter", "Name eq '" + appName.replace("'", "''") + "'");
+            urlBuilder.addQueryParameter("$select", APP_REF_FIELDS);
+            Request request = new Request.Builder().url(urlBuilder.build()).header("Authorization", "Bearer " + token).tag(AppScanRateGovernor.Priority.class, priority).build();
+            return callAsync(priority, () -> {
+                try (Response response = httpClient.newCall(request).execute()) {
+                    if (!response.isSuccessful() || response.body() == null)
+                        throw new IOException("Failed to fetch application by name from AppScan API: " + response);
+                    List<AppRef> apps = decodedResponses.decode(response, body -> readOnly(jsonCodec.readItems(body, AppRef.class)));
+                    if (apps.isEmpty()) {
+                        throw new RuntimeException("Application not found: " + appName);
+                    }
+                    return apps.get(0);
+                } catch (IOException e) {
+                    throw new RuntimeException(e);
+                }
+            });
+        });
+    }
+
+    /**
+     * Fetches the status of an application's latest scan, fetching only the ID, application name and
+     * execution status. Use {@link #getScanSummaryById(String, AppScanRateGovernor.Priority)} for the full
+     * details once a scan is ready.
+     */
+    public CompletableFuture<Optional<ScanStatus>> getLatestScanStatus(String appId, AppScanRateGovernor.Priority priority) {
+        return getLatestScanStatus(appId, priority, false);
+    }
+
+    /**
+     * Same as {@link #getLatestScanStatus(String, AppScanRateGovernor.Priority)}, optionally also fetching
+     * the progress and issue counts found so far, for live progress messages.
+     */
+    public CompletableFuture<Optional<ScanStatus>> getLatestScanStatus(String appId, AppScanRateGovernor.Priority priority, boolean withProgress) {
+        return getAuthToken().thenCompose(token -> {
+            HttpUrl.Builder urlBuilder = HttpUrl.parse(apiBaseUrl + "/Scans").newBuilder();
+            urlBuilder.addQueryParameter("$top", "1");
+            urlBuilder.addQueryParameter("$filter", "AppId eq " + appId + " and IsPersonal eq false");
+            urlBuilder.addQueryParameter("$orderby", "CreatedAt desc");
+            urlBuilder.addQueryParameter("$select", SCAN_STATUS_FIELDS);
+            urlBuilder.addQueryParameter("$expand", withProgress ? SCAN_PROGRESS_EXPAND : SCAN_STATUS_EXPAND);
+            Request request = new Request.Builder().url(urlBuilder.build()).header("Authorization", "Bearer " + token).tag(AppScanRateGovernor.Priority.class, priority).build();
+            return callAsync(priority, () -> {
+                try (Response response = httpClient.newCall(request).execute()) {
+                    if (!response.isSuccessful() || response.body() == null)
+                        throw new IOException("Failed to fetch latest scan status from AppScan API: " + response);
+                    List<ScanStatus> scans = decodedResponses.decode(response, body -> readOnly(jsonCodec.readItems(body, ScanStatus.class)));
+                    return scans.stream().findFirst();
                 } catch (IOException e) {
                     throw new RuntimeException(e);
                 }
@@ -174,6 +419,10 @@ public class AppScanService {
     }
 
     public CompletableFuture<Optional<FullScanDetails>> getLatestScanForApp(String appId) {
+        return getLatestScanForApp(appId, AppScanRateGovernor.Priority.INTERACTIVE);
+    }
+
+    public CompletableFuture<Optional<FullScanDetails>> getLatestScanForApp(String appId, AppScanRateGovernor.Priority priority) {
         return getAuthToken().thenCompose(token -> {
             HttpUrl.Builder urlBuilder = HttpUrl.parse(apiBaseUrl + "/Scans").newBuilder();
             urlBuilder.addQueryParameter("$top", "1");
@@ -182,12 +431,12 @@ public class AppScanService {
                     "AppId eq " + appId + " and IsPersonal eq false"
             );
             urlBuilder.addQueryParameter("$orderby", "CreatedAt desc");
-            Request request = new Request.Builder().url(urlBuilder.build()).header("Authorization", "Bearer " + token).build();
-            return CompletableFuture.supplyAsync(() -> {
+            Request request = new Request.Builder().url(urlBuilder.build()).header("Authorization", "Bearer " + token).tag(AppScanRateGovernor.Priority.class, priority).build();
+            return callAsync(priority, () -> {
                 try (Response response = httpClient.newCall(request).execute()) {
                     if (!response.isSuccessful() || response.body() == null)
                         throw new IOException("Failed to fetch latest scan from AppScan API: " + response);
-                    ScanListResponse scanList = objectMapper.readValue(response.body().string(), ScanListResponse.class);
+                    ScanListResponse scanList = jsonCodec.read(response.body().byteStream(), ScanListResponse.class);
                     if (scanList.getItems() == null || scanList.getItems().isEmpty()) {
                         return Optional.empty();
                     }
@@ -200,32 +449,26 @@ public class AppScanService {
     }
 
 
-    public CompletableFuture<List<Map<String, String>>> getScansByUsername(String username) {
+    public CompletableFuture<List<Map<String, String>>> getScansByUsername(String username, int top) {
+        AppScanRateGovernor.Priority priority = AppScanRateGovernor.Priority.INTERACTIVE;
         return getAuthToken().thenCompose(token -> {
             HttpUrl.Builder urlBuilder = HttpUrl.parse(apiBaseUrl + "/Scans").newBuilder();
             urlBuilder.addQueryParameter("$filter", "CreatedBy/UserName eq '" + username.replace("'", "''") + "'");
-            urlBuilder.addQueryParameter("$top", "10");// Limit to 10 scans
+            urlBuilder.addQueryParameter("$select", SCAN_REF_FIELDS);
+            urlBuilder.addQueryParameter("$top", String.valueOf(top));
             Request request = new Request.Builder()
                     .url(urlBuilder.build())
                     .header("Authorization", "Bearer " + token)
+                    .tag(AppScanRateGovernor.Priority.class, priority)
                     .build();
-            return CompletableFuture.supplyAsync(() -> {
+            return callAsync(priority, () -> {
                 try (Response response = httpClient.newCall(request).execute()) {
                     if (!response.isSuccessful() || response.body() == null)
                         throw new IOException("Failed to fetch scans for user: " + username + " from AppScan API: " + response);
-                    String responseBody = response.body().string();
                     // Parse only scan name and id
-                    JsonNode root = objectMapper.readTree(responseBody);
-                    JsonNode items = root.path("Items");
                     List<Map<String, String>> scanList = new ArrayList<>();
-                    if (items.isArray()) {
-                        for (JsonNode scan : items) {
-                            Map<String, String> scanInfo = Map.of(
-                                    "Name", scan.path("Name").asText(),
-                                    "Id", scan.path("Id").asText()
-                            );
-                            scanList.add(scanInfo);
-                        }
+                    for (ScanRef scan : jsonCodec.readItems(response.body().byteStream(), ScanRef.class)) {
+                        scanList.add(Map.of("Name", scan.getName(), "Id", scan.getId()));
                     }
                     return scanList;
                 } catch (IOException e) {
@@ -237,6 +480,10 @@ public class AppScanService {
 
 
 public CompletableFuture<Optional<FullScanDetails>> getScanSummaryById(String scanId) {
+    return getScanSummaryById(scanId, AppScanRateGovernor.Priority.INTERACTIVE);
+}
+
+public CompletableFuture<Optional<FullScanDetails>> getScanSummaryById(String scanId, AppScanRateGovernor.Priority priority) {
     return getAuthToken().thenCompose(token -> {
         HttpUrl.Builder urlBuilder = HttpUrl.parse(apiBaseUrl + "/Scans").newBuilder();
         urlBuilder.addQueryParameter("$filter", "Id eq " + scanId);
@@ -244,20 +491,13 @@ public CompletableFuture<Optional<FullScanDetails>> getScanSummaryById(String sc
         Request request = new Request.Builder()
                 .url(urlBuilder.build())
                 .header("Authorization", "Bearer " + token)
+                .tag(AppScanRateGovernor.Priority.class, priority)
                 .build();
-        return CompletableFuture.supplyAsync(() -> {
+        return callAsync(priority, () -> {
             try (Response response = httpClient.newCall(request).execute()) {
                 if (!response.isSuccessful() || response.body() == null)
                     throw new IOException("Failed to fetch scan summary for ID: " + scanId + " from AppScan API: " + response);
-                String responseBody = response.body().string();
-                JsonNode root = objectMapper.readTree(responseBody);
-                JsonNode items = root.path("Items");
-                if (items.isArray() && items.size() > 0) {
-                    // Parse as FullScanDetails
-                    FullScanDetails details = objectMapper.treeToValue(items.get(0), FullScanDetails.class);
-                    return Optional.of(details);
-                }
-                return Optional.empty();
+                return jsonCodec.readItems(response.body().byteStream(), FullScanDetails.class).stream().findFirst();
             } catch (IOException e) {
                 throw new RuntimeException("Failed to fetch scan summary for ID: " + scanId, e);
             }
@@ -266,69 +506,109 @@ public CompletableFuture<Optional<FullScanDetails>> getScanSummaryById(String sc
 }
 
 
-    public String getScanReportDownloadLink(String scanId,String scanName) throws Exception {
-        String createUrl = apiBaseUrl + "/Reports/Security/Scan/" + scanId;
-        Map<String, Object> configuration = new HashMap<>();
-        configuration.put("ReportFileType", "Pdf");
-        configuration.put("Summary", true);
-        configuration.put("Details", true);
-        configuration.put("Discussion", true);
-        configuration.put("Overview", true);
-        configuration.put("TableOfContent", true);
-        configuration.put("History", true);
-        configuration.put("Coverage", true);
-        configuration.put("MinimizeDetails", true);
-        configuration.put("Articles", true);
-        configuration.put("Title", scanName + " - " + Instant.now().toString());
-        Map<String, Object> body = Map.of("Configuration", configuration);
-
-        RequestBody requestBody = RequestBody.create(
-                objectMapper.writeValueAsString(body), MediaType.parse("application/json"));
-
-        Request createRequest = new Request.Builder()
-                .url(createUrl)
-                .header("Authorization", "Bearer " + getAuthTokenSync())
-                .post(requestBody)
-                .build();
-
-        String reportId;
-        try (Response createResp = httpClient.newCall(createRequest).execute()) {
-            if (!createResp.isSuccessful()) throw new IOException("Failed to create report: " + createResp);
-            String respBody = createResp.body().string();
-            reportId = objectMapper.readTree(respBody).path("Id").asText();
-        }
+    /**
+     * Creates a PDF report for the scan and completes with its download link once AppScan has rendered it.
+     * The status is checked every few seconds; between checks no thread is held, the next check is
+     * scheduled on the wheel timer.
+     */
+    public CompletableFuture<String> getScanReportDownloadLinkAsync(String scanId, String scanName) {
+        AppScanRateGovernor.Priority priority = AppScanRateGovernor.Priority.REPORT;
+        return getAuthToken().thenCompose(token -> callAsync(priority, () -> {
+            Map<String, Object> configuration = new HashMap<>();
+            configuration.put("ReportFileType", "Pdf");
+            configuration.put("Summary", true);
+            configuration.put("Details", true);
+            configuration.put("Discussion", true);
+            configuration.put("Overview", true);
+            configuration.put("TableOfContent", true);
+            configuration.put("History", true);
+            configuration.put("Coverage", true);
+            configuration.put("MinimizeDetails", true);
+            configuration.put("Articles", true);
+            configuration.put("Title", scanName + " - " + Instant.now().toString());
+            Map<String, Object> body = Map.of("Configuration", configuration);
+            try {
+                RequestBody requestBody = RequestBody.create(
+                        jsonCodec.write(body), MediaType.parse("application/json"));
+                Request createRequest = new Request.Builder()
+                        .url(apiBaseUrl + "/Reports/Security/Scan/" + scanId)
+                        .header("Authorization", "Bearer " + token)
+                        .tag(AppScanRateGovernor.Priority.class, priority)
+                        .post(requestBody)
+                        .build();
+                try (Response createResp = httpClient.newCall(createRequest).execute()) {
+                    if (!createResp.isSuccessful()) throw new IOException("Failed to create report: " + createResp);
+                    return jsonCodec.read(createResp.body().byteStream(), ReportStatus.class).getId();
+                }
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        })).thenCompose(reportId -> pollReportStatus(reportId, 1));
+    }
 
-        String statusUrl = apiBaseUrl + "/Reports?$filter=Id eq " + reportId + "&$count=false";
-        String status = "";
-        String downloadLink = null;
-        int maxAttempts = 12;
-        int attempt = 0;
-        while (attempt < maxAttempts) {
+    private CompletableFuture<String> pollReportStatus(String reportId, int attempt) {
+        AppScanRateGovernor.Priority priority = AppScanRateGovernor.Priority.REPORT;
+        return getAuthToken().thenCompose(token -> callAsync(priority, () -> {
             Request statusRequest = new Request.Builder()
-                    .url(statusUrl)
-                    .header("Authorization", "Bearer " + getAuthTokenSync())
+                    .url(apiBaseUrl + "/Reports?$filter=Id eq " + reportId + "&$count=false")
+                    .header("Authorization", "Bearer " + token)
+                    .tag(AppScanRateGovernor.Priority.class, priority)
                     .get()
                     .build();
             try (Response statusResp = httpClient.newCall(statusRequest).execute()) {
                 if (!statusResp.isSuccessful()) throw new IOException("Failed to get report status: " + statusResp);
-                String statusBody = statusResp.body().string();
-                JsonNode items = objectMapper.readTree(statusBody).path("Items");
-                if (items.isArray() && items.size() > 0) {
-                    JsonNode report = items.get(0);
-                    status = report.path("Status").asText();
-                    if ("Ready".equalsIgnoreCase(status)) {
-                        downloadLink = report.path("DownloadLink").asText();
-                        break;
-                    }
-                }
+                return jsonCodec.readItems(statusResp.body().byteStream(), ReportStatus.class).stream()
+                        .findFirst()
+                        .filter(ReportStatus::isReady)
+                        .map(ReportStatus::getDownloadLink);
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        })).thenCompose(downloadLink -> {
+            if (downloadLink.isPresent()) {
+                return CompletableFuture.completedFuture(downloadLink.get());
             }
-            Thread.sleep(5000);
-            attempt++;
+            if (attempt >= REPORT_STATUS_MAX_ATTEMPTS) {
+                return CompletableFuture.failedFuture(new IOException("Report not ready or download link missing after waiting."));
+            }
+            return wheelTimer.delay(REPORT_STATUS_INTERVAL_MS, TimeUnit.MILLISECONDS)
+                    .thenCompose(ignored -> pollReportStatus(reportId, attempt + 1));
+        });
+    }
+
+    /**
+     * Opens a streaming download of a ready report. The caller must close the returned response.
+     * The AppScan token is only sent when the link points at the configured AppScan host.
+     */
+    public Response openReportDownload(String downloadLink) throws Exception {
+        HttpUrl url = HttpUrl.parse(downloadLink);
+        if (url == null) {
+            throw new IOException("Invalid report download link: " + downloadLink);
+        }
+        // Reports are large and fetched once, so they never go into the HTTP cache
+        Request.Builder requestBuilder = new Request.Builder().url(url).get().cacheControl(new CacheControl.Builder().noStore().build())
+                .tag(AppScanRateGovernor.Priority.class, AppScanRateGovernor.Priority.REPORT);
+        HttpUrl apiUrl = HttpUrl.parse(apiBaseUrl);
+        if (apiUrl != null && apiUrl.host().equalsIgnoreCase(url.host())) {
+            requestBuilder.header("Authorization", "Bearer " + getAuthTokenSync());
         }
-        if (!"Ready".equalsIgnoreCase(status) || downloadLink == null || downloadLink.isEmpty()) {
-            throw new IOException("Report not ready or download link missing after waiting.");
+        rateGovernor.acquireSync(AppScanRateGovernor.Priority.REPORT);
+        Response response = httpClient.newCall(requestBuilder.build()).execute();
+        if (!response.isSuccessful() || response.body() == null) {
+            response.close();
+            throw new IOException("Failed to download report: " + response);
         }
-        return downloadLink;
+        return response;
+    }
+
+    // Decoded lists are cached and handed to every later caller with an unchanged body, so none of them may modify it
+    private static <T> List<T> readOnly(List<T> items) {
+        return items != null ? Collections.unmodifiableList(items) : List.of();
+    }
+
+    // Waits for the rate governor, then runs the blocking call on the I/O executor
+    private <T> CompletableFuture<T> callAsync(AppScanRateGovernor.Priority priority, Supplier<T> call) {
+        return rateGovernor.acquire(priority).thenApplyAsync(ignored -> call.get(), ioExecutor);
     }
 
     private String getAuthTokenSync() throws Exception {
@@ -0,0 +1,136 @@
+/*
+ *
+ *  *
+ *  * Copyright 2025 HCL America, Inc.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *  * /
+ *
+ */
+
+package com.hcl.appscan.slackapp.service;
+
+import com.hcl.appscan.slackapp.model.AppScanApp;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fetches summaries for several applications in parallel for `/appscan summary app1, app2, ...`.
+ * <p>
+ * At most `appscan.summary.bulk.max.concurrency` requests are in flight at once: each worker picks the
+ * next application as soon as its previous request finishes, so total latency tracks the slowest
+ * application rather than the sum. Each application has its own timeout, and failed or timed out
+ * applications are reported alongside the successful ones instead of failing the whole request.
+ * </p>
+ */
+@Component
+public class BulkSummaryService {
+    private static final Logger logger = LoggerFactory.getLogger(BulkSummaryService.class);
+    private final AppScanService appScanService;
+    private final AppIndexService appIndexService;
+    private final int maxConcurrency;
+    private final long timeoutMs;
+
+    public BulkSummaryService(AppScanService appScanService, AppIndexService appIndexService,
+                              @Value("${appscan.summary.bulk.max.concurrency:8}") int maxConcurrency,
+                              @Value("${appscan.summary.bulk.timeout.ms:15000}") long timeoutMs) {
+        this.appScanService = appScanService;
+        this.appIndexService = appIndexService;
+        this.maxConcurrency = Math.max(1, maxConcurrency);
+        this.timeoutMs = timeoutMs;
+    }
+
+    /**
+     * Returns one result per requested application, in the requested order. The future never completes exceptionally.
+     */
+    public CompletableFuture<List<SummaryResult>> getSummaries(List<String> appNames) {
+        return getSummaries(appNames, appScanService, appIndexService);
+    }
+
+    /**
+     * Same as {@link #getSummaries(List)}, against another tenant's AppScan instance and application index.
+     */
+    public CompletableFuture<List<SummaryResult>> getSummaries(List<String> appNames, AppScanService source, AppIndexService appIndex) {
+        List<SummaryResult> results = new ArrayList<>();
+        for (String appName : appNames) {
+            results.add(new SummaryResult(appName));
+        }
+        AtomicInteger nextIndex = new AtomicInteger();
+        List<CompletableFuture<Void>> workers = new ArrayList<>();
+        for (int i = 0; i < Math.min(maxConcurrency, results.size()); i++) {
+            workers.add(runWorker(results, nextIndex, source, appIndex));
+        }
+        return CompletableFuture.allOf(workers.toArray(new CompletableFuture[0])).thenApply(ignored -> results);
+    }
+
+    // Fetches applications one after another until none are left
+    private CompletableFuture<Void> runWorker(List<SummaryResult> results, AtomicInteger nextIndex, AppScanService source, AppIndexService appIndex) {
+        int index = nextIndex.getAndIncrement();
+        if (index >= results.size()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        SummaryResult result = results.get(index);
+        String appName = appIndex.findExact(result.getRequestedName()).orElse(result.getRequestedName());
+        return source.getApplicationDetailsByName(appName)
+                .orTimeout(timeoutMs, TimeUnit.MILLISECONDS)
+                .handle((app, ex) -> {
+                    if (ex == null) {
+                        result.app = app;
+                    } else {
+                        Throwable cause = ex.getCause() != null ? ex.getCause() : ex;
+                        result.error = cause instanceof TimeoutException ? "Timed out" : cause.getMessage();
+                        logger.warn("Failed to fetch summary for application {} in bulk request: {}", appName, result.error);
+                    }
+                    return null;
+                })
+                .thenCompose(ignored -> runWorker(results, nextIndex, source, appIndex));
+    }
+
+    /**
+     * Outcome for a single application: either the application details or an error message.
+     */
+    public static class SummaryResult {
+        private final String requestedName;
+        private volatile AppScanApp app;
+        private volatile String error;
+
+        SummaryResult(String requestedName) {
+            this.requestedName = requestedName;
+        }
+
+        public String getRequestedName() {
+            return requestedName;
+        }
+
+        public AppScanApp getApp() {
+            return app;
+        }
+
+        public String getError() {
+            return error;
+        }
+
+        public boolean isSuccess() {
+            return app != null;
+        }
+    }
+}
@@ -20,15 +20,25 @@
 
 package com.hcl.appscan.slackapp.service;
 
-import com.hcl.appscan.slackapp.config.ChannelAppMappingConfig;
-import com.hcl.appscan.slackapp.config.UserAppMappingConfig;
+import com.hcl.appscan.slackapp.metrics.NotificationLatencyRecorder;
+import com.hcl.appscan.slackapp.metrics.SlackCallEvent;
+import com.hcl.appscan.slackapp.model.AppScanApp;
 import com.hcl.appscan.slackapp.model.CreatedBy;
 import com.hcl.appscan.slackapp.model.FullScanDetails;
 import com.hcl.appscan.slackapp.model.LatestExecution;
+import com.hcl.appscan.slackapp.model.PortfolioApp;
+import com.hcl.appscan.slackapp.model.ReportButtonValue;
+import com.hcl.appscan.slackapp.scheduler.HashedWheelTimer;
+import com.hcl.appscan.slackapp.tenant.AppScanTenant;
+import com.hcl.appscan.slackapp.tenant.TenantRegistry;
+import com.hcl.appscan.slackapp.util.BlockKitPacker;
+import com.hcl.appscan.slackapp.util.JsonCodec;
 import com.slack.api.bolt.App;
 import com.slack.api.methods.SlackApiException;
+import com.slack.api.methods.SlackApiTextResponse;
 import com.slack.api.methods.response.chat.ChatPostMessageResponse;
 import com.slack.api.model.block.ActionsBlock;
+import com.slack.api.model.block.ContextBlock;
 import com.slack.api.model.block.HeaderBlock;
 import com.slack.api.model.block.LayoutBlock;
 import com.slack.api.model.block.SectionBlock;
@@ -38,13 +48,26 @@ import com.slack.api.model.block.composition.TextObject;
 import com.slack.api.model.block.element.ButtonElement;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 /**
  * Service component responsible for sending scan completion notifications to Slack channels.
  * <p>
@@ -57,63 +80,169 @@ public class NotificationService {
     private static final Logger logger = LoggerFactory.getLogger(NotificationService.class);
     private final App slackApp;
     //private final String notificationChannel;
-    private final ChannelAppMappingConfig channelAppMappingConfig;
-    private final UserAppMappingConfig userAppMappingConfig;
-    @Value("${appscan.api.baseurl}")
-    private String appScanBaseUrl;
-    public NotificationService(@Lazy App slackApp, ChannelAppMappingConfig channelAppMappingConfig, UserAppMappingConfig userAppMappingConfig) {
+    private final TenantRegistry tenantRegistry;
+    private final ScanHistoryService scanHistoryService;
+    private final ReportRelayService reportRelayService;
+    private final ExecutorService ioExecutor;
+    private final NotificationLatencyRecorder latencyRecorder;
+    private final HashedWheelTimer wheelTimer;
+    private final SlackDirectoryService slackDirectory;
+    private final JsonCodec jsonCodec;
+    // Slack errors that will not go away by retrying the same post
+    private static final Set<String> PERMANENT_ERRORS = Set.of("channel_not_found", "not_in_channel", "is_archived",
+            "invalid_auth", "not_authed", "account_inactive", "token_revoked", "missing_scope", "invalid_blocks", "msg_too_long");
+    private final AtomicInteger pendingDeliveries = new AtomicInteger();
+    private final AtomicInteger inFlightReports = new AtomicInteger();
+    @Value("${appscan.notification.latency.footer:false}")
+    private boolean latencyFooter;
+    @Value("${appscan.notification.retry.max:3}")
+    private int maxDeliveryRetries;
+    @Value("${appscan.notification.retry.backoff.ms:2000}")
+    private long retryBackoffMs;
+    public NotificationService(@Lazy App slackApp, TenantRegistry tenantRegistry, ScanHistoryService scanHistoryService,
+                               ReportRelayService reportRelayService, @Qualifier("ioExecutor") ExecutorService ioExecutor, NotificationLatencyRecorder latencyRecorder,
+                               HashedWheelTimer wheelTimer, SlackDirectoryService slackDirectory, JsonCodec jsonCodec) {
         this.slackApp = slackApp;
-        this.channelAppMappingConfig = channelAppMappingConfig;
-        this.userAppMappingConfig = userAppMappingConfig;
+        this.tenantRegistry = tenantRegistry;
+        this.scanHistoryService = scanHistoryService;
+        this.reportRelayService = reportRelayService;
+        this.ioExecutor = ioExecutor;
+        this.latencyRecorder = latencyRecorder;
+        this.wheelTimer = wheelTimer;
+        this.slackDirectory = slackDirectory;
+        this.jsonCodec = jsonCodec;
     }
 
-    public void sendScanCompletionNotification(FullScanDetails scanDetails) {
+    /**
+     * Posts the scan completion message to every mapped channel and user in parallel, treating now as
+     * the time the completed scan was detected.
+     */
+    public CompletableFuture<Void> sendScanCompletionNotification(FullScanDetails scanDetails) {
+        return sendScanCompletionNotification(scanDetails, Instant.now());
+    }
+
+    /**
+     * Posts the scan completion message to every mapped channel and user in parallel.
+     * The returned future completes once all deliveries have been attempted.
+     *
+     * @param detectedAt when the poller found the scan ready, used for notification latency tracking
+     */
+    public CompletableFuture<Void> sendScanCompletionNotification(FullScanDetails scanDetails, Instant detectedAt) {
+        return sendScanCompletionNotification(tenantRegistry.getDefault(), scanDetails, detectedAt);
+    }
+
+    /**
+     * Posts the scan completion message for a scan of the given tenant to the channels and users mapped in that tenant.
+     */
+    public CompletableFuture<Void> sendScanCompletionNotification(AppScanTenant tenant, FullScanDetails scanDetails, Instant detectedAt) {
         LatestExecution execution = scanDetails.getLatestExecution();
         if (execution == null) {
             logger.warn("Scan {} has no 'LatestExecution' data. Cannot send notification.", scanDetails.getId());
-            return;
+            return CompletableFuture.completedFuture(null);
         }
         String appName = scanDetails.getAppName();
-        List<String> channels = channelAppMappingConfig.getChannelsForApp(appName);
+        List<String> channels = tenant.getChannelMappings().getChannelsForApp(appName);
         if (channels.isEmpty()) {
             logger.warn("No Slack channels mapped for AppScan app: {}", appName);
-            return;
+            return CompletableFuture.completedFuture(null);
+        }
+        Instant scanEnd = NotificationLatencyRecorder.parseTimestamp(execution.getScanEndTime());
+        List<LayoutBlock> blocks = new ArrayList<>(buildScanCompletionBlocks(tenant, scanDetails));
+        if (latencyFooter && scanEnd != null) {
+            blocks.add(buildLatencyFooter(scanEnd, detectedAt));
         }
-        List<LayoutBlock> blocks = buildScanCompletionBlocks(scanDetails);
 
+        List<CompletableFuture<Void>> deliveries = new ArrayList<>();
         for (String channel : channels) {
-            try {
-                ChatPostMessageResponse response = slackApp.client().chatPostMessage(r -> r.channel(channel).blocks(blocks).text("Scan completed for " + appName));
-                if (response.isOk()) {
-                    logger.info("Successfully sent scan completion notification for scan {} to channel {}", scanDetails.getId(), channel);
-                } else {
-                    logger.error("Failed to send Slack notification. Slack API responded with an error: {}", response.getError());
-                }
-            } catch (IOException | SlackApiException e) {
-                logger.error("Exception while sending Slack notification for scan {}: {}", scanDetails.getId(), e.getMessage(), e);
-            }
+            deliveries.add(deliverAsync(scanDetails, channel, "channel", blocks, scanEnd, detectedAt));
         }
-
         // Notify mapped users
-        List<String> userIds = userAppMappingConfig.getUsersForApp(appName);
-        for (String userId : userIds) {
-            // Send direct message to user
-
-            try {
-                ChatPostMessageResponse response = slackApp.client().chatPostMessage(r -> r.channel(userId).blocks(blocks).text("Scan completed for " + appName));
-                if (response.isOk()) {
-                    logger.info("Successfully sent scan completion notification for scan {} to user {}", scanDetails.getId(), userId);
-                } else {
-                    logger.error("Failed to send Slack notification. Slack API responded with an error: {}", response.getError());
-                }
-            } catch (IOException | SlackApiException e) {
-                logger.error("Exception while sending Slack notification for scan {}: {}", scanDetails.getId(), e.getMessage(), e);
+        for (String userId : tenant.getUserMappings().getUsersForApp(appName)) {
+            deliveries.add(deliverAsync(scanDetails, userId, "user", blocks, scanEnd, detectedAt));
+        }
+        return CompletableFuture.allOf(deliveries.toArray(new CompletableFuture[0]));
+    }
+
+    /**
+     * Number of Slack notification posts that are queued or in flight.
+     */
+    public int getPendingDeliveries() {
+        return pendingDeliveries.get();
+    }
+
+    /**
+     * Number of report requests from the Generate Report button that are still being generated or shared.
+     */
+    public int getInFlightReports() {
+        return inFlightReports.get();
+    }
+
+    private CompletableFuture<Void> deliverAsync(FullScanDetails scanDetails, String target, String targetType, List<LayoutBlock> blocks,
+                                                 Instant scanEnd, Instant detectedAt) {
+        pendingDeliveries.incrementAndGet();
+        return attemptDelivery(scanDetails, target, targetType, blocks, scanEnd, detectedAt, 0)
+                .exceptionally(ex -> {
+                    logger.warn("Gave up on notification for scan {} to {} {}: {}", scanDetails.getId(), targetType, target, ex.getMessage());
+                    return null;
+                })
+                .whenComplete((ignored, ex) -> pendingDeliveries.decrementAndGet());
+    }
+
+    // Transient failures are retried with exponential backoff; the wait is a wheel timer, not a sleeping thread
+    private CompletableFuture<Void> attemptDelivery(FullScanDetails scanDetails, String target, String targetType, List<LayoutBlock> blocks,
+                                                    Instant scanEnd, Instant detectedAt, int retry) {
+        return CompletableFuture.supplyAsync(() -> postNotification(scanDetails, target, targetType, blocks, scanEnd, detectedAt), ioExecutor)
+                .thenCompose(done -> {
+                    if (done || retry >= maxDeliveryRetries) {
+                        return CompletableFuture.<Void>completedFuture(null);
+                    }
+                    long backoffMs = retryBackoffMs << retry;
+                    logger.info("Retrying notification for scan {} to {} {} in {} ms (retry {} of {})",
+                            scanDetails.getId(), targetType, target, backoffMs, retry + 1, maxDeliveryRetries);
+                    return wheelTimer.delay(backoffMs, TimeUnit.MILLISECONDS)
+                            .thenCompose(ignored -> attemptDelivery(scanDetails, target, targetType, blocks, scanEnd, detectedAt, retry + 1));
+                });
+    }
+
+    // Returns false if the post failed in a way that is worth retrying
+    private boolean postNotification(FullScanDetails scanDetails, String target, String targetType, List<LayoutBlock> blocks,
+                                     Instant scanEnd, Instant detectedAt) {
+        try {
+            // Post to the conversation ID so Slack does not have to look up the channel name or open the DM again
+            String conversation = "user".equals(targetType) ? slackDirectory.resolveUser(target) : slackDirectory.resolveChannel(target);
+            ChatPostMessageResponse response = recordSlackCall("chat.postMessage", conversation,
+                    () -> slackApp.client().chatPostMessage(r -> r.channel(conversation).blocks(blocks).text("Scan completed for " + scanDetails.getAppName())));
+            if (response.isOk()) {
+                Instant deliveredAt = Instant.now();
+                latencyRecorder.recordDelivery(scanDetails.getAppName(), target, scanEnd, detectedAt, deliveredAt);
+                logger.info("Successfully sent scan completion notification for scan {} to {} {} (detectionLagMs={} deliveryLagMs={} totalLagMs={})",
+                        scanDetails.getId(), targetType, target,
+                        scanEnd != null ? detectedAt.toEpochMilli() - scanEnd.toEpochMilli() : "n/a",
+                        deliveredAt.toEpochMilli() - detectedAt.toEpochMilli(),
+                        scanEnd != null ? deliveredAt.toEpochMilli() - scanEnd.toEpochMilli() : "n/a");
+                return true;
             }
+            logger.error("Failed to send Slack notification. Slack API responded with an error: {}", response.getError());
+            return PERMANENT_ERRORS.contains(response.getError());
+        } catch (IOException | SlackApiException e) {
+            logger.error("Exception while sending Slack notification for scan {}: {}", scanDetails.getId(), e.getMessage(), e);
+            return false;
         }
+    }
 
+    // Context line like "Scan finished 10:15:30 UTC · detected after 42 s"
+    private LayoutBlock buildLatencyFooter(Instant scanEnd, Instant detectedAt) {
+        String text = String.format("Scan finished %s UTC · detected after %s",
+                scanEnd.toString().substring(11, 19),
+                NotificationLatencyRecorder.formatLag(detectedAt.toEpochMilli() - scanEnd.toEpochMilli()));
+        return ContextBlock.builder().elements(List.of(MarkdownTextObject.builder().text(text).build())).build();
     }
 
     public  List<LayoutBlock> buildScanCompletionBlocks(FullScanDetails scanDetails) {
+        return buildScanCompletionBlocks(tenantRegistry.getDefault(), scanDetails);
+    }
+
+    public List<LayoutBlock> buildScanCompletionBlocks(AppScanTenant tenant, FullScanDetails scanDetails) {
         LatestExecution execution = scanDetails.getLatestExecution();
         if (execution == null) {
             return List.of(SectionBlock.builder().text(MarkdownTextObject.builder().text("Scan " + scanDetails.getId() + " has no 'LatestExecution' data.").build()).build());
@@ -126,6 +255,9 @@ public class NotificationService {
         fields.add(MarkdownTextObject.builder().text("*Application:*\n" + scanDetails.getAppName()).build());
         fields.add(MarkdownTextObject.builder().text("*Scan Name:*\n" + scanDetails.getName()).build());
         fields.add(MarkdownTextObject.builder().text("*Technology:*\n" + scanDetails.getTechnology()).build());
+        if (tenantRegistry.isMultiTenant()) {
+            fields.add(MarkdownTextObject.builder().text("*Tenant:*\n" + tenant.getId()).build());
+        }
 
         CreatedBy createdBy = scanDetails.getCreatedBy();
         if (createdBy != null) {
@@ -143,27 +275,183 @@ public class NotificationService {
         String issueBreakdown = String.format(":bell: *Total:* %d \n :black_circle: *Critical:* %d | :red_circle: *High:* %d | :large_orange_circle: *Medium:* %d | :large_blue_circle: *Low:* %d | :white_circle: *Info:* %d",
                 execution.getNIssuesFound(),execution.getNCriticalIssues(), execution.getNHighIssues(), execution.getNMediumIssues(), execution.getNLowIssues(), execution.getNInfoIssues()
         );
+        Optional<int[]> delta = scanHistoryService.getDelta(tenant.qualify(scanDetails.getAppName()), scanDetails.getId(), execution);
+        if (delta.isPresent()) {
+            issueBreakdown += "\n :chart_with_upwards_trend: " + ScanHistoryService.formatDelta(delta.get());
+        }
         blocks.add(SectionBlock.builder().text(MarkdownTextObject.builder().text("*Issue Summary:*\n" + issueBreakdown).build()).build());
         blocks.add(ActionsBlock.builder().elements(List.of(
-                ButtonElement.builder().text(PlainTextObject.builder().text("View in AppScan").emoji(true).build()).url(appScanBaseUrl+"/main/scans/" + scanDetails.getId()).actionId("view_scan_report_button").build(),
+                ButtonElement.builder().text(PlainTextObject.builder().text("View in AppScan").emoji(true).build()).url(tenant.getBaseUrl() + "/main/scans/" + scanDetails.getId()).actionId("view_scan_report_button").build(),
                 ButtonElement.builder()
                         .text(PlainTextObject.builder().text("Generate Report").emoji(true).build())
                         .actionId("download_report_button")
-                        .value("{\"scanId\":\"" + scanDetails.getId() + "\",\"scanName\":\"" + scanDetails.getName() + "\"}") // Store scanId here
+                        .value(jsonCodec.encodeReportButton(new ReportButtonValue(scanDetails.getId(), scanDetails.getName(),
+                                tenant.isDefault() ? null : tenant.getId())))
                         .build()
         )).build());
 
         return blocks;
     }
 
+    public List<LayoutBlock> buildApplicationSummaryBlocks(AppScanApp summary) {
+        return buildApplicationSummaryBlocks(tenantRegistry.getDefault(), summary);
+    }
+
+    public List<LayoutBlock> buildApplicationSummaryBlocks(AppScanTenant tenant, AppScanApp summary) {
+        String formattedDate = "N/A";
+        if (summary.getDateCreated() != null && summary.getDateCreated().length() >= 10) {
+            formattedDate = summary.getDateCreated().substring(0, 10);
+        }
+        List<TextObject> severityFields = new ArrayList<>(Arrays.asList(
+                MarkdownTextObject.builder().text("*Critical Issues:*\n" + summary.getCriticalIssues()).build(),
+                MarkdownTextObject.builder().text("*High Issues:*\n" + summary.getHighIssues()).build(),
+                MarkdownTextObject.builder().text("*Medium Issues:*\n" + summary.getMediumIssues()).build(),
+                MarkdownTextObject.builder().text("*Low Issues:*\n" + summary.getLowIssues()).build()
+        ));
+        // Trend comes from the locally recorded scan history, so it costs no extra AppScan call
+        scanHistoryService.getLatestDelta(tenant.qualify(summary.getName())).ifPresent(delta ->
+                severityFields.add(MarkdownTextObject.builder().text("*Last Scan Trend:*\n" + ScanHistoryService.formatDelta(delta)).build()));
+        return Arrays.asList(
+                HeaderBlock.builder().text(PlainTextObject.builder().text("Application Summary: " + summary.getName()).emoji(true).build()).build(),
+                SectionBlock.builder().fields(Arrays.asList(
+                        MarkdownTextObject.builder().text("*Application:*\n" + summary.getName()).build(),
+                        MarkdownTextObject.builder().text("*Overall Risk:*\n*" + summary.getRiskRating() + "*").build(),
+                        MarkdownTextObject.builder().text("*Total Issues:*\n" + summary.getTotalIssues()).build(),
+                        MarkdownTextObject.builder().text("*Business Impact:*\n" + summary.getBusinessImpact()).build(),
+                        MarkdownTextObject.builder().text("*Created By:*\n" + summary.getCreatedBy()).build(),
+                        MarkdownTextObject.builder().text("*Date Created:*\n" + formattedDate).build()
+                )).build(),
+                SectionBlock.builder().fields(Arrays.asList(
+                        MarkdownTextObject.builder().text("*New Issues:*\n" + summary.getNewIssues()).build(),
+                        MarkdownTextObject.builder().text("*Open Issues:*\n" + summary.getOpenIssues()).build(),
+                        MarkdownTextObject.builder().text("*In-Progress Issues:*\n" + summary.getIssuesInProgress()).build(),
+                        MarkdownTextObject.builder().text("*Compliance:*\n" + summary.getOverallCompliance()).build(),
+                        MarkdownTextObject.builder().text("*Testing Status:*\n" + summary.getTestingStatus()).build()
+                )).build(),
+                SectionBlock.builder().fields(severityFields).build(),
+                ActionsBlock.builder().elements(List.of(
+                        ButtonElement.builder().text(PlainTextObject.builder().text("View in AppScan").emoji(true).build()).url(tenant.getBaseUrl() + "/main/myapps/" + summary.getId()).actionId("view_in_appscan_button").build()
+                )).build()
+        );
+    }
+
+    /**
+     * Builds one compact table for a bulk summary: a line per application, followed by the applications
+     * that could not be fetched, packed into as few messages as Slack's limits allow.
+     */
+    public List<List<LayoutBlock>> buildBulkSummaryMessages(String title, List<BulkSummaryService.SummaryResult> results) {
+        return buildBulkSummaryMessages(tenantRegistry.getDefault(), title, results);
+    }
+
+    public List<List<LayoutBlock>> buildBulkSummaryMessages(AppScanTenant tenant, String title, List<BulkSummaryService.SummaryResult> results) {
+        BlockKitPacker packer = new BlockKitPacker(title);
+        List<String> failures = new ArrayList<>();
+        for (BulkSummaryService.SummaryResult result : results) {
+            AppScanApp app = result.getApp();
+            if (app == null) {
+                failures.add("`" + result.getRequestedName() + "`: " + result.getError());
+                continue;
+            }
+            String line = String.format("*%s* | Risk: *%s* | :black_circle: %d :red_circle: %d :large_orange_circle: %d :large_blue_circle: %d | Total: %d",
+                    app.getName(), app.getRiskRating(), app.getCriticalIssues(), app.getHighIssues(), app.getMediumIssues(), app.getLowIssues(), app.getTotalIssues());
+            Optional<int[]> delta = scanHistoryService.getLatestDelta(tenant.qualify(app.getName()));
+            if (delta.isPresent()) {
+                line += " | " + ScanHistoryService.formatDelta(delta.get());
+            }
+            packer.addLine(line);
+        }
+        if (!failures.isEmpty()) {
+            String heading = "*Not available (" + failures.size() + " of " + results.size() + "):*";
+            packer.addBlock(SectionBlock.builder().text(MarkdownTextObject.builder().text(heading).build()).build(), heading.length());
+            failures.forEach(packer::addLine);
+        }
+        return packer.build();
+    }
+
+    /**
+     * Builds the portfolio overview: application counts per risk rating, the applications with the most
+     * critical issues and the applications without a recent scan.
+     */
+    public List<List<LayoutBlock>> buildPortfolioMessages(PortfolioService.Snapshot portfolio) {
+        BlockKitPacker packer = new BlockKitPacker("AppScan Portfolio");
+        packer.addLine(String.format("*%d applications* | Synced %s UTC", portfolio.getAppCount(),
+                portfolio.getSyncedAt().toString().substring(0, 16).replace('T', ' ')));
+
+        addHeading(packer, "*Applications by risk rating:*");
+        portfolio.getRiskCounts().forEach((rating, count) -> packer.addField("*" + rating + "*\n" + count));
+
+        addHeading(packer, "*Top " + portfolio.getTopByCritical().size() + " by critical issues:*");
+        if (portfolio.getTopByCritical().isEmpty()) {
+            packer.addLine("No application has open critical or high issues. :tada:");
+        }
+        int rank = 1;
+        for (PortfolioApp app : portfolio.getTopByCritical()) {
+            packer.addLine(String.format("%d. *%s* | :black_circle: %d :red_circle: %d :large_orange_circle: %d | Risk: *%s*",
+                    rank++, app.getName(), app.getCriticalIssues(), app.getHighIssues(), app.getMediumIssues(), app.getRiskRating()));
+        }
+
+        addHeading(packer, "*No scan in the last " + portfolio.getStaleDays() + " days (" + portfolio.getStaleCount() + " applications):*");
+        for (PortfolioService.Stale stale : portfolio.getStalest()) {
+            String lastScan = stale.getLastScan() != null ? "last scan " + stale.getLastScan().toString().substring(0, 10) : "never scanned";
+            packer.addLine("*" + stale.getApp().getName() + "* | " + lastScan);
+        }
+        int notListed = portfolio.getStaleCount() - portfolio.getStalest().size();
+        if (notListed > 0) {
+            packer.addLine("…and " + notListed + " more");
+        }
+        return packer.build();
+    }
+
+    private static void addHeading(BlockKitPacker packer, String heading) {
+        packer.addBlock(SectionBlock.builder().text(MarkdownTextObject.builder().text(heading).build()).build(), heading.length());
+    }
+
+    /**
+     * Posts several messages to a channel: the first as a regular message and the rest as replies in its thread.
+     *
+     * @return false if the first message could not be posted, for example because the bot is not in the channel
+     */
+    public boolean postThreadedMessages(String channelId, List<List<LayoutBlock>> messages, String text) {
+        try {
+            ChatPostMessageResponse first = recordSlackCall("chat.postMessage", channelId,
+                    () -> slackApp.client().chatPostMessage(r -> r.channel(channelId).blocks(messages.get(0)).text(text)));
+            if (!first.isOk()) {
+                logger.warn("Could not post message to channel {}: {}", channelId, first.getError());
+                return false;
+            }
+            for (List<LayoutBlock> blocks : messages.subList(1, messages.size())) {
+                ChatPostMessageResponse reply = recordSlackCall("chat.postMessage", channelId,
+                        () -> slackApp.client().chatPostMessage(r -> r.channel(first.getChannel()).threadTs(first.getTs()).blocks(blocks).text(text)));
+                if (!reply.isOk()) {
+                    logger.error("Failed to post threaded reply to channel {}: {}", channelId, reply.getError());
+                }
+            }
+            return true;
+        } catch (IOException | SlackApiException e) {
+            logger.error("Exception while posting messages to channel {}: {}", channelId, e.getMessage(), e);
+            return false;
+        }
+    }
+
     public void handleDownloadReportButton(String channelId, String userId, String scanId, AppScanService appScanService, String scanName) {
+        inFlightReports.incrementAndGet();
+        try {
+            generateAndShareReport(channelId, scanId, appScanService, scanName)
+                    .whenComplete((ignored, ex) -> inFlightReports.decrementAndGet());
+        } catch (RuntimeException e) {
+            inFlightReports.decrementAndGet();
+            throw e;
+        }
+    }
+
+    private CompletableFuture<Void> generateAndShareReport(String channelId, String scanId, AppScanService appScanService, String scanName) {
         String waitingMessageTs = null;
         try {
             // 1. Send the "please wait" message and capture its timestamp
-            ChatPostMessageResponse waitMsgResponse = slackApp.client().chatPostMessage(r -> r
+            ChatPostMessageResponse waitMsgResponse = recordSlackCall("chat.postMessage", channelId, () -> slackApp.client().chatPostMessage(r -> r
                     .channel(channelId)
                     .text("Generating your AppScan PDF report, please wait... :hourglass_flowing_sand:")
-            );
+            ));
             if (waitMsgResponse.isOk()) {
                 waitingMessageTs = waitMsgResponse.getTs();
             }
@@ -171,58 +459,110 @@ public class NotificationService {
             logger.warn("Failed to send initial acknowledgement to Slack: {}", e.getMessage());
         }
 
-        try {
-            // 2. Generate the report and get the download link
-            String downloadLink = appScanService.getScanReportDownloadLink(scanId, scanName);
+        // 2. Generate the report and wait for the download link without holding a thread
+        String finalWaitingMessageTs = waitingMessageTs;
+        return appScanService.getScanReportDownloadLinkAsync(scanId, scanName)
+                .thenAcceptAsync(downloadLink -> {
+                    try {
+                        shareReport(channelId, downloadLink, appScanService, scanName, finalWaitingMessageTs);
+                    } catch (IOException | SlackApiException e) {
+                        throw new CompletionException(e);
+                    }
+                }, ioExecutor)
+                .exceptionally(ex -> {
+                    reportFailure(channelId, scanId, finalWaitingMessageTs, ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex);
+                    return null;
+                });
+    }
+
+    private void shareReport(String channelId, String downloadLink, AppScanService appScanService, String scanName, String waitingMessageTs)
+            throws IOException, SlackApiException {
+        // 3. Upload the PDF into the channel when relaying is enabled, otherwise share the link
+        boolean uploaded = reportRelayService.isEnabled() && reportRelayService.relayToChannel(channelId, downloadLink, scanName, appScanService);
+        String readyText = uploaded
+                ? "*Your AppScan PDF report is ready* and has been uploaded to this channel."
+                : "*Your AppScan PDF report is ready.*\n<" + downloadLink + "|Download Report>";
+
+        // 4. Update the original message
+        if (waitingMessageTs != null) {
+            recordSlackCall("chat.update", channelId, () -> slackApp.client().chatUpdate(r -> r
+                    .channel(channelId)
+                    .ts(waitingMessageTs)
+                    .blocks(List.of(
+                            SectionBlock.builder()
+                                    .text(MarkdownTextObject.builder()
+                                            .text(readyText)
+                                            .build())
+                                    .build()
+                    ))
+                    .text("Your AppScan PDF report is ready.")
+            ));
+        } else {
+            // Fallback: send a new message if we couldn't update
+            recordSlackCall("chat.postMessage", channelId, () -> slackApp.client().chatPostMessage(r -> r
+                    .channel(channelId)
+                    .blocks(List.of(
+                            SectionBlock.builder()
+                                    .text(MarkdownTextObject.builder()
+                                            .text(readyText)
+                                            .build())
+                                    .build()
+                    ))
+                    .text("Your AppScan PDF report is ready.")
+            ));
+        }
+    }
 
-            // 3. Update the original message with the download link
+    private void reportFailure(String channelId, String scanId, String waitingMessageTs, Throwable e) {
+        Throwable cause = e instanceof RuntimeException && e.getCause() != null ? e.getCause() : e;
+        logger.error("Failed to generate report link for scan {}: {}", scanId, cause.getMessage(), cause);
+        // Cancelled or interrupted when the bot shuts down before the report is ready
+        String failureText = cause instanceof CancellationException || cause instanceof RejectedExecutionException
+                || cause instanceof InterruptedException || cause instanceof InterruptedIOException
+                ? "The bot restarted before the report for scan " + scanId + " was ready. Please click *Generate Report* again."
+                : "Failed to generate the report download link for scan " + scanId + ". Reason: " + cause.getMessage();
+        try {
             if (waitingMessageTs != null) {
-                String finalWaitingMessageTs = waitingMessageTs;
-                slackApp.client().chatUpdate(r -> r
+                recordSlackCall("chat.update", channelId, () -> slackApp.client().chatUpdate(r -> r
                         .channel(channelId)
-                        .ts(finalWaitingMessageTs)
-                        .blocks(List.of(
-                                SectionBlock.builder()
-                                        .text(MarkdownTextObject.builder()
-                                                .text("*Your AppScan PDF report is ready.*\n<" + downloadLink + "|Download Report>")
-                                                .build())
-                                        .build()
-                        ))
-                        .text("Your AppScan PDF report is ready.")
-                );
+                        .ts(waitingMessageTs)
+                        .text(failureText)
+                ));
             } else {
-                // Fallback: send a new message if we couldn't update
-                slackApp.client().chatPostMessage(r -> r
+                recordSlackCall("chat.postMessage", channelId, () -> slackApp.client().chatPostMessage(r -> r
                         .channel(channelId)
-                        .blocks(List.of(
-                                SectionBlock.builder()
-                                        .text(MarkdownTextObject.builder()
-                                                .text("*Your AppScan PDF report is ready.*\n<" + downloadLink + "|Download Report>")
-                                                .build())
-                                        .build()
-                        ))
-                        .text("Your AppScan PDF report is ready.")
-                );
+                        .text(failureText)
+                ));
             }
-        } catch (Exception e) {
-            logger.error("Failed to generate report link for scan {}: {}", scanId, e.getMessage(), e);
-            try {
-                if (waitingMessageTs != null) {
-                    String finalWaitingMessageTs1 = waitingMessageTs;
-                    slackApp.client().chatUpdate(r -> r
-                            .channel(channelId)
-                            .ts(finalWaitingMessageTs1)
-                            .text("Failed to generate the report download link for scan " + scanId + ". Reason: " + e.getMessage())
-                    );
-                } else {
-                    slackApp.client().chatPostMessage(r -> r
-                            .channel(channelId)
-                            .text("Failed to generate the report download link for scan " + scanId + ". Reason: " + e.getMessage())
-                    );
-                }
-            } catch (Exception ex) {
-                logger.error("Failed to send error message to Slack: {}", ex.getMessage(), ex);
+        } catch (Exception ex) {
+            logger.error("Failed to send error message to Slack: {}", ex.getMessage(), ex);
+        }
+    }
+
+    // Runs a Slack Web API call and records it as a SlackCallEvent for Java Flight Recorder
+    private static <T extends SlackApiTextResponse> T recordSlackCall(String method, String channel, SlackCall<T> call)
+            throws IOException, SlackApiException {
+        SlackCallEvent event = new SlackCallEvent();
+        event.begin();
+        try {
+            T response = call.execute();
+            event.ok = response.isOk();
+            event.error = response.getError();
+            return response;
+        } catch (IOException | SlackApiException e) {
+            event.error = e.getClass().getSimpleName() + ": " + e.getMessage();
+            throw e;
+        } finally {
+            if (event.shouldCommit()) {
+                event.method = method;
+                event.channel = channel;
+                event.commit();
             }
         }
     }
+
+    @FunctionalInterface
+    private interface SlackCall<T> {
+        T execute() throws IOException, SlackApiException;
+    }
 }
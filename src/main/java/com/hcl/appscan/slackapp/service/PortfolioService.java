@@ -0,0 +1,286 @@
+/*
+ *
+ *  *
+ *  * Copyright 2025 HCL America, Inc.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *  * /
+ *
+ */
+
+package com.hcl.appscan.slackapp.service;
+
+import com.hcl.appscan.slackapp.metrics.NotificationLatencyRecorder;
+import com.hcl.appscan.slackapp.model.PortfolioApp;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * In-memory materialized view of every AppScan application for the `/appscan portfolio` overview.
+ * <p>
+ * A full sync pages through `/Apps` with a portfolio projection; after that, delta refreshes only fetch
+ * applications whose `LastUpdated` is newer than the latest one seen (minus a small overlap) and upsert
+ * them. Application counts per `RiskRating` are maintained incrementally on every upsert. After each
+ * refresh the top applications by critical issues and the applications with the oldest scans are selected
+ * with bounded heaps, and everything is published as an immutable {@link Snapshot} with a single volatile
+ * write, so the command is answered without calling AppScan. A periodic full sync drops deleted applications.
+ * </p>
+ */
+@Component
+public class PortfolioService {
+    private static final Logger logger = LoggerFactory.getLogger(PortfolioService.class);
+    // Re-fetch a little before the watermark so updates with slightly skewed timestamps are not missed
+    private static final Duration DELTA_OVERLAP = Duration.ofMinutes(2);
+    private static final String UNKNOWN_RISK = "Unknown";
+    private static final Comparator<PortfolioApp> BY_SEVERITY = Comparator
+            .comparingInt(PortfolioApp::getCriticalIssues)
+            .thenComparingInt(PortfolioApp::getHighIssues)
+            .thenComparing(PortfolioApp::getName, Comparator.reverseOrder());
+
+    private final AppScanService appScanService;
+    private final int pageSize;
+    private final int topN;
+    private final Duration staleAfter;
+    private final long fullSyncIntervalMs;
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+
+    // Owned by the single running refresh
+    private final Map<String, PortfolioApp> apps = new HashMap<>();
+    private final Map<String, Integer> riskCounts = new HashMap<>();
+    private Instant watermark;
+    private long lastFullSyncMs;
+
+    private volatile Snapshot snapshot;
+
+    public PortfolioService(AppScanService appScanService,
+                            @Value("${appscan.portfolio.page.size:500}") int pageSize,
+                            @Value("${appscan.portfolio.top.n:10}") int topN,
+                            @Value("${appscan.portfolio.stale.days:30}") int staleDays,
+                            @Value("${appscan.portfolio.full.sync.ms:21600000}") long fullSyncIntervalMs) {
+        this.appScanService = appScanService;
+        this.pageSize = pageSize;
+        this.topN = topN;
+        this.staleAfter = Duration.ofDays(staleDays);
+        this.fullSyncIntervalMs = fullSyncIntervalMs;
+    }
+
+    /**
+     * Latest published view, or empty until the first full sync has finished.
+     */
+    public Optional<Snapshot> getSnapshot() {
+        return Optional.ofNullable(snapshot);
+    }
+
+    @Scheduled(fixedDelayString = "${appscan.portfolio.refresh.ms:300000}")
+    public void refresh() {
+        if (!refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        boolean fullSync = watermark == null || start - lastFullSyncMs >= fullSyncIntervalMs;
+        Instant updatedSince = fullSync ? null : watermark.minus(DELTA_OVERLAP);
+        loadPages(0, updatedSince, new ArrayList<>())
+                .thenAccept(changed -> {
+                    if (fullSync) {
+                        apps.clear();
+                        riskCounts.clear();
+                        lastFullSyncMs = start;
+                    }
+                    changed.forEach(this::upsert);
+                    snapshot = buildSnapshot();
+                    logger.info("Portfolio {} applied {} applications in {} ms ({} applications in view)",
+                            fullSync ? "full sync" : "delta refresh", changed.size(), System.currentTimeMillis() - start, apps.size());
+                })
+                .exceptionally(ex -> {
+                    logger.error("Failed to refresh the portfolio view. Keeping the previous view.", ex);
+                    return null;
+                })
+                .whenComplete((ignored, ex) -> refreshing.set(false));
+    }
+
+    private CompletableFuture<List<PortfolioApp>> loadPages(int skip, Instant updatedSince, List<PortfolioApp> loaded) {
+        return appScanService.getPortfolioPage(skip, pageSize, updatedSince).thenCompose(page -> {
+            loaded.addAll(page);
+            if (page.size() < pageSize) {
+                return CompletableFuture.completedFuture(loaded);
+            }
+            return loadPages(skip + page.size(), updatedSince, loaded);
+        });
+    }
+
+    private void upsert(PortfolioApp app) {
+        PortfolioApp previous = apps.put(app.getId(), app);
+        if (previous != null) {
+            riskCounts.merge(riskBucket(previous.getRiskRating()), -1, Integer::sum);
+        }
+        riskCounts.merge(riskBucket(app.getRiskRating()), 1, Integer::sum);
+        Instant updated = NotificationLatencyRecorder.parseTimestamp(app.getLastUpdated());
+        if (updated != null && (watermark == null || updated.isAfter(watermark))) {
+            watermark = updated;
+        }
+    }
+
+    private Snapshot buildSnapshot() {
+        Instant now = Instant.now();
+        Instant staleBefore = now.minus(staleAfter);
+        // Min-heaps of size topN keep the N most severe and the N longest-unscanned applications
+        PriorityQueue<PortfolioApp> mostSevere = new PriorityQueue<>(topN + 1, BY_SEVERITY);
+        PriorityQueue<Stale> stalest = new PriorityQueue<>(topN + 1, Comparator.comparing(Stale::getLastScan, Comparator.nullsFirst(Comparator.naturalOrder())).reversed());
+        int staleCount = 0;
+        for (PortfolioApp app : apps.values()) {
+            if (app.getCriticalIssues() > 0 || app.getHighIssues() > 0) {
+                offer(mostSevere, app);
+            }
+            Instant lastScan = NotificationLatencyRecorder.parseTimestamp(app.getLastScanEndTime());
+            if (lastScan == null || lastScan.isBefore(staleBefore)) {
+                staleCount++;
+                offer(stalest, new Stale(app, lastScan));
+            }
+        }
+        List<PortfolioApp> top = new ArrayList<>(mostSevere);
+        top.sort(BY_SEVERITY.reversed());
+        List<Stale> oldest = new ArrayList<>(stalest);
+        oldest.sort(stalest.comparator().reversed());
+
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        riskCounts.entrySet().stream()
+                .filter(entry -> entry.getValue() > 0)
+                .sorted(Comparator.comparingInt(entry -> riskOrder(entry.getKey())))
+                .forEach(entry -> counts.put(entry.getKey(), entry.getValue()));
+        return new Snapshot(apps.size(), counts, List.copyOf(top), List.copyOf(oldest), staleCount, (int) staleAfter.toDays(), now);
+    }
+
+    private <T> void offer(PriorityQueue<T> heap, T value) {
+        heap.offer(value);
+        if (heap.size() > topN) {
+            heap.poll();
+        }
+    }
+
+    // Applications that have never been scanned come back without a RiskRating
+    private static String riskBucket(String riskRating) {
+        return riskRating == null || riskRating.isBlank() ? UNKNOWN_RISK : riskRating;
+    }
+
+    private static int riskOrder(String riskRating) {
+        return switch (riskRating.toLowerCase()) {
+            case "critical" -> 0;
+            case "high" -> 1;
+            case "medium" -> 2;
+            case "low" -> 3;
+            case "none" -> 4;
+            default -> 5;
+        };
+    }
+
+    /**
+     * An application without a scan in the staleness window.
+     */
+    public static final class Stale {
+        private final PortfolioApp app;
+        private final Instant lastScan;
+
+        Stale(PortfolioApp app, Instant lastScan) {
+            this.app = app;
+            this.lastScan = lastScan;
+        }
+
+        public PortfolioApp getApp() {
+            return app;
+        }
+
+        /**
+         * End time of the last scan, or null if the application was never scanned.
+         */
+        public Instant getLastScan() {
+            return lastScan;
+        }
+    }
+
+    /**
+     * Immutable, pre-aggregated portfolio overview.
+     */
+    public static final class Snapshot {
+        private final int appCount;
+        private final Map<String, Integer> riskCounts;
+        private final List<PortfolioApp> topByCritical;
+        private final List<Stale> stalest;
+        private final int staleCount;
+        private final int staleDays;
+        private final Instant syncedAt;
+
+        Snapshot(int appCount, Map<String, Integer> riskCounts, List<PortfolioApp> topByCritical, List<Stale> stalest,
+                 int staleCount, int staleDays, Instant syncedAt) {
+            this.appCount = appCount;
+            this.riskCounts = riskCounts;
+            this.topByCritical = topByCritical;
+            this.stalest = stalest;
+            this.staleCount = staleCount;
+            this.staleDays = staleDays;
+            this.syncedAt = syncedAt;
+        }
+
+        public int getAppCount() {
+            return appCount;
+        }
+
+        /**
+         * Number of applications per risk rating, most severe rating first.
+         */
+        public Map<String, Integer> getRiskCounts() {
+            return riskCounts;
+        }
+
+        /**
+         * Applications with the most critical issues (then high issues), most severe first.
+         */
+        public List<PortfolioApp> getTopByCritical() {
+            return topByCritical;
+        }
+
+        /**
+         * Applications without a scan in the last {@link #getStaleDays()} days, longest unscanned first.
+         */
+        public List<Stale> getStalest() {
+            return stalest;
+        }
+
+        public int getStaleCount() {
+            return staleCount;
+        }
+
+        public int getStaleDays() {
+            return staleDays;
+        }
+
+        public Instant getSyncedAt() {
+            return syncedAt;
+        }
+    }
+}
@@ -0,0 +1,236 @@
+/*
+ *
+ *  *
+ *  * Copyright 2025 HCL America, Inc.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *  * /
+ *
+ */
+
+package com.hcl.appscan.slackapp.service;
+
+import com.slack.api.bolt.App;
+import com.slack.api.methods.request.files.FilesCompleteUploadExternalRequest;
+import com.slack.api.methods.response.files.FilesCompleteUploadExternalResponse;
+import com.slack.api.methods.response.files.FilesGetUploadURLExternalResponse;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.BufferedSink;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Relays a generated AppScan PDF report into a Slack channel, for users who cannot open the AppScan
+ * download link without their own AppScan credentials.
+ * <p>
+ * Uses the Slack files upload v2 flow (`files.getUploadURLExternal`, upload, `files.completeUploadExternal`).
+ * The report bytes are streamed from the AppScan response straight into the upload request through a
+ * fixed-size buffer, so a large PDF is never held on the heap. The number of concurrent relays is capped
+ * by `appscan.report.relay.max.concurrent`.
+ * </p>
+ */
+@Component
+public class ReportRelayService {
+    private static final Logger logger = LoggerFactory.getLogger(ReportRelayService.class);
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final MediaType PDF = MediaType.parse("application/pdf");
+
+    private final App slackApp;
+    private final AppScanService appScanService;
+    private final boolean enabled;
+    private final int maxConcurrent;
+    private final long maxBytes;
+    private final long acquireTimeoutMs;
+    private final Semaphore relayPermits;
+    private final OkHttpClient uploadClient = new OkHttpClient.Builder()
+            .writeTimeout(5, TimeUnit.MINUTES)
+            .build();
+
+    private final AtomicLong relaysCompleted = new AtomicLong();
+    private final AtomicLong relaysFailed = new AtomicLong();
+    private final AtomicLong relaysRejected = new AtomicLong();
+    private final AtomicLong bytesRelayed = new AtomicLong();
+    private final AtomicLong relayMillis = new AtomicLong();
+
+    public ReportRelayService(@Lazy App slackApp, AppScanService appScanService,
+                              @Value("${appscan.report.relay.enabled:false}") boolean enabled,
+                              @Value("${appscan.report.relay.max.concurrent:2}") int maxConcurrent,
+                              @Value("${appscan.report.relay.max.bytes:104857600}") long maxBytes,
+                              @Value("${appscan.report.relay.acquire.timeout.ms:30000}") long acquireTimeoutMs) {
+        this.slackApp = slackApp;
+        this.appScanService = appScanService;
+        this.enabled = enabled;
+        this.maxBytes = maxBytes;
+        this.acquireTimeoutMs = acquireTimeoutMs;
+        this.maxConcurrent = Math.max(1, maxConcurrent);
+        this.relayPermits = new Semaphore(this.maxConcurrent, true);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Uploads the report behind the download link to the channel.
+     *
+     * @return true if the file was uploaded, false if the caller should fall back to sharing the link
+     */
+    public boolean relayToChannel(String channelId, String downloadLink, String scanName) {
+        return relayToChannel(channelId, downloadLink, scanName, appScanService);
+    }
+
+    /**
+     * Uploads the report behind the download link to the channel, downloading it through the given
+     * tenant's client.
+     */
+    public boolean relayToChannel(String channelId, String downloadLink, String scanName, AppScanService source) {
+        try {
+            if (!relayPermits.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS)) {
+                relaysRejected.incrementAndGet();
+                logger.warn("Too many concurrent report relays. Sharing the download link for scan {} instead.", scanName);
+                return false;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+        long start = System.currentTimeMillis();
+        try (Response download = source.openReportDownload(downloadLink)) {
+            ResponseBody body = download.body();
+            long length = body.contentLength();
+            // The upload URL has to be requested with the exact file size
+            if (length <= 0 || length > maxBytes) {
+                logger.warn("Report for scan {} has unsupported size {} bytes. Sharing the download link instead.", scanName, length);
+                relaysRejected.incrementAndGet();
+                return false;
+            }
+            String filename = sanitizeFilename(scanName) + ".pdf";
+            FilesGetUploadURLExternalResponse uploadUrl = slackApp.client().filesGetUploadURLExternal(r -> r
+                    .filename(filename)
+                    .length((int) length));
+            if (!uploadUrl.isOk()) {
+                throw new IOException("files.getUploadURLExternal failed: " + uploadUrl.getError());
+            }
+
+            Request uploadRequest = new Request.Builder()
+                    .url(uploadUrl.getUploadUrl())
+                    .post(new StreamingBody(body, length))
+                    .build();
+            try (Response uploadResponse = uploadClient.newCall(uploadRequest).execute()) {
+                if (!uploadResponse.isSuccessful()) {
+                    throw new IOException("Report upload to Slack failed: " + uploadResponse);
+                }
+            }
+
+            FilesCompleteUploadExternalResponse complete = slackApp.client().filesCompleteUploadExternal(r -> r
+                    .files(List.of(FilesCompleteUploadExternalRequest.FileDetails.builder()
+                            .id(uploadUrl.getFileId())
+                            .title(scanName + " - AppScan Report")
+                            .build()))
+                    .channelId(channelId));
+            if (!complete.isOk()) {
+                throw new IOException("files.completeUploadExternal failed: " + complete.getError());
+            }
+
+            long elapsed = Math.max(1, System.currentTimeMillis() - start);
+            relaysCompleted.incrementAndGet();
+            bytesRelayed.addAndGet(length);
+            relayMillis.addAndGet(elapsed);
+            logger.info("Relayed report for scan {} to channel {}: {} bytes in {} ms ({} KB/s)",
+                    scanName, channelId, length, elapsed, length * 1000 / 1024 / elapsed);
+            return true;
+        } catch (Exception e) {
+            relaysFailed.incrementAndGet();
+            logger.error("Failed to relay report for scan {} to channel {}: {}", scanName, channelId, e.getMessage(), e);
+            return false;
+        } finally {
+            relayPermits.release();
+        }
+    }
+
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("completed", relaysCompleted.get());
+        metrics.put("failed", relaysFailed.get());
+        metrics.put("rejected", relaysRejected.get());
+        metrics.put("inFlight", maxConcurrent - relayPermits.availablePermits());
+        metrics.put("bytes", bytesRelayed.get());
+        long millis = relayMillis.get();
+        metrics.put("averageKilobytesPerSecond", millis > 0 ? bytesRelayed.get() * 1000 / 1024 / millis : 0);
+        return metrics;
+    }
+
+    private static String sanitizeFilename(String name) {
+        String sanitized = name == null ? "" : name.replaceAll("[^a-zA-Z0-9\\-._ ]", "_").trim();
+        return sanitized.isEmpty() ? "appscan-report" : sanitized;
+    }
+
+    /**
+     * Request body that copies the AppScan response into the upload through a fixed-size buffer.
+     * It can only be written once, since the source stream is consumed.
+     */
+    private static final class StreamingBody extends RequestBody {
+        private final ResponseBody source;
+        private final long length;
+
+        StreamingBody(ResponseBody source, long length) {
+            this.source = source;
+            this.length = length;
+        }
+
+        @Override
+        public MediaType contentType() {
+            return PDF;
+        }
+
+        @Override
+        public long contentLength() {
+            return length;
+        }
+
+        @Override
+        public boolean isOneShot() {
+            return true;
+        }
+
+        @Override
+        public void writeTo(BufferedSink sink) throws IOException {
+            byte[] buffer = new byte[BUFFER_SIZE];
+            InputStream in = source.byteStream();
+            OutputStream out = sink.outputStream();
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+            out.flush();
+        }
+    }
+}
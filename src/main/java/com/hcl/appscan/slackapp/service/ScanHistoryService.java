@@ -0,0 +1,305 @@
+/*
+ *
+ *  *
+ *  * Copyright 2025 HCL America, Inc.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *  * /
+ *
+ */
+
+package com.hcl.appscan.slackapp.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hcl.appscan.slackapp.model.LatestExecution;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps a compact history of recent scan executions per application, so notifications and
+ * summaries can show how issue counts moved since the previous scan without calling AppScan again.
+ * <p>
+ * Each application owns a fixed-size ring buffer backed by primitive arrays: one row of severity
+ * counts (critical, high, medium, low, info) and one 64-bit scan key per execution. With the default
+ * depth of 10 that is 10 * (5 * 4 + 8) = 280 bytes of payload per application, so 10k monitored
+ * applications stay within a few megabytes including map overhead. If `appscan.history.snapshot.file`
+ * is set, the buffers are written to that JSON snapshot file periodically and on shutdown, and restored
+ * on startup.
+ * </p>
+ */
+@Component
+public class ScanHistoryService {
+    private static final Logger logger = LoggerFactory.getLogger(ScanHistoryService.class);
+    private static final int SEVERITY_COUNT = 5;
+    private static final String[] SEVERITY_LABELS = {"critical", "high", "medium", "low", "info"};
+
+    private final Map<String, History> histories = new ConcurrentHashMap<>();
+    private final int depth;
+    private final Path snapshotFile;
+    private final ObjectMapper objectMapper;
+    private volatile boolean dirty;
+
+    public ScanHistoryService(
+            @Value("${appscan.history.depth:10}") int depth,
+            @Value("${appscan.history.snapshot.file:}") String snapshotFile,
+            ObjectMapper objectMapper
+    ) {
+        this.depth = Math.max(2, depth);
+        this.snapshotFile = snapshotFile == null || snapshotFile.isBlank() ? null : Paths.get(snapshotFile);
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Records the issue counts of a completed execution. Recording the same scan twice in a row is a no-op.
+     */
+    public void record(String appName, String scanId, LatestExecution execution) {
+        if (appName == null || scanId == null || execution == null) {
+            return;
+        }
+        History history = histories.computeIfAbsent(appName, k -> new History(depth));
+        if (history.add(scanKey(scanId), toRow(execution))) {
+            dirty = true;
+        }
+    }
+
+    /**
+     * Returns the change in issue counts between the given execution and the execution recorded before it.
+     * If the scan has not been recorded yet, it is compared against the most recent recorded execution.
+     */
+    public Optional<int[]> getDelta(String appName, String scanId, LatestExecution execution) {
+        History history = appName != null ? histories.get(appName) : null;
+        if (history == null || scanId == null || execution == null) {
+            return Optional.empty();
+        }
+        int[] previous = history.previousOf(scanKey(scanId));
+        return previous == null ? Optional.empty() : Optional.of(subtract(toRow(execution), previous));
+    }
+
+    /**
+     * Returns true if the scan is the most recent execution recorded for the application. Only notified
+     * scans are recorded, so with a snapshot file this tells whether a scan was notified before a restart.
+     */
+    public boolean isLatest(String appName, String scanId) {
+        History history = appName != null ? histories.get(appName) : null;
+        return history != null && scanId != null && history.isLatest(scanKey(scanId));
+    }
+
+    /**
+     * Returns the change in issue counts between the two most recent executions recorded for the application.
+     */
+    public Optional<int[]> getLatestDelta(String appName) {
+        History history = appName != null ? histories.get(appName) : null;
+        if (history == null) {
+            return Optional.empty();
+        }
+        int[][] lastTwo = history.lastTwo();
+        return lastTwo == null ? Optional.empty() : Optional.of(subtract(lastTwo[0], lastTwo[1]));
+    }
+
+    /**
+     * Formats a delta as Slack markdown, e.g. "+3 critical, -1 high since last scan".
+     */
+    public static String formatDelta(int[] delta) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < SEVERITY_COUNT; i++) {
+            if (delta[i] == 0) {
+                continue;
+            }
+            if (sb.length() > 0) {
+                sb.append(", ");
+            }
+            sb.append(delta[i] > 0 ? "+" : "").append(delta[i]).append(' ').append(SEVERITY_LABELS[i]);
+        }
+        return sb.length() == 0 ? "No change since last scan" : sb.append(" since last scan").toString();
+    }
+
+    public int getTrackedAppCount() {
+        return histories.size();
+    }
+
+    @PostConstruct
+    public void loadSnapshot() {
+        if (snapshotFile == null) {
+            logger.info("Scan history is kept in memory only (appscan.history.snapshot.file is not set). Deltas and the last notified scans are lost on restart.");
+            return;
+        }
+        if (!Files.exists(snapshotFile)) {
+            return;
+        }
+        try {
+            Snapshot snapshot = objectMapper.readValue(Files.readString(snapshotFile, StandardCharsets.UTF_8), Snapshot.class);
+            if (snapshot.apps != null) {
+                snapshot.apps.forEach((appName, entry) -> {
+                    History history = new History(depth);
+                    int rows = Math.min(entry.scanKeys.length, entry.counts.length / SEVERITY_COUNT);
+                    for (int i = 0; i < rows; i++) {
+                        int[] row = new int[SEVERITY_COUNT];
+                        System.arraycopy(entry.counts, i * SEVERITY_COUNT, row, 0, SEVERITY_COUNT);
+                        history.add(entry.scanKeys[i], row);
+                    }
+                    histories.put(appName, history);
+                });
+            }
+            logger.info("Restored scan history for {} applications from {}", histories.size(), snapshotFile);
+        } catch (Exception e) {
+            logger.error("Failed to restore scan history from {}. Starting with an empty history.", snapshotFile, e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${appscan.history.snapshot.interval.ms:60000}")
+    public void saveSnapshot() {
+        if (snapshotFile == null || !dirty) {
+            return;
+        }
+        dirty = false;
+        Snapshot snapshot = new Snapshot();
+        snapshot.apps = new HashMap<>();
+        histories.forEach((appName, history) -> snapshot.apps.put(appName, history.toEntry()));
+        try {
+            Path parent = snapshotFile.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            Path tmp = snapshotFile.resolveSibling(snapshotFile.getFileName() + ".tmp");
+            Files.writeString(tmp, objectMapper.writeValueAsString(snapshot), StandardCharsets.UTF_8);
+            Files.move(tmp, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            dirty = true;
+            logger.error("Failed to write scan history snapshot to {}", snapshotFile, e);
+        }
+    }
+
+    @PreDestroy
+    public void flush() {
+        saveSnapshot();
+    }
+
+    private static int[] toRow(LatestExecution execution) {
+        return new int[]{
+                execution.getNCriticalIssues(), execution.getNHighIssues(), execution.getNMediumIssues(),
+                execution.getNLowIssues(), execution.getNInfoIssues()
+        };
+    }
+
+    private static int[] subtract(int[] current, int[] previous) {
+        int[] delta = new int[SEVERITY_COUNT];
+        for (int i = 0; i < SEVERITY_COUNT; i++) {
+            delta[i] = current[i] - previous[i];
+        }
+        return delta;
+    }
+
+    // 64-bit FNV-1a hash of the scan ID, so the ring buffer never has to hold the ID strings
+    static long scanKey(String scanId) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < scanId.length(); i++) {
+            hash ^= scanId.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    /**
+     * Fixed-size ring buffer of executions for a single application, oldest entries are overwritten first.
+     */
+    private static final class History {
+        private final long[] scanKeys;
+        private final int[] counts;
+        private int next;
+        private int size;
+
+        History(int depth) {
+            this.scanKeys = new long[depth];
+            this.counts = new int[depth * SEVERITY_COUNT];
+        }
+
+        synchronized boolean add(long key, int[] row) {
+            if (size > 0 && scanKeys[slot(0)] == key) {
+                return false;
+            }
+            scanKeys[next] = key;
+            System.arraycopy(row, 0, counts, next * SEVERITY_COUNT, SEVERITY_COUNT);
+            next = (next + 1) % scanKeys.length;
+            size = Math.min(size + 1, scanKeys.length);
+            return true;
+        }
+
+        // Row recorded before the given scan, or the latest row if the scan is unknown
+        synchronized int[] previousOf(long key) {
+            for (int age = 0; age < size; age++) {
+                if (scanKeys[slot(age)] == key) {
+                    return age + 1 < size ? row(slot(age + 1)) : null;
+                }
+            }
+            return size > 0 ? row(slot(0)) : null;
+        }
+
+        synchronized boolean isLatest(long key) {
+            return size > 0 && scanKeys[slot(0)] == key;
+        }
+
+        synchronized int[][] lastTwo() {
+            return size < 2 ? null : new int[][]{row(slot(0)), row(slot(1))};
+        }
+
+        synchronized SnapshotEntry toEntry() {
+            SnapshotEntry entry = new SnapshotEntry();
+            entry.scanKeys = new long[size];
+            entry.counts = new int[size * SEVERITY_COUNT];
+            // Oldest first, so replaying the entry through add() restores the same order
+            for (int i = 0; i < size; i++) {
+                int s = slot(size - 1 - i);
+                entry.scanKeys[i] = scanKeys[s];
+                System.arraycopy(counts, s * SEVERITY_COUNT, entry.counts, i * SEVERITY_COUNT, SEVERITY_COUNT);
+            }
+            return entry;
+        }
+
+        // Slot index of the entry 'age' executions back from the latest one
+        private int slot(int age) {
+            return Math.floorMod(next - 1 - age, scanKeys.length);
+        }
+
+        private int[] row(int slot) {
+            int[] row = new int[SEVERITY_COUNT];
+            System.arraycopy(counts, slot * SEVERITY_COUNT, row, 0, SEVERITY_COUNT);
+            return row;
+        }
+    }
+
+    // Persisted form of the history, one entry per application
+    static class Snapshot {
+        public Map<String, SnapshotEntry> apps;
+    }
+
+    static class SnapshotEntry {
+        public long[] scanKeys = new long[0];
+        public int[] counts = new int[0];
+    }
+}
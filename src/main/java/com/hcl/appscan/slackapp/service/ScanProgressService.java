@@ -0,0 +1,310 @@
+/*
+ *
+ *  *
+ *  * Copyright 2025 HCL America, Inc.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *  * /
+ *
+ */
+
+package com.hcl.appscan.slackapp.service;
+
+import com.hcl.appscan.slackapp.model.ScanStatus;
+import com.hcl.appscan.slackapp.scheduler.HashedWheelTimer;
+import com.hcl.appscan.slackapp.tenant.AppScanTenant;
+import com.hcl.appscan.slackapp.tenant.TenantRegistry;
+import com.slack.api.bolt.App;
+import com.slack.api.methods.SlackApiException;
+import com.slack.api.methods.response.chat.ChatPostMessageResponse;
+import com.slack.api.methods.response.chat.ChatUpdateResponse;
+import com.slack.api.model.block.ContextBlock;
+import com.slack.api.model.block.LayoutBlock;
+import com.slack.api.model.block.SectionBlock;
+import com.slack.api.model.block.composition.MarkdownTextObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Optional live progress messages for running scans (`appscan.progress.enabled`).
+ * <p>
+ * When the poller first sees a scan that is not ready yet, one message is posted to each channel mapped
+ * to the application. Later polls edit those messages in place with `chat.update` as the status,
+ * progress and issue counts change, and the messages are finalised once the scan is ready or has
+ * failed; the regular completion notification is still posted separately.
+ * </p>
+ * <p>
+ * Edits are coalesced: a message is updated at most once per `appscan.progress.update.interval.ms`.
+ * A change that arrives sooner is held back on the wheel timer and only the latest state is sent when it
+ * fires. Unchanged polls cause no Slack call at all. State is kept in memory per application, so after a
+ * restart or a cluster rebalance a running scan gets a fresh progress message.
+ * </p>
+ */
+@Component
+public class ScanProgressService {
+    private static final Logger logger = LoggerFactory.getLogger(ScanProgressService.class);
+    private static final Set<String> FAILED_STATUSES = Set.of("FailedToScan", "Failed", "ManuallyStopped", "Stopped", "Canceled", "Cancelled");
+    private static final String[] SEVERITY_LABELS = {"Critical", "High", "Medium", "Low"};
+
+    private final App slackApp;
+    private final TenantRegistry tenantRegistry;
+    private final SlackDirectoryService slackDirectory;
+    private final HashedWheelTimer wheelTimer;
+    private final ExecutorService ioExecutor;
+    private final boolean enabled;
+    private final long updateIntervalNanos;
+    // Keyed by tenant-qualified application name; a new scan of the application replaces the entry
+    private final Map<String, Progress> progressByApp = new ConcurrentHashMap<>();
+    private final AtomicLong messagesPosted = new AtomicLong();
+    private final AtomicLong updatesSent = new AtomicLong();
+    private final AtomicLong updatesCoalesced = new AtomicLong();
+    private final AtomicLong updatesFailed = new AtomicLong();
+
+    public ScanProgressService(@Lazy App slackApp, TenantRegistry tenantRegistry, SlackDirectoryService slackDirectory,
+                               HashedWheelTimer wheelTimer, @Qualifier("ioExecutor") ExecutorService ioExecutor,
+                               @Value("${appscan.progress.enabled:false}") boolean enabled,
+                               @Value("${appscan.progress.update.interval.ms:60000}") long updateIntervalMs) {
+        this.slackApp = slackApp;
+        this.tenantRegistry = tenantRegistry;
+        this.slackDirectory = slackDirectory;
+        this.wheelTimer = wheelTimer;
+        this.ioExecutor = ioExecutor;
+        this.enabled = enabled;
+        this.updateIntervalNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, updateIntervalMs));
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Records the latest polled state of an application's newest scan. Posts or edits the progress
+     * messages in the background; never blocks the poll.
+     */
+    public void onScanStatus(AppScanTenant tenant, String appName, ScanStatus scan) {
+        if (!enabled || scan == null || scan.getId() == null) {
+            return;
+        }
+        String key = tenant.qualify(appName);
+        Progress progress = progressByApp.compute(key, (k, current) -> {
+            if (current != null && current.scanId.equals(scan.getId())) {
+                return current;
+            }
+            if (current != null) {
+                current.discard();
+            }
+            return new Progress(tenant, appName, scan.getId());
+        });
+        try {
+            ioExecutor.execute(() -> offer(progress, scan));
+        } catch (RejectedExecutionException e) {
+            logger.debug("Dropped progress update for scan {} during shutdown", scan.getId());
+        }
+    }
+
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("enabled", enabled);
+        metrics.put("trackedScans", progressByApp.size());
+        metrics.put("messagesPosted", messagesPosted.get());
+        metrics.put("updatesSent", updatesSent.get());
+        metrics.put("updatesCoalesced", updatesCoalesced.get());
+        metrics.put("updatesFailed", updatesFailed.get());
+        return metrics;
+    }
+
+    private void offer(Progress progress, ScanStatus scan) {
+        synchronized (progress) {
+            if (progress.finished || progress.discarded) {
+                return;
+            }
+            boolean terminal = isTerminal(scan.getStatus());
+            if (progress.messages == null) {
+                // A scan that is already done when first seen only gets the regular notification
+                if (terminal) {
+                    progress.finished = true;
+                    return;
+                }
+                progress.latest = scan;
+                post(progress);
+                return;
+            }
+            progress.latest = scan;
+            if (stateKey(scan).equals(progress.renderedKey)) {
+                return;
+            }
+            long sinceLastUpdate = System.nanoTime() - progress.lastUpdateNanos;
+            if (terminal || sinceLastUpdate >= updateIntervalNanos) {
+                progress.finished = terminal;
+                flush(progress);
+            } else if (progress.pendingUpdate == null) {
+                progress.pendingUpdate = wheelTimer.newTimeout(() -> flushPending(progress),
+                        updateIntervalNanos - sinceLastUpdate, TimeUnit.NANOSECONDS);
+            } else {
+                updatesCoalesced.incrementAndGet();
+            }
+        }
+    }
+
+    private void flushPending(Progress progress) {
+        synchronized (progress) {
+            progress.pendingUpdate = null;
+            if (!progress.discarded && !stateKey(progress.latest).equals(progress.renderedKey)) {
+                flush(progress);
+            }
+        }
+    }
+
+    // Caller holds the lock on progress
+    private void post(Progress progress) {
+        List<LayoutBlock> blocks = render(progress);
+        String text = fallbackText(progress);
+        List<String[]> messages = new ArrayList<>();
+        for (String channel : progress.tenant.getChannelMappings().getChannelsForApp(progress.appName)) {
+            try {
+                String conversation = slackDirectory.resolveChannel(channel);
+                ChatPostMessageResponse response = slackApp.client().chatPostMessage(r -> r.channel(conversation).blocks(blocks).text(text));
+                if (response.isOk()) {
+                    // chat.update needs the channel ID, which Slack returns even when posting by name
+                    messages.add(new String[]{response.getChannel(), response.getTs()});
+                    messagesPosted.incrementAndGet();
+                } else {
+                    logger.warn("Could not post progress message for scan {} to {}: {}", progress.scanId, channel, response.getError());
+                }
+            } catch (IOException | SlackApiException e) {
+                logger.warn("Exception while posting progress message for scan {} to {}: {}", progress.scanId, channel, e.getMessage());
+            }
+        }
+        progress.messages = messages;
+        progress.renderedKey = stateKey(progress.latest);
+        progress.lastUpdateNanos = System.nanoTime();
+    }
+
+    // Caller holds the lock on progress
+    private void flush(Progress progress) {
+        if (progress.pendingUpdate != null) {
+            progress.pendingUpdate.cancel();
+            progress.pendingUpdate = null;
+        }
+        List<LayoutBlock> blocks = render(progress);
+        String text = fallbackText(progress);
+        for (String[] message : progress.messages) {
+            try {
+                ChatUpdateResponse response = slackApp.client().chatUpdate(r -> r.channel(message[0]).ts(message[1]).blocks(blocks).text(text));
+                if (response.isOk()) {
+                    updatesSent.incrementAndGet();
+                } else {
+                    updatesFailed.incrementAndGet();
+                    logger.warn("Could not update progress message for scan {} in {}: {}", progress.scanId, message[0], response.getError());
+                }
+            } catch (IOException | SlackApiException e) {
+                updatesFailed.incrementAndGet();
+                logger.warn("Exception while updating progress message for scan {} in {}: {}", progress.scanId, message[0], e.getMessage());
+            }
+        }
+        progress.renderedKey = stateKey(progress.latest);
+        progress.lastUpdateNanos = System.nanoTime();
+    }
+
+    private List<LayoutBlock> render(Progress progress) {
+        ScanStatus scan = progress.latest;
+        String app = "*" + progress.appName + "*"
+                + (tenantRegistry.isMultiTenant() ? " (" + progress.tenant.getId() + ")" : "");
+        String headline;
+        if ("Ready".equalsIgnoreCase(scan.getStatus())) {
+            headline = ":white_check_mark: Scan of " + app + " completed. The summary is posted below.";
+        } else if (FAILED_STATUSES.contains(scan.getStatus())) {
+            headline = ":x: Scan of " + app + " ended with status *" + scan.getStatus() + "*.";
+        } else {
+            headline = ":hourglass_flowing_sand: Scan of " + app + " is running. Status: *" + scan.getStatus() + "*"
+                    + (scan.getProgress() != null ? " (" + scan.getProgress() + "%)" : "");
+        }
+        StringBuilder details = new StringBuilder(headline);
+        int[] counts = scan.getIssueCounts();
+        if (counts != null) {
+            details.append("\nIssues found so far: ");
+            for (int i = 0; i < SEVERITY_LABELS.length; i++) {
+                details.append(i > 0 ? " · " : "").append(SEVERITY_LABELS[i]).append(' ').append(counts[i]);
+            }
+        }
+        long now = Instant.now().getEpochSecond();
+        String footer = "Scan ID: " + progress.scanId + " · Updated <!date^" + now + "^{time}|" + Instant.ofEpochSecond(now) + ">";
+        return List.of(
+                SectionBlock.builder().text(MarkdownTextObject.builder().text(details.toString()).build()).build(),
+                ContextBlock.builder().elements(List.of(MarkdownTextObject.builder().text(footer).build())).build()
+        );
+    }
+
+    private static String fallbackText(Progress progress) {
+        return "Scan of " + progress.appName + ": " + progress.latest.getStatus();
+    }
+
+    // What a message shows apart from its timestamp; equal keys mean an edit would change nothing
+    private static String stateKey(ScanStatus scan) {
+        return scan.getStatus() + "|" + scan.getProgress() + "|" + Arrays.toString(scan.getIssueCounts());
+    }
+
+    private static boolean isTerminal(String status) {
+        return "Ready".equalsIgnoreCase(status) || FAILED_STATUSES.contains(status);
+    }
+
+    /**
+     * Progress messages of one scan. Guarded by its own monitor, so updates of different scans never wait on each other.
+     */
+    private static final class Progress {
+        private final AppScanTenant tenant;
+        private final String appName;
+        private final String scanId;
+        private ScanStatus latest;
+        // Channel ID and message timestamp per posted message; null until the first post
+        private List<String[]> messages;
+        private String renderedKey;
+        private long lastUpdateNanos;
+        private HashedWheelTimer.Timeout pendingUpdate;
+        private boolean finished;
+        private boolean discarded;
+
+        Progress(AppScanTenant tenant, String appName, String scanId) {
+            this.tenant = tenant;
+            this.appName = appName;
+            this.scanId = scanId;
+        }
+
+        // Superseded by a newer scan of the same application
+        synchronized void discard() {
+            discarded = true;
+            if (pendingUpdate != null) {
+                pendingUpdate.cancel();
+                pendingUpdate = null;
+            }
+        }
+    }
+}
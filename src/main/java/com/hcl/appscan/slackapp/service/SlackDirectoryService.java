@@ -0,0 +1,282 @@
+/*
+ *
+ *  *
+ *  * Copyright 2025 HCL America, Inc.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *  * /
+ *
+ */
+
+package com.hcl.appscan.slackapp.service;
+
+import com.hcl.appscan.slackapp.scheduler.HashedWheelTimer;
+import com.hcl.appscan.slackapp.tenant.AppScanTenant;
+import com.hcl.appscan.slackapp.tenant.TenantRegistry;
+import com.slack.api.bolt.App;
+import com.slack.api.methods.SlackApiException;
+import com.slack.api.methods.response.conversations.ConversationsListResponse;
+import com.slack.api.methods.response.conversations.ConversationsOpenResponse;
+import com.slack.api.model.Conversation;
+import com.slack.api.model.ConversationType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+/**
+ * Resolves the Slack channels and users named in the application mappings to conversation IDs, so
+ * notifications are posted to IDs instead of making Slack look up a channel name on every post.
+ * <p>
+ * Channel names are loaded with a paginated `conversations.list` call at startup and every
+ * `slack.directory.refresh.ms`, and swapped in as one immutable map. Direct message channels are
+ * opened once per user with `conversations.open` and kept for the life of the process. After every
+ * refresh, and whenever the mapping file is reloaded, every mapped channel and user is checked, so a
+ * misspelt channel name is reported in the log right away rather than as `channel_not_found` on the
+ * first notification. Refreshes run on the I/O executor, so a slow or rate-limited directory sync never
+ * holds up the scheduler thread that also drives the cluster heartbeat and the poller. Channel events
+ * (created, renamed, archived, the bot joining a private channel) trigger an extra refresh after
+ * `slack.directory.event.refresh.delay.ms`, combining the events that arrive in between.
+ * </p>
+ * <p>
+ * A target that cannot be resolved is posted to as configured, so a stale directory never stops a
+ * notification that Slack itself could still deliver.
+ * </p>
+ */
+@Component
+public class SlackDirectoryService {
+    private static final Logger logger = LoggerFactory.getLogger(SlackDirectoryService.class);
+    // Public (C), private (G) and direct message (D) conversation IDs
+    private static final Pattern CONVERSATION_ID = Pattern.compile("[CGD][A-Z0-9]{6,}");
+
+    private final App slackApp;
+    private final TenantRegistry tenantRegistry;
+    private final ExecutorService ioExecutor;
+    private final HashedWheelTimer wheelTimer;
+    private final boolean enabled;
+    private final long eventRefreshDelayMs;
+    private final AtomicBoolean eventRefreshScheduled = new AtomicBoolean();
+    private final int pageSize;
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+    private volatile Map<String, String> channelIdsByName = Map.of();
+    private volatile Instant lastRefresh;
+    private final Map<String, String> dmChannelIds = new ConcurrentHashMap<>();
+    private volatile Set<String> unresolvedChannels = Set.of();
+    private volatile Set<String> unresolvedUsers = Set.of();
+    private final AtomicLong refreshFailures = new AtomicLong();
+    private final AtomicLong resolved = new AtomicLong();
+    private final AtomicLong unresolved = new AtomicLong();
+
+    public SlackDirectoryService(@Lazy App slackApp, TenantRegistry tenantRegistry,
+                                 @Qualifier("ioExecutor") ExecutorService ioExecutor, HashedWheelTimer wheelTimer,
+                                 @Value("${slack.directory.event.refresh.delay.ms:30000}") long eventRefreshDelayMs,
+                                 @Value("${slack.directory.enabled:true}") boolean enabled,
+                                 @Value("${slack.directory.page.size:1000}") int pageSize) {
+        this.slackApp = slackApp;
+        this.tenantRegistry = tenantRegistry;
+        this.ioExecutor = ioExecutor;
+        this.wheelTimer = wheelTimer;
+        this.eventRefreshDelayMs = eventRefreshDelayMs;
+        this.enabled = enabled;
+        this.pageSize = Math.max(1, Math.min(1000, pageSize));
+    }
+
+    @Scheduled(fixedDelayString = "${slack.directory.refresh.ms:900000}")
+    public void refresh() {
+        if (!enabled || !refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            CompletableFuture.runAsync(this::loadDirectory, ioExecutor)
+                    .whenComplete((ignored, ex) -> refreshing.set(false));
+        } catch (RejectedExecutionException e) {
+            // Shutting down
+            refreshing.set(false);
+        }
+    }
+
+    /**
+     * Schedules a refresh after a channel event, unless one is already scheduled.
+     */
+    public void refreshSoon() {
+        if (enabled && eventRefreshScheduled.compareAndSet(false, true)) {
+            wheelTimer.newTimeout(() -> {
+                eventRefreshScheduled.set(false);
+                refresh();
+            }, eventRefreshDelayMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void loadDirectory() {
+        long start = System.currentTimeMillis();
+        try {
+            Map<String, String> channels = loadChannels();
+            channelIdsByName = Map.copyOf(channels);
+            lastRefresh = Instant.now();
+            logger.info("Slack channel directory refreshed with {} channels in {} ms", channels.size(), System.currentTimeMillis() - start);
+        } catch (IOException | SlackApiException | IllegalStateException e) {
+            refreshFailures.incrementAndGet();
+            logger.error("Failed to refresh the Slack channel directory. Keeping the previous {} channels: {}",
+                    channelIdsByName.size(), e.getMessage());
+        }
+        validateMappings();
+    }
+
+    /**
+     * Conversation ID to post to for a mapped channel, given by name (with or without '#') or by ID.
+     * Falls back to the configured value if the name is not in the directory.
+     */
+    public String resolveChannel(String channel) {
+        if (!enabled || channel == null || CONVERSATION_ID.matcher(channel).matches()) {
+            return channel;
+        }
+        String id = channelIdsByName.get(normalize(channel));
+        if (id == null) {
+            unresolved.incrementAndGet();
+            return channel;
+        }
+        resolved.incrementAndGet();
+        return id;
+    }
+
+    /**
+     * ID of the direct message channel with the user, opening it on first use.
+     * Falls back to the user ID, which Slack also accepts as a post target, if it cannot be opened.
+     */
+    public String resolveUser(String userId) {
+        if (!enabled || userId == null) {
+            return userId;
+        }
+        String cached = dmChannelIds.get(userId);
+        if (cached != null) {
+            resolved.incrementAndGet();
+            return cached;
+        }
+        String opened = openDirectMessage(userId);
+        if (opened == null) {
+            unresolved.incrementAndGet();
+            return userId;
+        }
+        resolved.incrementAndGet();
+        return opened;
+    }
+
+    /**
+     * Checks that every channel and user in the mappings of every tenant resolves, and logs the ones that
+     * do not. Opens the direct message channels of mapped users that have none cached yet.
+     */
+    public void validateMappings() {
+        if (!enabled || lastRefresh == null) {
+            return;
+        }
+        Set<String> missingChannels = new TreeSet<>();
+        Set<String> missingUsers = new TreeSet<>();
+        for (AppScanTenant tenant : tenantRegistry.getAll()) {
+            for (String channel : tenant.getChannelMappings().getAllChannels()) {
+                if (!CONVERSATION_ID.matcher(channel).matches() && !channelIdsByName.containsKey(normalize(channel))) {
+                    missingChannels.add(channel);
+                }
+            }
+            for (String userId : tenant.getUserMappings().getAllUsers()) {
+                if (!dmChannelIds.containsKey(userId) && openDirectMessage(userId) == null) {
+                    missingUsers.add(userId);
+                }
+            }
+        }
+        if (!missingChannels.isEmpty() && !missingChannels.equals(unresolvedChannels)) {
+            logger.error("Mapped Slack channels not found: {}. Check for typos, archived channels, and that the bot is a member of private channels.",
+                    missingChannels);
+        }
+        if (!missingUsers.isEmpty() && !missingUsers.equals(unresolvedUsers)) {
+            logger.error("Could not open a direct message with mapped Slack users: {}. Check that the user IDs exist.", missingUsers);
+        }
+        unresolvedChannels = Set.copyOf(missingChannels);
+        unresolvedUsers = Set.copyOf(missingUsers);
+    }
+
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("enabled", enabled);
+        metrics.put("channels", channelIdsByName.size());
+        metrics.put("directMessageChannels", dmChannelIds.size());
+        metrics.put("lastRefresh", lastRefresh != null ? lastRefresh.toString() : null);
+        metrics.put("refreshFailures", refreshFailures.get());
+        metrics.put("resolved", resolved.get());
+        metrics.put("unresolved", unresolved.get());
+        metrics.put("unresolvedChannels", unresolvedChannels);
+        metrics.put("unresolvedUsers", unresolvedUsers);
+        return metrics;
+    }
+
+    private Map<String, String> loadChannels() throws IOException, SlackApiException {
+        Map<String, String> channels = new HashMap<>();
+        String cursor = null;
+        do {
+            String pageCursor = cursor;
+            ConversationsListResponse page = slackApp.client().conversationsList(r -> r
+                    .types(List.of(ConversationType.PUBLIC_CHANNEL, ConversationType.PRIVATE_CHANNEL))
+                    .excludeArchived(true)
+                    .limit(pageSize)
+                    .cursor(pageCursor));
+            if (!page.isOk()) {
+                throw new IllegalStateException("conversations.list failed: " + page.getError());
+            }
+            for (Conversation conversation : page.getChannels()) {
+                channels.put(normalize(conversation.getName()), conversation.getId());
+            }
+            cursor = page.getResponseMetadata() != null ? page.getResponseMetadata().getNextCursor() : null;
+        } while (cursor != null && !cursor.isEmpty());
+        return channels;
+    }
+
+    // Returns null if Slack refused to open the conversation
+    private String openDirectMessage(String userId) {
+        try {
+            ConversationsOpenResponse response = slackApp.client().conversationsOpen(r -> r.users(List.of(userId)));
+            if (response.isOk() && response.getChannel() != null) {
+                dmChannelIds.put(userId, response.getChannel().getId());
+                return response.getChannel().getId();
+            }
+            logger.warn("Could not open a direct message with Slack user {}: {}", userId, response.getError());
+        } catch (IOException | SlackApiException e) {
+            logger.warn("Exception while opening a direct message with Slack user {}: {}", userId, e.getMessage());
+        }
+        return null;
+    }
+
+    private static String normalize(String channel) {
+        String name = channel.startsWith("#") ? channel.substring(1) : channel;
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ *
+ *  *
+ *  * Copyright 2025 HCL America, Inc.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *  * /
+ *
+ */
+
+package com.hcl.appscan.slackapp.service;
+
+import com.slack.api.bolt.middleware.Middleware;
+import com.slack.api.bolt.middleware.MiddlewareChain;
+import com.slack.api.bolt.request.Request;
+import com.slack.api.bolt.request.builtin.EventRequest;
+import com.slack.api.bolt.response.Response;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bolt middleware in front of every handler that sees all requests from Slack, whichever way they arrive:
+ * any of the Socket Mode connections or the HTTP Events API endpoint.
+ * <ul>
+ *     <li>Slack may deliver an event again, on another connection, after a reconnect or as an HTTP retry
+ *     (`X-Slack-Retry-Num`), if it did not see the acknowledgement in time. Event IDs seen within
+ *     `slack.events.dedup.ttl.ms` are acknowledged without running the handlers a second time. Slash
+ *     commands and interactions are never redelivered, so only Events API requests (the channel events
+ *     the bot subscribes to, see slack-manifest.json) are tracked.</li>
+ *     <li>Once shutdown has begun, HTTP requests are answered with 503 so Slack retries them against another
+ *     replica instead of this instance dropping them.</li>
+ * </ul>
+ */
+@Component
+public class SlackEventIntake implements Middleware {
+    private static final Logger logger = LoggerFactory.getLogger(SlackEventIntake.class);
+
+    // Event ID -> time it was first received
+    private final Map<String, Long> seenEvents = new ConcurrentHashMap<>();
+    private final long dedupTtlMs;
+    private final LongAdder socketModeRequests = new LongAdder();
+    private final LongAdder httpRequests = new LongAdder();
+    private final LongAdder duplicateEvents = new LongAdder();
+    private final LongAdder rejectedRequests = new LongAdder();
+    private volatile boolean accepting = true;
+
+    public SlackEventIntake(@Value("${slack.events.dedup.ttl.ms:3600000}") long dedupTtlMs) {
+        this.dedupTtlMs = dedupTtlMs;
+    }
+
+    @Override
+    public Response apply(Request req, Response resp, MiddlewareChain chain) throws Exception {
+        if (req.isSocketMode()) {
+            socketModeRequests.increment();
+        } else {
+            httpRequests.increment();
+            if (!accepting) {
+                rejectedRequests.increment();
+                return Response.error(503);
+            }
+        }
+        if (req instanceof EventRequest) {
+            String eventId = ((EventRequest) req).getEventId();
+            if (eventId != null && seenEvents.putIfAbsent(eventId, System.currentTimeMillis()) != null) {
+                duplicateEvents.increment();
+                logger.debug("Ignoring duplicate delivery of Slack event {}", eventId);
+                return Response.ok();
+            }
+        }
+        return chain.next(req);
+    }
+
+    /**
+     * Answers further HTTP requests with 503. Socket Mode requests stop arriving once the connections are closed.
+     */
+    public void stopAccepting() {
+        accepting = false;
+    }
+
+    @Scheduled(fixedDelay = 60000)
+    public void expireSeenEvents() {
+        long cutoff = System.currentTimeMillis() - dedupTtlMs;
+        seenEvents.values().removeIf(receivedAt -> receivedAt < cutoff);
+    }
+
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("socketModeRequests", socketModeRequests.sum());
+        metrics.put("httpRequests", httpRequests.sum());
+        metrics.put("duplicateEvents", duplicateEvents.sum());
+        metrics.put("rejectedRequests", rejectedRequests.sum());
+        metrics.put("trackedEventIds", seenEvents.size());
+        return metrics;
+    }
+}
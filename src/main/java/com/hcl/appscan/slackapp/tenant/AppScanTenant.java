@@ -0,0 +1,99 @@
+/*
+ *
+ *  *
+ *  * Copyright 2025 HCL America, Inc.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *  * /
+ *
+ */
+
+package com.hcl.appscan.slackapp.tenant;
+
+import com.hcl.appscan.slackapp.config.ChannelAppMappingConfig;
+import com.hcl.appscan.slackapp.config.UserAppMappingConfig;
+import com.hcl.appscan.slackapp.service.AppIndexService;
+import com.hcl.appscan.slackapp.service.AppScanRateGovernor;
+import com.hcl.appscan.slackapp.service.AppScanService;
+
+/**
+ * One AppScan instance the bot talks to, with everything that is specific to it: the API client with
+ * its own token and connection pool, the request budget, the app mappings and the application index.
+ * The Slack app, the scheduler and the worker pools are shared by all tenants.
+ */
+public final class AppScanTenant {
+    private final String id;
+    private final boolean isDefault;
+    private final String baseUrl;
+    private final AppScanService appScanService;
+    private final AppScanRateGovernor rateGovernor;
+    private final ChannelAppMappingConfig channelMappings;
+    private final UserAppMappingConfig userMappings;
+    private final AppIndexService appIndex;
+
+    AppScanTenant(String id, boolean isDefault, String baseUrl, AppScanService appScanService, AppScanRateGovernor rateGovernor,
+                  ChannelAppMappingConfig channelMappings, UserAppMappingConfig userMappings, AppIndexService appIndex) {
+        this.id = id;
+        this.isDefault = isDefault;
+        this.baseUrl = baseUrl;
+        this.appScanService = appScanService;
+        this.rateGovernor = rateGovernor;
+        this.channelMappings = channelMappings;
+        this.userMappings = userMappings;
+        this.appIndex = appIndex;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public boolean isDefault() {
+        return isDefault;
+    }
+
+    /**
+     * AppScan web UI base URL, used for "View in AppScan" links.
+     */
+    public String getBaseUrl() {
+        return baseUrl;
+    }
+
+    public AppScanService getAppScanService() {
+        return appScanService;
+    }
+
+    public AppScanRateGovernor getRateGovernor() {
+        return rateGovernor;
+    }
+
+    public ChannelAppMappingConfig getChannelMappings() {
+        return channelMappings;
+    }
+
+    public UserAppMappingConfig getUserMappings() {
+        return userMappings;
+    }
+
+    public AppIndexService getAppIndex() {
+        return appIndex;
+    }
+
+    /**
+     * Key for per-application state shared across tenants, such as the scan history and the poller's
+     * bookkeeping. Application names are only unique within a tenant, so names of other tenants are
+     * prefixed with the tenant ID; default tenant names stay as they are so existing state still applies.
+     */
+    public String qualify(String appName) {
+        return isDefault ? appName : id + "/" + appName;
+    }
+}
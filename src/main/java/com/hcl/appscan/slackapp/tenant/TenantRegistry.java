@@ -0,0 +1,205 @@
+/*
+ *
+ *  *
+ *  * Copyright 2025 HCL America, Inc.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *  * /
+ *
+ */
+
+package com.hcl.appscan.slackapp.tenant;
+
+import com.hcl.appscan.slackapp.config.ChannelAppMappingConfig;
+import com.hcl.appscan.slackapp.config.UserAppMappingConfig;
+import com.hcl.appscan.slackapp.scheduler.HashedWheelTimer;
+import com.hcl.appscan.slackapp.service.AppIndexService;
+import com.hcl.appscan.slackapp.service.AppScanRateGovernor;
+import com.hcl.appscan.slackapp.service.AppScanService;
+import com.hcl.appscan.slackapp.util.JsonCodec;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * The AppScan tenants served by this process.
+ * <p>
+ * The default tenant is built from the `appscan.api.*` and `appscan.app.*.mapping` properties as before.
+ * Additional tenants are listed in `appscan.tenants` and configured under `appscan.tenant.<id>.*`:
+ * <pre>
+ * appscan.tenants=emea,apac
+ * appscan.tenant.emea.api.baseurl=https://emea.appscan.example.com
+ * appscan.tenant.emea.api.key=...
+ * appscan.tenant.emea.api.secret=...
+ * appscan.tenant.emea.app.channel.mapping=Payments:#emea-payments
+ * </pre>
+ * Each additional tenant gets its own {@link AppScanService} (token and connection pool),
+ * {@link AppScanRateGovernor} and {@link AppIndexService}, and shares the I/O executor and the Slack app.
+ * Rate limit and TLS settings fall back to the global values when not set for the tenant. The HTTP cache
+ * of a tenant lives next to the global one, in `<appscan.http.cache.dir>-<id>`, unless
+ * `appscan.tenant.<id>.http.cache.dir` is set.
+ * </p>
+ */
+@Component
+public class TenantRegistry {
+    private static final Logger logger = LoggerFactory.getLogger(TenantRegistry.class);
+    // Tenant IDs are typed in front of slash commands, so they must not look like a subcommand
+    private static final Set<String> RESERVED_IDS = Set.of("summary", "portfolio", "list_apps", "list_scans", "scan_summary", "help");
+
+    private final AppScanTenant defaultTenant;
+    private final Map<String, AppScanTenant> tenants;
+
+    public TenantRegistry(
+            AppScanService appScanService,
+            AppScanRateGovernor rateGovernor,
+            ChannelAppMappingConfig channelMappings,
+            UserAppMappingConfig userMappings,
+            AppIndexService appIndexService,
+            @Value("${appscan.api.baseurl}") String baseUrl,
+            @Value("${appscan.default.tenant.id:default}") String defaultTenantId,
+            @Value("${appscan.tenants:}") String tenantIds,
+            Environment environment,
+            JsonCodec jsonCodec,
+            @Qualifier("ioExecutor") ExecutorService ioExecutor,
+            HashedWheelTimer wheelTimer
+    ) {
+        this.defaultTenant = new AppScanTenant(defaultTenantId.trim().toLowerCase(Locale.ROOT), true, baseUrl, appScanService,
+                rateGovernor, channelMappings, userMappings, appIndexService);
+        Map<String, AppScanTenant> all = new LinkedHashMap<>();
+        all.put(defaultTenant.getId(), defaultTenant);
+        for (String rawId : tenantIds.split(",")) {
+            String id = rawId.trim().toLowerCase(Locale.ROOT);
+            if (id.isEmpty()) {
+                continue;
+            }
+            if (RESERVED_IDS.contains(id) || all.containsKey(id) || !id.matches("[a-z0-9_-]+")) {
+                throw new IllegalStateException("Invalid or duplicate tenant ID '" + rawId.trim() + "' in appscan.tenants");
+            }
+            all.put(id, createTenant(id, environment, jsonCodec, ioExecutor, wheelTimer));
+        }
+        this.tenants = Collections.unmodifiableMap(all);
+        if (tenants.size() > 1) {
+            logger.info("Serving {} AppScan tenants: {}", tenants.size(), tenants.keySet());
+        }
+    }
+
+    private static AppScanTenant createTenant(String id, Environment env, JsonCodec jsonCodec, ExecutorService ioExecutor,
+                                              HashedWheelTimer wheelTimer) {
+        String prefix = "appscan.tenant." + id + ".";
+        String baseUrl = env.getRequiredProperty(prefix + "api.baseurl");
+        AppScanRateGovernor governor = new AppScanRateGovernor(
+                env.getProperty(prefix + "api.rate.limit.rps", Double.class, env.getProperty("appscan.api.rate.limit.rps", Double.class, 20.0)),
+                env.getProperty(prefix + "api.rate.limit.burst", Integer.class, env.getProperty("appscan.api.rate.limit.burst", Integer.class, 20)),
+                env.getProperty(prefix + "api.rate.limit.max.retries", Integer.class, env.getProperty("appscan.api.rate.limit.max.retries", Integer.class, 3)));
+        AppScanService service = new AppScanService(
+                env.getRequiredProperty(prefix + "api.key"),
+                env.getRequiredProperty(prefix + "api.secret"),
+                baseUrl,
+                env.getProperty(prefix + "allowUntrusted", Boolean.class, env.getProperty("appscan.allowUntrusted", Boolean.class, false)),
+                env.getProperty(prefix + "http.cache.dir", tenantCacheDir(env.getProperty("appscan.http.cache.dir", ""), id)),
+                env.getProperty("appscan.http.cache.max.bytes", Long.class, 52428800L),
+                jsonCodec, ioExecutor, governor, wheelTimer);
+        ChannelAppMappingConfig channelMappings = new ChannelAppMappingConfig(env.getProperty(prefix + "app.channel.mapping", ""));
+        UserAppMappingConfig userMappings = new UserAppMappingConfig(env.getProperty(prefix + "app.user.mapping", ""));
+        AppIndexService appIndex = new AppIndexService(service, env.getProperty("appscan.app.index.page.size", Integer.class, 500));
+        logger.info("Configured AppScan tenant '{}' at {}", id, baseUrl);
+        return new AppScanTenant(id, false, baseUrl, service, governor, channelMappings, userMappings, appIndex);
+    }
+
+    // A cache directory must not be shared by two clients, so each tenant gets a sibling of the default one
+    private static String tenantCacheDir(String defaultCacheDir, String id) {
+        if (defaultCacheDir.isBlank()) {
+            return "";
+        }
+        String dir = defaultCacheDir.replaceAll("[/\\\\]+$", "");
+        return dir + "-" + id;
+    }
+
+    public AppScanTenant getDefault() {
+        return defaultTenant;
+    }
+
+    /**
+     * Looks up a tenant by ID, ignoring case.
+     */
+    public Optional<AppScanTenant> find(String id) {
+        return id == null ? Optional.empty() : Optional.ofNullable(tenants.get(id.trim().toLowerCase(Locale.ROOT)));
+    }
+
+    /**
+     * The tenant with the given ID, or the default tenant if the ID is empty or unknown.
+     */
+    public AppScanTenant findOrDefault(String id) {
+        return find(id).orElse(defaultTenant);
+    }
+
+    public Collection<AppScanTenant> getAll() {
+        return tenants.values();
+    }
+
+    public boolean isMultiTenant() {
+        return tenants.size() > 1;
+    }
+
+    // The default tenant's index schedules its own refresh as a Spring bean; the others are refreshed here
+    @Scheduled(fixedDelayString = "${appscan.app.index.refresh.ms:600000}")
+    public void refreshTenantIndexes() {
+        for (AppScanTenant tenant : tenants.values()) {
+            if (!tenant.isDefault()) {
+                tenant.getAppIndex().refresh();
+            }
+        }
+    }
+
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        for (AppScanTenant tenant : tenants.values()) {
+            Map<String, Object> tenantMetrics = new LinkedHashMap<>();
+            tenantMetrics.put("baseUrl", tenant.getBaseUrl());
+            tenantMetrics.put("mappedApps", tenant.getChannelMappings().getAllAppNames().size());
+            tenantMetrics.put("indexedApps", tenant.getAppIndex().size());
+            tenantMetrics.put("tokenExpiry", tenant.getAppScanService().getTokenExpiry().map(Object::toString).orElse(null));
+            tenantMetrics.put("rateGovernor", tenant.getRateGovernor().getMetrics());
+            tenantMetrics.put("httpCache", tenant.getAppScanService().getHttpCacheMetrics());
+            metrics.put(tenant.getId(), tenantMetrics);
+        }
+        return metrics;
+    }
+
+    /**
+     * Closes the HTTP clients of all tenants. Called last during shutdown.
+     */
+    public void closeAll() {
+        for (AppScanTenant tenant : tenants.values()) {
+            tenant.getAppScanService().close();
+        }
+    }
+
+    // The default tenant's governor is a Spring bean and shut down by Spring
+    @PreDestroy
+    public void shutdown() {
+        for (AppScanTenant tenant : tenants.values()) {
+            if (!tenant.isDefault()) {
+                tenant.getRateGovernor().shutdown();
+            }
+        }
+    }
+}
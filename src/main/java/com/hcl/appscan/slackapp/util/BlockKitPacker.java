@@ -0,0 +1,167 @@
+/*
+ *
+ *  *
+ *  * Copyright 2025 HCL America, Inc.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *  * /
+ *
+ */
+
+package com.hcl.appscan.slackapp.util;
+
+import com.slack.api.model.block.HeaderBlock;
+import com.slack.api.model.block.LayoutBlock;
+import com.slack.api.model.block.SectionBlock;
+import com.slack.api.model.block.composition.MarkdownTextObject;
+import com.slack.api.model.block.composition.PlainTextObject;
+import com.slack.api.model.block.composition.TextObject;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Packs a list of items into as few Slack messages as possible while staying within Block Kit limits.
+ * <p>
+ * Items are added either as section fields (up to 10 per section, two columns in Slack) or as lines
+ * of a section's text (up to 3000 characters per section). The packer measures the text as it builds
+ * the blocks and starts a new message when one would exceed 50 blocks or the per-message character
+ * budget. Every message starts with the header; follow-up messages are marked as continued.
+ * </p>
+ * <pre>
+ * BlockKitPacker packer = new BlockKitPacker("AppScan Applications");
+ * apps.forEach(app -> packer.addField("*" + app.getName() + "*\n" + app.getTotalIssues()));
+ * List&lt;List&lt;LayoutBlock&gt;&gt; messages = packer.build();
+ * </pre>
+ */
+public class BlockKitPacker {
+    public static final int MAX_BLOCKS_PER_MESSAGE = 50;
+    public static final int MAX_SECTION_TEXT = 3000;
+    public static final int MAX_FIELDS_PER_SECTION = 10;
+    public static final int MAX_FIELD_TEXT = 2000;
+    public static final int MAX_HEADER_TEXT = 150;
+    // Keeps the serialized message comfortably below Slack's payload limits
+    public static final int DEFAULT_MESSAGE_CHAR_BUDGET = 30000;
+
+    private final String header;
+    private final int messageCharBudget;
+    private final List<List<LayoutBlock>> messages = new ArrayList<>();
+    private List<LayoutBlock> currentMessage;
+    private int currentMessageChars;
+    private List<TextObject> pendingFields = new ArrayList<>();
+    private int pendingFieldChars;
+    private final StringBuilder pendingText = new StringBuilder();
+
+    public BlockKitPacker(String header) {
+        this(header, DEFAULT_MESSAGE_CHAR_BUDGET);
+    }
+
+    public BlockKitPacker(String header, int messageCharBudget) {
+        this.header = truncate(header, MAX_HEADER_TEXT - " (continued)".length());
+        this.messageCharBudget = messageCharBudget;
+    }
+
+    /**
+     * Adds an item as a markdown field. Consecutive fields share a section.
+     */
+    public BlockKitPacker addField(String markdown) {
+        flushText();
+        String text = truncate(markdown, MAX_FIELD_TEXT);
+        if (pendingFields.size() == MAX_FIELDS_PER_SECTION) {
+            flushFields();
+        }
+        pendingFields.add(MarkdownTextObject.builder().text(text).build());
+        pendingFieldChars += text.length();
+        return this;
+    }
+
+    /**
+     * Adds an item as a line of markdown text. Consecutive lines share a section.
+     */
+    public BlockKitPacker addLine(String markdown) {
+        flushFields();
+        String line = truncate(markdown, MAX_SECTION_TEXT);
+        if (pendingText.length() > 0 && pendingText.length() + 1 + line.length() > MAX_SECTION_TEXT) {
+            flushText();
+        }
+        if (pendingText.length() > 0) {
+            pendingText.append('\n');
+        }
+        pendingText.append(line);
+        return this;
+    }
+
+    /**
+     * Adds a prebuilt block, with the number of characters it contributes to the message.
+     */
+    public BlockKitPacker addBlock(LayoutBlock block, int measuredChars) {
+        flushFields();
+        flushText();
+        append(block, measuredChars);
+        return this;
+    }
+
+    /**
+     * Returns the packed messages, each a list of at most 50 blocks. There is always at least one message.
+     */
+    public List<List<LayoutBlock>> build() {
+        flushFields();
+        flushText();
+        if (currentMessage == null) {
+            startMessage();
+        }
+        return messages;
+    }
+
+    private void flushFields() {
+        if (pendingFields.isEmpty()) {
+            return;
+        }
+        append(SectionBlock.builder().fields(pendingFields).build(), pendingFieldChars);
+        pendingFields = new ArrayList<>();
+        pendingFieldChars = 0;
+    }
+
+    private void flushText() {
+        if (pendingText.length() == 0) {
+            return;
+        }
+        append(SectionBlock.builder().text(MarkdownTextObject.builder().text(pendingText.toString()).build()).build(), pendingText.length());
+        pendingText.setLength(0);
+    }
+
+    private void append(LayoutBlock block, int chars) {
+        if (currentMessage == null
+                || currentMessage.size() >= MAX_BLOCKS_PER_MESSAGE
+                || (currentMessage.size() > 1 && currentMessageChars + chars > messageCharBudget)) {
+            startMessage();
+        }
+        currentMessage.add(block);
+        currentMessageChars += chars;
+    }
+
+    private void startMessage() {
+        String title = messages.isEmpty() ? header : header + " (continued)";
+        currentMessage = new ArrayList<>();
+        currentMessage.add(HeaderBlock.builder().text(PlainTextObject.builder().text(title).emoji(true).build()).build());
+        currentMessageChars = title.length();
+        messages.add(currentMessage);
+    }
+
+    private static String truncate(String text, int maxLength) {
+        if (text == null) {
+            return "";
+        }
+        return text.length() <= maxLength ? text : text.substring(0, maxLength - 1) + "…";
+    }
+}
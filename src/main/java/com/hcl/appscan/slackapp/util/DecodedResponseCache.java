@@ -0,0 +1,110 @@
+/*
+ *
+ *  *
+ *  * Copyright 2025 HCL America, Inc.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *  * /
+ *
+ */
+
+package com.hcl.appscan.slackapp.util;
+
+import okhttp3.Response;
+import okio.ByteString;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Remembers the last decoded value of each polled URL together with a SHA-256 hash of the body it was
+ * decoded from, so a body that is byte-for-byte identical to the previous one is not decoded again.
+ * <p>
+ * This covers both 304 revalidations answered from the HTTP cache and servers that send no validators
+ * and simply return the same body every cycle. Each URL must always be decoded into the same type. Since
+ * the same instance is handed out again for unchanged bodies, decoders must return immutable values,
+ * such as unmodifiable lists of models without setters. The least recently used URLs are dropped once `maxEntries` is reached.
+ * </p>
+ */
+public final class DecodedResponseCache {
+
+    @FunctionalInterface
+    public interface BodyDecoder<T> {
+        T decode(InputStream body) throws IOException;
+    }
+
+    private final Map<String, Entry> entries;
+    private final LongAdder decoded = new LongAdder();
+    private final LongAdder skipped = new LongAdder();
+
+    public DecodedResponseCache(int maxEntries) {
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Decodes the body of a successful response, or returns the value decoded last time if the body is unchanged.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T decode(Response response, BodyDecoder<T> decoder) throws IOException {
+        String key = response.request().url().toString();
+        byte[] body = response.body().bytes();
+        ByteString hash = ByteString.of(body).sha256();
+        Entry previous;
+        synchronized (entries) {
+            previous = entries.get(key);
+        }
+        if (previous != null && previous.hash.equals(hash)) {
+            skipped.increment();
+            return (T) previous.value;
+        }
+        T value = decoder.decode(new ByteArrayInputStream(body));
+        synchronized (entries) {
+            entries.put(key, new Entry(hash, value));
+        }
+        decoded.increment();
+        return value;
+    }
+
+    public Map<String, Object> getMetrics() {
+        long decodedCount = decoded.sum();
+        long skippedCount = skipped.sum();
+        long total = decodedCount + skippedCount;
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        synchronized (entries) {
+            metrics.put("entries", entries.size());
+        }
+        metrics.put("decoded", decodedCount);
+        metrics.put("unchangedSkipped", skippedCount);
+        metrics.put("skipRate", total == 0 ? 0.0 : (double) skippedCount / total);
+        return metrics;
+    }
+
+    private static final class Entry {
+        private final ByteString hash;
+        private final Object value;
+
+        Entry(ByteString hash, Object value) {
+            this.hash = hash;
+            this.value = value;
+        }
+    }
+}
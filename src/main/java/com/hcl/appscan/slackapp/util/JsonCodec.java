@@ -0,0 +1,164 @@
+/*
+ *
+ *  *
+ *  * Copyright 2025 HCL America, Inc.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *  * /
+ *
+ */
+
+package com.hcl.appscan.slackapp.util;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.hcl.appscan.slackapp.model.ApiKeyLoginResponse;
+import com.hcl.appscan.slackapp.model.AppRef;
+import com.hcl.appscan.slackapp.model.AppScanAppListResponse;
+import com.hcl.appscan.slackapp.model.FullScanDetails;
+import com.hcl.appscan.slackapp.model.ItemsResponse;
+import com.hcl.appscan.slackapp.model.PortfolioApp;
+import com.hcl.appscan.slackapp.model.ReportButtonValue;
+import com.hcl.appscan.slackapp.model.ReportStatus;
+import com.hcl.appscan.slackapp.model.ScanListResponse;
+import com.hcl.appscan.slackapp.model.ScanRef;
+import com.hcl.appscan.slackapp.model.ScanStatus;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Single place where the bot turns JSON into model objects and back.
+ * <p>
+ * Holds one {@link ObjectReader} and {@link ObjectWriter} per model type, built from the application's
+ * {@link ObjectMapper} once and shared by all threads; readers and writers are immutable, so there is no
+ * per-request mapper creation or type resolution. Responses are decoded straight from the body stream
+ * into the typed model, without an intermediate `JsonNode` tree. Readers for the types the bot polls
+ * with are built eagerly; any other type gets its reader on first use.
+ * </p>
+ * <p>
+ * Also encodes the value of the Generate Report button as a compact JSON array,
+ * `["scanId","scanName"]` or `["scanId","scanName","tenant"]`, escaped by Jackson so quotes or
+ * backslashes in scan names cannot break it. The object form used by older messages is still accepted.
+ * </p>
+ */
+@Component
+public class JsonCodec {
+    // Slack rejects a button value longer than 2000 characters; the scan name is only used for the report title
+    private static final int MAX_BUTTON_VALUE = 2000;
+
+    private final ObjectMapper objectMapper;
+    private final Map<Class<?>, ObjectReader> readers = new ConcurrentHashMap<>();
+    private final Map<Class<?>, ObjectReader> itemsReaders = new ConcurrentHashMap<>();
+    private final Map<Class<?>, ObjectWriter> writers = new ConcurrentHashMap<>();
+    private final ObjectReader buttonArrayReader;
+    private final ObjectReader buttonObjectReader;
+    private final ObjectWriter buttonWriter;
+
+    public JsonCodec(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        this.buttonArrayReader = objectMapper.readerFor(String[].class);
+        this.buttonObjectReader = objectMapper.readerFor(new TypeReference<Map<String, String>>() { });
+        this.buttonWriter = objectMapper.writerFor(String[].class);
+        for (Class<?> type : List.of(ApiKeyLoginResponse.class, AppScanAppListResponse.class, ScanListResponse.class, ReportStatus.class)) {
+            readerFor(type);
+        }
+        for (Class<?> itemType : List.of(AppRef.class, ScanStatus.class, PortfolioApp.class, FullScanDetails.class, ScanRef.class, ReportStatus.class)) {
+            itemsReaderFor(itemType);
+        }
+    }
+
+    public <T> T read(InputStream json, Class<T> type) throws IOException {
+        return readerFor(type).readValue(json);
+    }
+
+    public <T> T read(String json, Class<T> type) throws IOException {
+        return readerFor(type).readValue(json);
+    }
+
+    /**
+     * Decodes an AppScan list response (`{"Items": [...]}`) directly into its items.
+     */
+    public <T> List<T> readItems(InputStream json, Class<T> itemType) throws IOException {
+        ItemsResponse<T> response = itemsReaderFor(itemType).readValue(json);
+        return response != null ? response.getItems() : List.of();
+    }
+
+    public String write(Object value) throws JsonProcessingException {
+        return writers.computeIfAbsent(value.getClass(), objectMapper::writerFor).writeValueAsString(value);
+    }
+
+    /**
+     * Encodes the button value, shortening the scan name until the escaped value fits Slack's limit.
+     */
+    public String encodeReportButton(ReportButtonValue value) {
+        String scanName = value.getScanName();
+        String encoded = encodeButtonFields(value, scanName);
+        while (encoded.length() > MAX_BUTTON_VALUE && scanName != null && !scanName.isEmpty()) {
+            // Escaping only ever lengthens the name, so cutting the overflow gets at least that close to the limit
+            int end = Math.max(0, scanName.length() - (encoded.length() - MAX_BUTTON_VALUE));
+            if (end > 0 && Character.isHighSurrogate(scanName.charAt(end - 1))) {
+                end--;
+            }
+            scanName = scanName.substring(0, end);
+            encoded = encodeButtonFields(value, scanName);
+        }
+        return encoded;
+    }
+
+    private String encodeButtonFields(ReportButtonValue value, String scanName) {
+        String[] fields = value.getTenant() == null
+                ? new String[]{value.getScanId(), scanName}
+                : new String[]{value.getScanId(), scanName, value.getTenant()};
+        try {
+            return buttonWriter.writeValueAsString(fields);
+        } catch (JsonProcessingException e) {
+            // Writing a string array cannot fail
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Decodes a Generate Report button value in the array form, or the object form of older messages.
+     */
+    public ReportButtonValue decodeReportButton(String json) throws IOException {
+        if (json != null && json.startsWith("{")) {
+            Map<String, String> legacy = buttonObjectReader.readValue(json);
+            return new ReportButtonValue(legacy.get("scanId"), legacy.get("scanName"), legacy.get("tenant"));
+        }
+        String[] fields = buttonArrayReader.readValue(json);
+        if (fields == null || fields.length < 2) {
+            throw new IOException("Malformed report button value: " + json);
+        }
+        return new ReportButtonValue(fields[0], fields[1], fields.length > 2 ? fields[2] : null);
+    }
+
+    private ObjectReader readerFor(Class<?> type) {
+        return readers.computeIfAbsent(type, objectMapper::readerFor);
+    }
+
+    private ObjectReader itemsReaderFor(Class<?> itemType) {
+        return itemsReaders.computeIfAbsent(itemType, t -> {
+            JavaType itemsType = objectMapper.getTypeFactory().constructParametricType(ItemsResponse.class, t);
+            return objectMapper.readerFor(itemsType);
+        });
+    }
+}
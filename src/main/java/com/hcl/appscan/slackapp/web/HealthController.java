@@ -0,0 +1,136 @@
+/*
+ *
+ *  *
+ *  * Copyright 2025 HCL America, Inc.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *  * /
+ *
+ */
+
+package com.hcl.appscan.slackapp.web;
+
+import com.hcl.appscan.slackapp.SlackAppRunner;
+import com.hcl.appscan.slackapp.scheduler.ScanCompletionPoller;
+import com.hcl.appscan.slackapp.service.AppScanService;
+import com.hcl.appscan.slackapp.service.NotificationService;
+import com.hcl.appscan.slackapp.tenant.AppScanTenant;
+import com.hcl.appscan.slackapp.tenant.TenantRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Health and readiness endpoints for container orchestrators.
+ * <p>
+ * `/health/live` only reports that the process is serving requests. `/health/ready` returns 503 when
+ * every Socket Mode connection is down, the poller has not completed a successful cycle within
+ * `appscan.health.max.poll.lag.ms`, or a tenant cannot log in to AppScan or, while its applications are
+ * being polled, holds no valid token, so a stuck instance gets restarted. `/health` returns the full
+ * status without affecting the HTTP status code.
+ * </p>
+ */
+@RestController
+@RequestMapping("/health")
+public class HealthController {
+    private final SlackAppRunner slackAppRunner;
+    private final ScanCompletionPoller scanCompletionPoller;
+    private final NotificationService notificationService;
+    private final TenantRegistry tenantRegistry;
+    private final long maxPollLagMs;
+    private final Instant startedAt = Instant.now();
+
+    public HealthController(SlackAppRunner slackAppRunner, ScanCompletionPoller scanCompletionPoller,
+                            NotificationService notificationService, TenantRegistry tenantRegistry,
+                            @Value("${appscan.health.max.poll.lag.ms:300000}") long maxPollLagMs) {
+        this.slackAppRunner = slackAppRunner;
+        this.scanCompletionPoller = scanCompletionPoller;
+        this.notificationService = notificationService;
+        this.tenantRegistry = tenantRegistry;
+        this.maxPollLagMs = maxPollLagMs;
+    }
+
+    @GetMapping("/live")
+    public Map<String, Object> live() {
+        return Map.of("status", "UP");
+    }
+
+    @GetMapping("/ready")
+    public ResponseEntity<Map<String, Object>> ready() {
+        Map<String, Object> status = status();
+        return ResponseEntity.status("UP".equals(status.get("status")) ? HttpStatus.OK : HttpStatus.SERVICE_UNAVAILABLE).body(status);
+    }
+
+    @GetMapping
+    public Map<String, Object> status() {
+        Instant now = Instant.now();
+        Map<String, Object> body = new LinkedHashMap<>();
+
+        boolean socketConnected = slackAppRunner.isConnected();
+        boolean socketHealthy = socketConnected || !slackAppRunner.isSocketModeEnabled();
+        Map<String, Object> socketMode = new LinkedHashMap<>();
+        socketMode.put("enabled", slackAppRunner.isSocketModeEnabled());
+        socketMode.put("connected", socketConnected);
+        socketMode.put("openConnections", slackAppRunner.getConnectedCount());
+        socketMode.put("lastMessageAt", slackAppRunner.getLastMessageAt());
+        socketMode.put("lastDisconnectAt", slackAppRunner.getLastDisconnectAt());
+        body.put("socketMode", socketMode);
+
+        // Before the first successful cycle, lag is measured from startup so a fresh instance gets a grace period
+        Instant lastSuccess = scanCompletionPoller.getLastSuccessfulCycleEnd();
+        long pollLagMs = Duration.between(lastSuccess != null ? lastSuccess : startedAt, now).toMillis();
+        boolean pollerHealthy = pollLagMs <= maxPollLagMs;
+        Map<String, Object> poller = new LinkedHashMap<>();
+        poller.put("lastSuccessfulCycleEnd", lastSuccess);
+        poller.put("lastCycleDurationMs", scanCompletionPoller.getLastCycleDurationMs());
+        poller.put("lagMs", pollLagMs);
+        poller.put("maxLagMs", maxPollLagMs);
+        poller.put("healthy", pollerHealthy);
+        body.put("poller", poller);
+
+        body.put("notificationOutboxDepth", notificationService.getPendingDeliveries());
+
+        // Tokens are only refreshed on use, so an idle tenant's expired token is not a fault
+        Set<String> polledTenants = scanCompletionPoller.getPolledTenantIds();
+        boolean tokensHealthy = true;
+        Map<String, Object> tokens = new LinkedHashMap<>();
+        for (AppScanTenant tenant : tenantRegistry.getAll()) {
+            AppScanService appScanService = tenant.getAppScanService();
+            Instant tokenExpiry = appScanService.getTokenExpiry().orElse(null);
+            boolean valid = tokenExpiry != null && tokenExpiry.isAfter(now);
+            boolean polled = polledTenants.contains(tenant.getId());
+            boolean healthy = !appScanService.isLoginFailing() && (valid || !polled);
+            tokensHealthy &= healthy;
+            Map<String, Object> token = new LinkedHashMap<>();
+            token.put("valid", valid);
+            token.put("expiresAt", tokenExpiry);
+            token.put("loginFailing", appScanService.isLoginFailing());
+            token.put("polled", polled);
+            token.put("healthy", healthy);
+            tokens.put(tenant.getId(), token);
+        }
+        body.put("appScanTokens", tokens);
+
+        body.put("status", socketHealthy && pollerHealthy && tokensHealthy ? "UP" : "DOWN");
+        return body;
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ *
+ *  *
+ *  * Copyright 2025 HCL America, Inc.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *  * /
+ *
+ */
+
+package com.hcl.appscan.slackapp.web;
+
+import com.hcl.appscan.slackapp.SlackAppRunner;
+import com.hcl.appscan.slackapp.cluster.ClusterService;
+import com.hcl.appscan.slackapp.metrics.NotificationLatencyRecorder;
+import com.hcl.appscan.slackapp.scheduler.HashedWheelTimer;
+import com.hcl.appscan.slackapp.service.AppScanRateGovernor;
+import com.hcl.appscan.slackapp.service.ReportRelayService;
+import com.hcl.appscan.slackapp.service.ScanProgressService;
+import com.hcl.appscan.slackapp.service.SlackDirectoryService;
+import com.hcl.appscan.slackapp.service.SlackEventIntake;
+import com.hcl.appscan.slackapp.tenant.TenantRegistry;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Exposes the bot's internal counters as JSON under `/metrics`, for scraping or ad-hoc inspection.
+ */
+@RestController
+@RequestMapping("/metrics")
+public class MetricsController {
+    private final ReportRelayService reportRelayService;
+    private final NotificationLatencyRecorder notificationLatencyRecorder;
+    private final AppScanRateGovernor appScanRateGovernor;
+    private final ClusterService clusterService;
+    private final TenantRegistry tenantRegistry;
+    private final HashedWheelTimer wheelTimer;
+    private final SlackDirectoryService slackDirectory;
+    private final ScanProgressService scanProgress;
+    private final SlackAppRunner slackAppRunner;
+    private final SlackEventIntake slackEventIntake;
+
+    public MetricsController(ReportRelayService reportRelayService, NotificationLatencyRecorder notificationLatencyRecorder,
+                             AppScanRateGovernor appScanRateGovernor, ClusterService clusterService, TenantRegistry tenantRegistry,
+                             HashedWheelTimer wheelTimer, SlackDirectoryService slackDirectory,
+                             ScanProgressService scanProgress, SlackAppRunner slackAppRunner, SlackEventIntake slackEventIntake) {
+        this.reportRelayService = reportRelayService;
+        this.notificationLatencyRecorder = notificationLatencyRecorder;
+        this.appScanRateGovernor = appScanRateGovernor;
+        this.clusterService = clusterService;
+        this.tenantRegistry = tenantRegistry;
+        this.wheelTimer = wheelTimer;
+        this.slackDirectory = slackDirectory;
+        this.scanProgress = scanProgress;
+        this.slackAppRunner = slackAppRunner;
+        this.slackEventIntake = slackEventIntake;
+    }
+
+    @GetMapping
+    public Map<String, Object> all() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("reportRelay", reportRelayService.getMetrics());
+        metrics.put("notificationLatency", notificationLatencyRecorder.getMetrics());
+        metrics.put("appScanRateGovernor", appScanRateGovernor.getMetrics());
+        metrics.put("appScanHttpCache", tenantRegistry.getDefault().getAppScanService().getHttpCacheMetrics());
+        metrics.put("cluster", clusterService.getMetrics());
+        metrics.put("timer", wheelTimer.getMetrics());
+        metrics.put("slackDirectory", slackDirectory.getMetrics());
+        metrics.put("scanProgress", scanProgress.getMetrics());
+        metrics.put("socketMode", slackAppRunner.getMetrics());
+        metrics.put("slackIntake", slackEventIntake.getMetrics());
+        if (tenantRegistry.isMultiTenant()) {
+            metrics.put("tenants", tenantRegistry.getMetrics());
+        }
+        return metrics;
+    }
+}